@@ -22,7 +22,11 @@ public enum ComparisonOperator {
     GT(">"),
     LT("<"),
     GTE(">="),
-    LTE("<=");
+    LTE("<="),
+    /**
+     * Matches any element of a {@link java.util.Collection} value.
+     */
+    IN("IN");
 
     private final String symbol;
 
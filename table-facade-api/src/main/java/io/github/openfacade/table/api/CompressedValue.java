@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Value of a {@link io.github.openfacade.table.api.anno.Compressed} field declared as {@code CompressedValue<String>}
+ * or {@code CompressedValue<byte[]>}. Values read by a driver are decompressed the first time {@link #get()} is
+ * called, so entities whose compressed columns are never looked at skip the work.
+ */
+public final class CompressedValue<T> {
+    private volatile Supplier<T> source;
+
+    private volatile T value;
+
+    private CompressedValue(Supplier<T> source) {
+        this.source = source;
+    }
+
+    public static <T> CompressedValue<T> of(T value) {
+        Objects.requireNonNull(value, "value");
+        return new CompressedValue<>(() -> value);
+    }
+
+    /**
+     * A value produced by {@code source} on first access, used by drivers to defer decompression.
+     */
+    public static <T> CompressedValue<T> lazy(Supplier<T> source) {
+        return new CompressedValue<>(Objects.requireNonNull(source, "source"));
+    }
+
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = Objects.requireNonNull(source.get(), "Decompressed value");
+                    value = result;
+                    source = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CompressedValue && Objects.deepEquals(get(), ((CompressedValue<?>) o).get());
+    }
+
+    @Override
+    public int hashCode() {
+        T result = get();
+        return result instanceof byte[] ? Arrays.hashCode((byte[]) result) : result.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        T result = get();
+        return result instanceof byte[] ? Arrays.toString((byte[]) result) : result.toString();
+    }
+}
@@ -20,4 +20,5 @@ public enum DriverType {
     mysql,
     openGauss,
     postgre,
+    memory,
 }
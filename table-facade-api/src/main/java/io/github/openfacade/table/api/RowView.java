@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Flyweight view of the current row of a scan, valid only inside {@link RowVisitor#visit(RowView)}.
+ * Primitive accessors return {@code 0} or {@code false} for SQL NULL, use {@link #isNull(String)} to tell them apart.
+ */
+public interface RowView {
+    boolean isNull(String column);
+
+    long getLong(String column);
+
+    int getInt(String column);
+
+    double getDouble(String column);
+
+    boolean getBoolean(String column);
+
+    @Nullable
+    String getString(String column);
+
+    @Nullable
+    byte[] getBytes(String column);
+
+    /**
+     * The column converted to the type of the entity field it maps to.
+     */
+    @Nullable
+    Object get(String column);
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The order of rows by one or more columns, e.g. {@code Sort.desc("created_time").thenAsc("id")}. Nulls sort before
+ * all other values, i.e. first in ascending and last in descending order.
+ */
+@Getter
+public class Sort {
+    private final List<Order> orders;
+
+    private Sort(List<Order> orders) {
+        this.orders = Collections.unmodifiableList(orders);
+    }
+
+    public static Sort asc(String column) {
+        return new Sort(Collections.singletonList(new Order(column, false)));
+    }
+
+    public static Sort desc(String column) {
+        return new Sort(Collections.singletonList(new Order(column, true)));
+    }
+
+    public Sort thenAsc(String column) {
+        return then(new Order(column, false));
+    }
+
+    public Sort thenDesc(String column) {
+        return then(new Order(column, true));
+    }
+
+    private Sort then(Order order) {
+        List<Order> next = new ArrayList<>(orders);
+        next.add(order);
+        return new Sort(next);
+    }
+
+    @Getter
+    public static final class Order {
+        private final String column;
+
+        private final boolean descending;
+
+        private Order(String column, boolean descending) {
+            if (column == null) {
+                throw new IllegalArgumentException("Column must be set");
+            }
+            this.column = column;
+            this.descending = descending;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Receives the measurements of table operations. Drivers call it on every operation, so implementations must be
+ * cheap and thread safe; {@link #NOOP} is used when no metrics are configured.
+ */
+public interface TableMetrics {
+    TableMetrics NOOP = new TableMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordOperation(String operation, String table, long nanos, @Nullable Throwable error) {
+        }
+
+        @Override
+        public void recordMapping(String table, long nanos) {
+        }
+
+        @Override
+        public void recordRowsRead(String table, long rows) {
+        }
+
+        @Override
+        public void recordRowsWritten(String table, long rows) {
+        }
+
+        @Override
+        public void recordBytesBound(String table, long bytes) {
+        }
+    };
+
+    /**
+     * Drivers skip wrapping and counting entirely when this is false.
+     */
+    boolean isEnabled();
+
+    /**
+     * @param error the failure of the operation, or {@code null} if it succeeded
+     */
+    void recordOperation(String operation, String table, long nanos, @Nullable Throwable error);
+
+    /**
+     * Time spent turning one raw row into an entity or projection.
+     */
+    void recordMapping(String table, long nanos);
+
+    void recordRowsRead(String table, long rows);
+
+    void recordRowsWritten(String table, long rows);
+
+    void recordBytesBound(String table, long bytes);
+
+    /**
+     * Publishes a monotonic count kept by {@code source}, read each time the meter is sampled.
+     *
+     * @param tags alternating tag keys and values
+     */
+    default <S> void bindCounter(String name, String unit, S source, ToDoubleFunction<S> count, String... tags) {
+    }
+
+    /**
+     * Publishes a value of {@code source} that goes up and down, read each time the meter is sampled.
+     *
+     * @param tags alternating tag keys and values
+     */
+    default <S> void bindGauge(String name, String unit, S source, ToDoubleFunction<S> value, String... tags) {
+    }
+
+    /**
+     * The size of a bound value as counted in {@link #recordBytesBound}: the length of {@code byte[]} and
+     * {@code String} values, zero for other types.
+     */
+    static long boundBytes(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        return 0;
+    }
+}
@@ -22,4 +22,6 @@ public interface TableOperations {
     Long deleteAll(String tableName) throws TableException;
 
     Long count(String tableName) throws TableException;
+
+    <T> Long scan(Class<T> type, Condition condition, RowVisitor visitor) throws TableException;
 }
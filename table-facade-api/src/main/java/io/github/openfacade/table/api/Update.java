@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api;
+
+import lombok.Getter;
+
+/**
+ * A column assignment computed by the database from the current value, so counters and high-water marks need no
+ * read before the write. Used as the value of an update pair, see {@link #pairs(Update...)}.
+ */
+@Getter
+public final class Update {
+    private final String column;
+
+    private final Kind kind;
+
+    /**
+     * The SQL of an {@link Kind#EXPR} assignment, {@code null} otherwise.
+     */
+    private final String expression;
+
+    private final Object[] values;
+
+    private Update(String column, Kind kind, String expression, Object... values) {
+        if (column == null) {
+            throw new IllegalArgumentException("Column must be set");
+        }
+        this.column = column;
+        this.kind = kind;
+        this.expression = expression;
+        this.values = values;
+    }
+
+    public static Update set(String column, Object value) {
+        return new Update(column, Kind.SET, null, value);
+    }
+
+    /**
+     * {@code column = column + delta}.
+     */
+    public static Update inc(String column, Number delta) {
+        if (delta == null) {
+            throw new IllegalArgumentException("Delta must be set");
+        }
+        return new Update(column, Kind.INC, null, delta);
+    }
+
+    /**
+     * Sets {@code column} to {@code value} unless it already holds a greater one.
+     */
+    public static Update max(String column, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value must be set");
+        }
+        return new Update(column, Kind.MAX, null, value);
+    }
+
+    /**
+     * {@code column = expression}, where {@code expression} is SQL rendered as is and each {@code ?} in it is bound
+     * to the next of {@code params}. Not supported by the in-memory driver.
+     */
+    public static Update expr(String column, String expression, Object... params) {
+        if (expression == null || expression.isEmpty()) {
+            throw new IllegalArgumentException("Expression must be set");
+        }
+        return new Update(column, Kind.EXPR, expression, params);
+    }
+
+    /**
+     * Flattens {@code updates} into the {@code column, value} pairs taken by {@code update} and
+     * {@code insertOnDuplicateKeyUpdate}.
+     */
+    public static Object[] pairs(Update... updates) {
+        Object[] pairs = new Object[updates.length * 2];
+        for (int i = 0; i < updates.length; i++) {
+            pairs[2 * i] = updates[i].column;
+            pairs[2 * i + 1] = updates[i];
+        }
+        return pairs;
+    }
+
+    public enum Kind {
+        SET,
+        INC,
+        MAX,
+        EXPR
+    }
+}
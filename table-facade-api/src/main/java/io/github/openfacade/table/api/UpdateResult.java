@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api;
+
+import lombok.Getter;
+
+/**
+ * Outcome of an entity update. A conflict means no row matched the entity's id and {@code @Version}, i.e. it was
+ * changed or deleted concurrently, and the entity was left as it was.
+ */
+@Getter
+public class UpdateResult<T> {
+    private final T entity;
+
+    private final boolean applied;
+
+    public UpdateResult(T entity, boolean applied) {
+        this.entity = entity;
+        this.applied = applied;
+    }
+
+    public boolean isConflict() {
+        return !applied;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.api.anno;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores a {@code byte[]} or {@code String} field compressed in a binary column. Values are compressed when bound
+ * and decompressed when mapped, or on first access for fields declared as
+ * {@link io.github.openfacade.table.api.CompressedValue}. Conditions on such columns compare the compressed bytes.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Compressed {
+    Codec codec() default Codec.DEFLATE;
+
+    enum Codec {
+        DEFLATE((byte) 1);
+
+        private final byte header;
+
+        Codec(byte header) {
+            this.header = header;
+        }
+
+        /**
+         * First byte of every stored value, identifies the codec that wrote it.
+         */
+        public byte header() {
+            return header;
+        }
+    }
+}
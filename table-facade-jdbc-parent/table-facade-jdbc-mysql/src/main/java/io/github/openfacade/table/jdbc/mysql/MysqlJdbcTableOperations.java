@@ -16,20 +16,37 @@
 
 package io.github.openfacade.table.jdbc.mysql;
 
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
 import io.github.openfacade.table.api.TableException;
+import io.github.openfacade.table.api.TableMetrics;
 import io.github.openfacade.table.api.TableOperations;
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Lazy;
+import io.github.openfacade.table.sql.common.ResultSetRowView;
 import io.github.openfacade.table.sql.mysql.MysqlSqlUtil;
 import lombok.RequiredArgsConstructor;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import javax.sql.DataSource;
 
 @RequiredArgsConstructor
 public class MysqlJdbcTableOperations implements TableOperations {
     private final DataSource dataSource;
 
+    private final TableMetrics metrics;
+
+    public MysqlJdbcTableOperations(DataSource dataSource) {
+        this(dataSource, TableMetrics.NOOP);
+    }
+
     @Override
     public <T> Long deleteAll(Class<T> type) throws TableException {
         io.github.openfacade.table.api.anno.Table tableAnnotation = type.getAnnotation(io.github.openfacade.table.api.anno.Table.class);
@@ -40,11 +57,15 @@ public class MysqlJdbcTableOperations implements TableOperations {
         String tableName = tableAnnotation.name();
         String sql = MysqlSqlUtil.deleteAll(tableName);
 
+        long start = System.nanoTime();
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement()) {
             int rowsAffected = stmt.executeUpdate(sql);
+            metrics.recordRowsWritten(tableName, rowsAffected);
+            metrics.recordOperation("deleteAll", tableName, System.nanoTime() - start, null);
             return (long) rowsAffected;
         } catch (SQLException e) {
+            metrics.recordOperation("deleteAll", tableName, System.nanoTime() - start, e);
             throw new TableException("Failed to delete all records from table " + tableName, e);
         }
     }
@@ -58,4 +79,64 @@ public class MysqlJdbcTableOperations implements TableOperations {
     public Long count(String tableName) throws TableException {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public <T> Long scan(Class<T> type, Condition condition, RowVisitor visitor) throws TableException {
+        io.github.openfacade.table.api.anno.Table tableAnnotation = type.getAnnotation(io.github.openfacade.table.api.anno.Table.class);
+        if (tableAnnotation == null || tableAnnotation.name().isEmpty()) {
+            throw new TableException("Class " + type.getName() + " does not have a Table annotation with a valid name.");
+        }
+
+        String tableName = tableAnnotation.name();
+        List<String> columns = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            // @Lazy columns are left out of default selects like in the reactive drivers
+            if (column != null && !field.isAnnotationPresent(Lazy.class)) {
+                columns.add(column.name());
+            }
+        }
+        List<Object> parameters = new ArrayList<>();
+        String sql = MysqlSqlUtil.select(tableName, columns, condition, parameters);
+        if (metrics.isEnabled()) {
+            long bytes = 0;
+            for (Object parameter : parameters) {
+                bytes += TableMetrics.boundBytes(parameter);
+            }
+            metrics.recordBytesBound(tableName, bytes);
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the whole result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            long count = scan(stmt, parameters, columns, visitor);
+            metrics.recordRowsRead(tableName, count);
+            metrics.recordOperation("scan", tableName, System.nanoTime() - start, null);
+            return count;
+        } catch (SQLException e) {
+            metrics.recordOperation("scan", tableName, System.nanoTime() - start, e);
+            throw new TableException("Failed to scan table " + tableName, e);
+        }
+    }
+
+    private long scan(PreparedStatement stmt, List<Object> parameters, List<String> columns, RowVisitor visitor)
+            throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            stmt.setObject(i + 1, parameters.get(i));
+        }
+        ResultSetRowView view = new ResultSetRowView(columns);
+        long count = 0;
+        try (ResultSet resultSet = stmt.executeQuery()) {
+            view.reset(resultSet);
+            while (resultSet.next()) {
+                visitor.visit(view);
+                count++;
+            }
+        } finally {
+            view.reset(null);
+        }
+        return count;
+    }
 }
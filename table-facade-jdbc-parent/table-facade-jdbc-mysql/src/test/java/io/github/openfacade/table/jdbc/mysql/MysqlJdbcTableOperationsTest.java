@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.jdbc.mysql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+@Testcontainers
+class MysqlJdbcTableOperationsTest {
+
+    @Container
+    private static final MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(mysqlContainer.getJdbcUrl());
+        config.setUsername(mysqlContainer.getUsername());
+        config.setPassword(mysqlContainer.getPassword());
+        config.setDriverClassName(mysqlContainer.getDriverClassName());
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE scan_entity (id BIGINT PRIMARY KEY, name VARCHAR(64), score INT, "
+                    + "payload BLOB)");
+            stmt.executeUpdate("INSERT INTO scan_entity VALUES (1, 'first', 1, X'01'), (2, 'second', 2, X'02'), "
+                    + "(3, NULL, 3, NULL)");
+        }
+    }
+
+    @Test
+    public void testScanVisitsMatchingRows() throws Exception {
+        MysqlJdbcTableOperations tableOperations = new MysqlJdbcTableOperations(dataSource);
+        List<String> visited = new ArrayList<>();
+
+        long count = tableOperations.scan(TestScanEntity.class,
+                new ComparisonCondition("score", ComparisonOperator.GT, 1),
+                row -> visited.add(row.getLong("id") + ":" + row.getString("name") + ":" + row.getInt("score")));
+
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(List.of("2:second:2", "3:null:3"), visited);
+    }
+
+    @Test
+    public void testScanWithoutConditionVisitsAllRows() throws Exception {
+        MysqlJdbcTableOperations tableOperations = new MysqlJdbcTableOperations(dataSource);
+        List<Boolean> nullNames = new ArrayList<>();
+
+        long count = tableOperations.scan(TestScanEntity.class, null, row -> nullNames.add(row.isNull("name")));
+
+        Assertions.assertEquals(3, count);
+        Assertions.assertEquals(List.of(false, false, true), nullNames);
+    }
+}
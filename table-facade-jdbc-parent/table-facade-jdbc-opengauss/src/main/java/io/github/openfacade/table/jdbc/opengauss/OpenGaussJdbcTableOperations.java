@@ -16,21 +16,39 @@
 
 package io.github.openfacade.table.jdbc.opengauss;
 
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
 import io.github.openfacade.table.api.TableException;
+import io.github.openfacade.table.api.TableMetrics;
 import io.github.openfacade.table.api.TableOperations;
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Lazy;
+import io.github.openfacade.table.sql.common.ResultSetRowView;
 import io.github.openfacade.table.sql.mysql.MysqlSqlUtil;
 import lombok.RequiredArgsConstructor;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import javax.sql.DataSource;
 
 @RequiredArgsConstructor
 public class OpenGaussJdbcTableOperations implements TableOperations {
+    private static final int SCAN_FETCH_SIZE = 1000;
+
     private final DataSource dataSource;
 
+    private final TableMetrics metrics;
+
+    public OpenGaussJdbcTableOperations(DataSource dataSource) {
+        this(dataSource, TableMetrics.NOOP);
+    }
+
     @Override
     public <T> Long deleteAll(Class<T> type) throws TableException {
         io.github.openfacade.table.api.anno.Table tableAnnotation = type.getAnnotation(io.github.openfacade.table.api.anno.Table.class);
@@ -41,11 +59,15 @@ public class OpenGaussJdbcTableOperations implements TableOperations {
         String tableName = tableAnnotation.name();
         String sql = MysqlSqlUtil.deleteAll(tableName);
 
+        long start = System.nanoTime();
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement()) {
             int rowsAffected = stmt.executeUpdate(sql);
+            metrics.recordRowsWritten(tableName, rowsAffected);
+            metrics.recordOperation("deleteAll", tableName, System.nanoTime() - start, null);
             return (long) rowsAffected;
         } catch (SQLException e) {
+            metrics.recordOperation("deleteAll", tableName, System.nanoTime() - start, e);
             throw new TableException("Failed to delete all records from table " + tableName, e);
         }
     }
@@ -54,11 +76,15 @@ public class OpenGaussJdbcTableOperations implements TableOperations {
     public Long deleteAll(String tableName) throws TableException {
         String sql = MysqlSqlUtil.deleteAll(tableName);
 
+        long start = System.nanoTime();
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement()) {
             int rowsAffected = stmt.executeUpdate(sql);
+            metrics.recordRowsWritten(tableName, rowsAffected);
+            metrics.recordOperation("deleteAll", tableName, System.nanoTime() - start, null);
             return (long) rowsAffected;
         } catch (SQLException e) {
+            metrics.recordOperation("deleteAll", tableName, System.nanoTime() - start, e);
             throw new TableException("Failed to delete all records from table " + tableName, e);
         }
     }
@@ -67,14 +93,85 @@ public class OpenGaussJdbcTableOperations implements TableOperations {
     public Long count(String tableName) throws TableException {
         String sql = MysqlSqlUtil.count(tableName);
 
+        long start = System.nanoTime();
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement()) {
             stmt.execute(sql);
             ResultSet resultSet = stmt.getResultSet();
             resultSet.next();
-            return resultSet.getLong(1);
+            long count = resultSet.getLong(1);
+            metrics.recordOperation("count", tableName, System.nanoTime() - start, null);
+            return count;
         } catch (SQLException e) {
+            metrics.recordOperation("count", tableName, System.nanoTime() - start, e);
             throw new TableException("Failed to count records in table " + tableName, e);
         }
     }
+
+    @Override
+    public <T> Long scan(Class<T> type, Condition condition, RowVisitor visitor) throws TableException {
+        io.github.openfacade.table.api.anno.Table tableAnnotation = type.getAnnotation(io.github.openfacade.table.api.anno.Table.class);
+        if (tableAnnotation == null || tableAnnotation.name().isEmpty()) {
+            throw new TableException("Class " + type.getName() + " does not have a Table annotation with a valid name.");
+        }
+
+        String tableName = tableAnnotation.name();
+        List<String> columns = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            // @Lazy columns are left out of default selects like in the reactive drivers
+            if (column != null && !field.isAnnotationPresent(Lazy.class)) {
+                columns.add(column.name());
+            }
+        }
+        List<Object> parameters = new ArrayList<>();
+        String sql = MysqlSqlUtil.select(tableName, columns, condition, parameters);
+        if (metrics.isEnabled()) {
+            long bytes = 0;
+            for (Object parameter : parameters) {
+                bytes += TableMetrics.boundBytes(parameter);
+            }
+            metrics.recordBytesBound(tableName, bytes);
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // the driver only streams through a cursor inside a transaction, otherwise it buffers the whole result
+            connection.setAutoCommit(false);
+            long count;
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setFetchSize(SCAN_FETCH_SIZE);
+                count = scan(stmt, parameters, columns, visitor);
+            } finally {
+                connection.commit();
+                connection.setAutoCommit(autoCommit);
+            }
+            metrics.recordRowsRead(tableName, count);
+            metrics.recordOperation("scan", tableName, System.nanoTime() - start, null);
+            return count;
+        } catch (SQLException e) {
+            metrics.recordOperation("scan", tableName, System.nanoTime() - start, e);
+            throw new TableException("Failed to scan table " + tableName, e);
+        }
+    }
+
+    private long scan(PreparedStatement stmt, List<Object> parameters, List<String> columns, RowVisitor visitor)
+            throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            stmt.setObject(i + 1, parameters.get(i));
+        }
+        ResultSetRowView view = new ResultSetRowView(columns);
+        long count = 0;
+        try (ResultSet resultSet = stmt.executeQuery()) {
+            view.reset(resultSet);
+            while (resultSet.next()) {
+                visitor.visit(view);
+                count++;
+            }
+        } finally {
+            view.reset(null);
+        }
+        return count;
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.jdbc.opengauss;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.test.common.container.OpenGaussContainer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.condition.OS.LINUX;
+
+class OpenGaussJdbcTableOperationsTest {
+
+    private static DataSource dataSource;
+
+    private static String jdbcUrl = "jdbc:postgresql://localhost:5432/%s?currentSchema=%s";
+    private static String openGaussDriver = "org.postgresql.Driver";
+
+    private static OpenGaussContainer container;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        if (!System.getProperty("os.name").toLowerCase().contains("linux")) {
+            return;
+        }
+        container = new OpenGaussContainer().withCompatibility("B");
+        container.startContainer();
+        String openGaussJdbcUrl = String.format(jdbcUrl, container.getDatabaseName(), container.getSchema());
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(openGaussJdbcUrl);
+        config.setUsername(container.getUsername());
+        config.setPassword(container.getPassword());
+        config.setDriverClassName(openGaussDriver);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE scan_entity (id BIGINT PRIMARY KEY, name VARCHAR(64), score INT, "
+                    + "payload BYTEA)");
+            stmt.executeUpdate("INSERT INTO scan_entity VALUES (1, 'first', 1, decode('01', 'hex')), "
+                    + "(2, 'second', 2, decode('02', 'hex')), (3, NULL, 3, NULL)");
+        }
+    }
+
+    @AfterAll
+    static void destroy() {
+        if (!System.getProperty("os.name").toLowerCase().contains("linux")) {
+            return;
+        }
+        container.stopContainer();
+    }
+
+    @Test
+    @EnabledOnOs(LINUX)
+    void testScanVisitsMatchingRows() throws Exception {
+        OpenGaussJdbcTableOperations tableOperations = new OpenGaussJdbcTableOperations(dataSource);
+        List<String> visited = new ArrayList<>();
+
+        // the scan runs in a transaction with a fetch size, so rows arrive through a server-side cursor
+        long count = tableOperations.scan(TestScanEntity.class,
+                new ComparisonCondition("score", ComparisonOperator.GT, 1),
+                row -> visited.add(row.getLong("id") + ":" + row.getString("name") + ":" + row.getInt("score")));
+
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(List.of("2:second:2", "3:null:3"), visited);
+    }
+
+    @Test
+    @EnabledOnOs(LINUX)
+    void testScanWithoutConditionVisitsAllRows() throws Exception {
+        OpenGaussJdbcTableOperations tableOperations = new OpenGaussJdbcTableOperations(dataSource);
+        List<Boolean> nullNames = new ArrayList<>();
+
+        long count = tableOperations.scan(TestScanEntity.class, null, row -> nullNames.add(row.isNull("name")));
+
+        Assertions.assertEquals(3, count);
+        Assertions.assertEquals(List.of(false, false, true), nullNames);
+    }
+}
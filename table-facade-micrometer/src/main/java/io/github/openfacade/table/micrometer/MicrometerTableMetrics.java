@@ -0,0 +1,205 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.micrometer;
+
+import io.github.openfacade.table.api.TableMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Records table operations to a {@link MeterRegistry}, with every meter tagged by table and driver.
+ * <p>
+ * Operation timers only keep the given service level buckets besides count, total and max, so recording stays a
+ * few atomic increments. Meters are looked up without building tags once they exist.
+ */
+public class MicrometerTableMetrics implements TableMetrics {
+    public static final String OPERATION_TIMER = "table.facade.operation";
+
+    public static final String MAPPING_TIMER = "table.facade.mapping";
+
+    public static final String ROWS_READ = "table.facade.rows.read";
+
+    public static final String ROWS_WRITTEN = "table.facade.rows.written";
+
+    public static final String BYTES_BOUND = "table.facade.bytes.bound";
+
+    public static final String ERRORS = "table.facade.errors";
+
+    public static final List<Duration> DEFAULT_SLOS = Collections.unmodifiableList(Arrays.asList(
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1)));
+
+    private final MeterRegistry registry;
+
+    private final String driver;
+
+    private final Duration[] slos;
+
+    private final ConcurrentHashMap<String, TableMeters> tables = new ConcurrentHashMap<>();
+
+    public MicrometerTableMetrics(MeterRegistry registry, String driver) {
+        this(registry, driver, DEFAULT_SLOS);
+    }
+
+    public MicrometerTableMetrics(MeterRegistry registry, String driver, List<Duration> slos) {
+        this.registry = registry;
+        this.driver = driver;
+        this.slos = slos.toArray(new Duration[0]);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordOperation(String operation, String table, long nanos, @Nullable Throwable error) {
+        TableMeters meters = meters(table);
+        meters.operation(operation).record(nanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            meters.error(operation, error).increment();
+        }
+    }
+
+    @Override
+    public void recordMapping(String table, long nanos) {
+        meters(table).mapping.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRowsRead(String table, long rows) {
+        if (rows > 0) {
+            meters(table).rowsRead.increment(rows);
+        }
+    }
+
+    @Override
+    public void recordRowsWritten(String table, long rows) {
+        if (rows > 0) {
+            meters(table).rowsWritten.increment(rows);
+        }
+    }
+
+    @Override
+    public void recordBytesBound(String table, long bytes) {
+        if (bytes > 0) {
+            meters(table).bytesBound.increment(bytes);
+        }
+    }
+
+    @Override
+    public <S> void bindCounter(String name, String unit, S source, ToDoubleFunction<S> count, String... tags) {
+        FunctionCounter.builder(name, source, count)
+                .baseUnit(unit)
+                .tags(tags)
+                .tag("driver", driver)
+                .register(registry);
+    }
+
+    @Override
+    public <S> void bindGauge(String name, String unit, S source, ToDoubleFunction<S> value, String... tags) {
+        Gauge.builder(name, source, value)
+                .baseUnit(unit)
+                .tags(tags)
+                .tag("driver", driver)
+                .register(registry);
+    }
+
+    private TableMeters meters(String table) {
+        TableMeters meters = tables.get(table);
+        if (meters == null) {
+            meters = tables.computeIfAbsent(table, TableMeters::new);
+        }
+        return meters;
+    }
+
+    private class TableMeters {
+        private final String table;
+
+        private final Timer mapping;
+
+        private final Counter rowsRead;
+
+        private final Counter rowsWritten;
+
+        private final Counter bytesBound;
+
+        private final ConcurrentHashMap<String, Timer> operations = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<String, Counter> errors = new ConcurrentHashMap<>();
+
+        TableMeters(String table) {
+            this.table = table;
+            this.mapping = Timer.builder(MAPPING_TIMER)
+                    .description("Time spent mapping one row to an object")
+                    .tag("table", table)
+                    .tag("driver", driver)
+                    .register(registry);
+            this.rowsRead = counter(ROWS_READ, "rows");
+            this.rowsWritten = counter(ROWS_WRITTEN, "rows");
+            this.bytesBound = counter(BYTES_BOUND, "bytes");
+        }
+
+        Timer operation(String operation) {
+            Timer timer = operations.get(operation);
+            if (timer == null) {
+                timer = operations.computeIfAbsent(operation, key -> Timer.builder(OPERATION_TIMER)
+                        .tag("operation", key)
+                        .tag("table", table)
+                        .tag("driver", driver)
+                        .serviceLevelObjectives(slos)
+                        .register(registry));
+            }
+            return timer;
+        }
+
+        Counter error(String operation, Throwable error) {
+            String exception = error.getClass().getSimpleName();
+            if (exception.isEmpty()) {
+                exception = error.getClass().getName();
+            }
+            String type = exception;
+            return errors.computeIfAbsent(operation + ' ' + type, key -> Counter.builder(ERRORS)
+                    .tag("operation", operation)
+                    .tag("table", table)
+                    .tag("driver", driver)
+                    .tag("exception", type)
+                    .register(registry));
+        }
+
+        private Counter counter(String name, String unit) {
+            return Counter.builder(name)
+                    .baseUnit(unit)
+                    .tag("table", table)
+                    .tag("driver", driver)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.micrometer;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MicrometerTableMetricsTest {
+    @Test
+    public void testOperationsAreTimedPerTableWithSloBuckets() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerTableMetrics metrics = new MicrometerTableMetrics(registry, "mysql",
+                Arrays.asList(Duration.ofMillis(1), Duration.ofMillis(10)));
+
+        metrics.recordOperation("find", "orders", TimeUnit.MICROSECONDS.toNanos(500), null);
+        metrics.recordOperation("find", "orders", TimeUnit.MILLISECONDS.toNanos(5), null);
+        metrics.recordOperation("find", "users", TimeUnit.MILLISECONDS.toNanos(20), null);
+
+        Timer orders = registry.get(MicrometerTableMetrics.OPERATION_TIMER)
+                .tags("operation", "find", "table", "orders", "driver", "mysql")
+                .timer();
+        Assertions.assertEquals(2, orders.count());
+        CountAtBucket[] buckets = orders.takeSnapshot().histogramCounts();
+        Assertions.assertEquals(2, buckets.length);
+        Assertions.assertEquals(1, buckets[0].count());
+        Assertions.assertEquals(2, buckets[1].count());
+        Assertions.assertEquals(1, registry.get(MicrometerTableMetrics.OPERATION_TIMER)
+                .tags("table", "users")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void testErrorsAreCountedByType() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerTableMetrics metrics = new MicrometerTableMetrics(registry, "opengauss");
+
+        metrics.recordOperation("insert", "orders", 1000, new IllegalStateException());
+        metrics.recordOperation("insert", "orders", 1000, new IllegalStateException());
+        metrics.recordOperation("insert", "orders", 1000, new UnsupportedOperationException());
+
+        Assertions.assertEquals(2, registry.get(MicrometerTableMetrics.ERRORS)
+                .tags("operation", "insert", "exception", "IllegalStateException")
+                .counter()
+                .count());
+        Assertions.assertEquals(1, registry.get(MicrometerTableMetrics.ERRORS)
+                .tags("exception", "UnsupportedOperationException")
+                .counter()
+                .count());
+    }
+
+    @Test
+    public void testRowsAndBytesAreCounted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerTableMetrics metrics = new MicrometerTableMetrics(registry, "mysql");
+
+        metrics.recordRowsRead("orders", 3);
+        metrics.recordRowsWritten("orders", 2);
+        metrics.recordBytesBound("orders", 128);
+        metrics.recordMapping("orders", 2000);
+
+        Assertions.assertEquals(3, registry.get(MicrometerTableMetrics.ROWS_READ).counter().count());
+        Assertions.assertEquals(2, registry.get(MicrometerTableMetrics.ROWS_WRITTEN).counter().count());
+        Assertions.assertEquals(128, registry.get(MicrometerTableMetrics.BYTES_BOUND).counter().count());
+        Assertions.assertEquals(1, registry.get(MicrometerTableMetrics.MAPPING_TIMER).timer().count());
+    }
+
+    @Test
+    public void testBoundCountersAndGaugesAreSampled() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerTableMetrics metrics = new MicrometerTableMetrics(registry, "mysql");
+        AtomicLong rows = new AtomicLong();
+
+        metrics.bindCounter("test.rows", "rows", rows, AtomicLong::get);
+        metrics.bindGauge("test.depth", "requests", rows, value -> value.get() * 2, "kind", "read");
+        rows.set(4);
+
+        Assertions.assertEquals(4, registry.get("test.rows").tags("driver", "mysql").functionCounter().count());
+        Assertions.assertEquals(8, registry.get("test.depth").tags("kind", "read").gauge().value());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.reactive.api;
+
+import io.github.openfacade.table.api.Condition;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Collects inserts, updates and deletes, possibly of different tables, to send them to the database together.
+ * Values are bound, and consecutive statements with the same SQL are sent as one statement with a binding each.
+ * Streaming blob values cannot be batched.
+ */
+public interface BatchBuilder {
+    <T> BatchBuilder insert(T object);
+
+    <T> BatchBuilder update(Condition condition, Object[] pairs, Class<T> type);
+
+    <T> BatchBuilder delete(Condition condition, Class<T> type);
+
+    /**
+     * Executes the collected statements in order as one unit, emitting the row count of each.
+     */
+    Mono<List<Long>> execute();
+}
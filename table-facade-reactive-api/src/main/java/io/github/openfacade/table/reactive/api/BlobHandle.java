@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.reactive.api;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A blob column value streamed in chunks, so the whole value never has to be held in one array. Entity fields of
+ * this type are read lazily from the driver and written from {@link #stream()} on insert and update.
+ */
+public interface BlobHandle {
+    /**
+     * The chunks of the value, can be subscribed to once.
+     */
+    Publisher<ByteBuffer> stream();
+
+    /**
+     * Releases the value without reading it.
+     */
+    Publisher<Void> discard();
+
+    static BlobHandle of(Publisher<ByteBuffer> chunks) {
+        return new BlobHandle() {
+            @Override
+            public Publisher<ByteBuffer> stream() {
+                return chunks;
+            }
+
+            @Override
+            public Publisher<Void> discard() {
+                return Mono.empty();
+            }
+        };
+    }
+}
@@ -17,21 +17,104 @@
 package io.github.openfacade.table.reactive.api;
 
 import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.api.UpdateResult;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.function.Function;
+
 public interface ReactiveTableOperations {
     <T> Mono<T> insert(T object);
 
+    /**
+     * Sets the {@code column, value} pairs on all rows matching {@code condition}. The {@code @Version} column of
+     * {@code type}, if any, is incremented as well.
+     */
     <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type);
 
+    /**
+     * Writes all columns of {@code entity} by its {@code @Id}. With a {@code @Version} column the update only applies
+     * while the stored version equals the entity's, which is then incremented; otherwise a conflict is reported.
+     */
+    <T> Mono<UpdateResult<T>> update(T entity);
+
+    /**
+     * Like {@link #update(Object)} for all {@code entities} of one type, sent as one batch where the driver supports
+     * it. Results are in the order of {@code entities}.
+     */
+    <T> Mono<List<UpdateResult<T>>> updateAll(List<T> entities);
+
+    /**
+     * Takes up to {@code limit} rows matching {@code condition} as a work queue consumer: rows locked by other
+     * consumers are skipped, and {@code claimUpdate} pairs are applied to the taken rows in the same transaction, so
+     * the rows no longer match for the other consumers. The claimed entities carry the literal claim values.
+     */
+    <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] claimUpdate);
+
+    /**
+     * Runs {@code work} in one transaction on one connection: every operation of this facade subscribed within the
+     * returned publisher joins it, and it commits when the publisher completes or rolls back on error.
+     */
+    <R> Flux<R> inTransaction(Function<ReactiveTableOperations, Publisher<R>> work);
+
+    <R> Flux<R> inTransaction(TransactionOptions options, Function<ReactiveTableOperations, Publisher<R>> work);
+
+    /**
+     * Starts collecting statements that are sent together, one round trip per run of statements with the same SQL
+     * where the driver supports it.
+     */
+    BatchBuilder batch();
+
     <T> Mono<T> find(Condition condition, Class<T> type);
 
     <T> Flux<T> findAll(Class<T> type);
 
     <T> Flux<T> findAll(Condition condition, Class<T> type);
 
+    /**
+     * Selects only the columns {@code projection} declares, which may be an interface of getters, a record or a
+     * class with setters. A {@code null} condition matches every row.
+     */
+    <T, P> Flux<P> findAll(Condition condition, Class<T> type, Class<P> projection);
+
+    /**
+     * Selects only {@code columns}, the other fields of the returned entities are left unset.
+     * A {@code null} condition matches every row.
+     */
+    <T> Flux<T> findAll(Condition condition, Class<T> type, List<String> columns);
+
+    /**
+     * The first {@code limit} rows matching {@code condition} in {@code sort} order. The order and limit are part of
+     * the query, so at most {@code limit} rows are read. A {@code null} condition matches every row.
+     */
+    <T> Flux<T> findAll(Condition condition, Class<T> type, Sort sort, int limit);
+
+    /**
+     * Like {@link #findAll(Condition, Class, Class)} for an interface {@code view}, but each view only keeps the raw
+     * column values and decodes a column when its getter is first called. Nothing of the driver row outlives the view.
+     */
+    <T, V> Flux<V> findAllLazy(Condition condition, Class<T> type, Class<V> view);
+
+    /**
+     * Reads the {@code @Lazy} columns of {@code entity}, looked up by its {@code @Id} column.
+     */
+    <T> Mono<T> fetchLazy(T entity);
+
+    /**
+     * Reads the {@code @Lazy} columns of all {@code entities} with one {@code IN} query on their {@code @Id} column.
+     */
+    <T> Mono<List<T>> fetchLazyAll(List<T> entities);
+
     <T> Mono<Long> delete(Condition condition, Class<T> type);
 
     <T> Mono<Long> deleteAll(Class<T> type);
+
+    /**
+     * Visits the rows matching {@code condition} without materializing entities, emits the number of rows visited.
+     */
+    <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor);
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.reactive.api;
+
+import lombok.Getter;
+
+/**
+ * Isolation level and read-only hint of {@link ReactiveTableOperations#inTransaction(TransactionOptions,
+ * java.util.function.Function)}. A {@code null} isolation keeps the database default.
+ */
+@Getter
+public class TransactionOptions {
+    public static final TransactionOptions DEFAULT = new TransactionOptions(null, false);
+
+    private final Isolation isolation;
+
+    private final boolean readOnly;
+
+    public TransactionOptions(Isolation isolation, boolean readOnly) {
+        this.isolation = isolation;
+        this.readOnly = readOnly;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Isolation isolation;
+        private boolean readOnly;
+
+        public Builder isolation(Isolation isolation) {
+            this.isolation = isolation;
+            return this;
+        }
+
+        public Builder readOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+            return this;
+        }
+
+        public TransactionOptions build() {
+            return new TransactionOptions(isolation, readOnly);
+        }
+    }
+
+    public enum Isolation {
+        READ_UNCOMMITTED,
+        READ_COMMITTED,
+        REPEATABLE_READ,
+        SERIALIZABLE
+    }
+}
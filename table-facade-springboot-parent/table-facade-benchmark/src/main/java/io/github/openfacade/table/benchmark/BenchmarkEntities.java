@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.benchmark;
+
+import io.github.openfacade.table.spring.core.TableMetadata;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The entities the benchmarks run with, {@code narrow} with 4 columns and {@code wide} with 30, and sample values
+ * for their columns.
+ */
+public final class BenchmarkEntities {
+    private BenchmarkEntities() {
+    }
+
+    public static Class<?> type(String entity) {
+        return switch (entity) {
+            case "narrow" -> NarrowEntity.class;
+            case "wide" -> WideEntity.class;
+            default -> throw new IllegalArgumentException("Unknown benchmark entity " + entity);
+        };
+    }
+
+    public static Object[] sampleRow(TableMetadata metadata) {
+        Class<?>[] types = metadata.getSetterTypes();
+        Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            values[i] = sample(types[i], i);
+        }
+        return values;
+    }
+
+    public static Object sampleEntity(TableMetadata metadata) {
+        try {
+            Object entity = Objects.requireNonNull(metadata.getConstructor()).newInstance();
+            Method[] setters = metadata.getSetters();
+            Object[] values = sampleRow(metadata);
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invoke(entity, values[i]);
+            }
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Error creating sample " + metadata.getTableName(), e);
+        }
+    }
+
+    static Object sample(Class<?> type, int seed) {
+        if (type == Long.class) {
+            return (long) seed * 1_000_003L;
+        } else if (type == Integer.class) {
+            return seed * 31;
+        } else if (type == String.class) {
+            return "value-" + seed;
+        } else if (type == boolean.class) {
+            return seed % 2 == 0;
+        } else if (type == Double.class) {
+            return seed * 0.5;
+        } else if (type == byte[].class) {
+            return ("payload-" + seed).getBytes(StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Unsupported sample type " + type.getName());
+    }
+}
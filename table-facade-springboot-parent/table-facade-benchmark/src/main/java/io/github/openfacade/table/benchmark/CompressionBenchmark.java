@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.benchmark;
+
+import io.github.openfacade.table.api.anno.Compressed;
+import io.github.openfacade.table.spring.codec.ColumnCompression;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a {@code @Compressed} JSON column on bind and on read, against plain UTF-8 encoding of the same value.
+ * {@link #compress(Sizes)} reports the bytes it read and wrote as the secondary results {@code plainBytes} and
+ * {@code compressedBytes}, their ratio is the stored size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+    @Param({"1024", "65536"})
+    public int payloadSize;
+
+    private String payload;
+
+    private byte[] compressed;
+
+    private byte[] plain;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; sb.length() < payloadSize; i++) {
+            sb.append("{\"id\":").append(i).append(",\"status\":\"ACTIVE\",\"owner\":\"user-").append(i % 50)
+                    .append("\",\"tags\":[\"blue\",\"green\"]},");
+        }
+        sb.setLength(payloadSize - 1);
+        payload = sb.append(']').toString();
+        plain = payload.getBytes(StandardCharsets.UTF_8);
+        compressed = ColumnCompression.compress(payload, Compressed.Codec.DEFLATE);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Sizes {
+        public long plainBytes;
+
+        public long compressedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            plainBytes = 0;
+            compressedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodePlain() {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] compress(Sizes sizes) {
+        byte[] stored = Objects.requireNonNull(ColumnCompression.compress(payload, Compressed.Codec.DEFLATE));
+        sizes.plainBytes += plain.length;
+        sizes.compressedBytes += stored.length;
+        return stored;
+    }
+
+    @Benchmark
+    public String decodePlain() {
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object decompress() {
+        return ColumnCompression.decompress(compressed, String.class);
+    }
+}
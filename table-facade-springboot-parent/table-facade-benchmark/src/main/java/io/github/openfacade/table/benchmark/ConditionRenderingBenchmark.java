@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.benchmark;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.LogicalOperator;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.reactive.mysql.ReactiveMysqlTableOperations;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import io.github.openfacade.table.sql.mysql.MysqlSqlUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a balanced tree of {@link CompositeCondition}s, {@code depth} levels of alternating {@code AND} and
+ * {@code OR} over {@code 2^depth} comparisons. {@code inline} is the reactive MySQL driver writing values as SQL
+ * literals into a {@code DELETE}, {@code placeholders} the JDBC {@code SqlBuilder} collecting them as parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionRenderingBenchmark {
+    @Param({"2", "6", "10"})
+    public int depth;
+
+    private ReactiveMysqlTableOperations operations;
+
+    private TableMetadata metadata;
+
+    private List<String> columns;
+
+    private Condition condition;
+
+    @Setup
+    public void setup() {
+        operations = new ReactiveMysqlTableOperations(DatabaseClient.create(new BenchmarkConnectionFactory()));
+        metadata = TableMetadataUtil.parseClass(NarrowEntity.class);
+        columns = Arrays.asList(metadata.getColumns());
+        condition = tree(depth, new int[1]);
+    }
+
+    @Benchmark
+    public Mono<Long> inline() {
+        return operations.delete(condition, NarrowEntity.class, metadata);
+    }
+
+    @Benchmark
+    public String placeholders() {
+        return MysqlSqlUtil.select(metadata.getTableName(), columns, condition, new ArrayList<>());
+    }
+
+    private Condition tree(int level, int[] leaves) {
+        if (level == 0) {
+            return leaf(leaves[0]++);
+        }
+        return CompositeCondition.builder()
+                .operator(level % 2 == 0 ? LogicalOperator.AND : LogicalOperator.OR)
+                .condition(tree(level - 1, leaves))
+                .condition(tree(level - 1, leaves))
+                .build();
+    }
+
+    private Condition leaf(int i) {
+        String column = columns.get(i % columns.size());
+        return switch (i % 4) {
+            case 0 -> new ComparisonCondition(column, ComparisonOperator.EQ, "o'brien-" + i);
+            case 1 -> new ComparisonCondition(column, ComparisonOperator.GTE, (long) i);
+            case 2 -> new ComparisonCondition(column, ComparisonOperator.IN, List.of(i, i + 1, i + 2));
+            default -> new ComparisonCondition(column, ComparisonOperator.NEQ, i % 8 == 3);
+        };
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.benchmark;
+
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.reactive.mysql.ReactiveMysqlTableOperations;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the MySQL {@code INSERT} of an entity and binds its values: reading the getters, rendering the statement
+ * and binding to a {@link DatabaseClient} spec. The returned publisher is not subscribed to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertBenchmark {
+    @Param({"narrow", "wide"})
+    public String entity;
+
+    private ReactiveMysqlTableOperations operations;
+
+    private TableMetadata metadata;
+
+    private Object object;
+
+    @Setup
+    public void setup() {
+        operations = new ReactiveMysqlTableOperations(DatabaseClient.create(new BenchmarkConnectionFactory()));
+        metadata = TableMetadataUtil.parseClass(BenchmarkEntities.type(entity));
+        object = BenchmarkEntities.sampleEntity(metadata);
+    }
+
+    @Benchmark
+    public Mono<Object> insert() {
+        return operations.insert(object, metadata);
+    }
+}
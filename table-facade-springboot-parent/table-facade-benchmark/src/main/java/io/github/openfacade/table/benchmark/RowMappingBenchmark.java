@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.benchmark;
+
+import io.github.openfacade.table.spring.codec.ColumnCodecRegistry;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.util.RowMappingUtil;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import io.r2dbc.spi.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a stubbed R2DBC row to a {@link NarrowEntity} or a 30 column {@link WideEntity}, resolving every cell by name
+ * the way the drivers used to versus by ordinal with precomputed codecs and setters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+    @Param({"narrow", "wide"})
+    public String entity;
+
+    private Class<?> type;
+
+    private TableMetadata metadata;
+
+    private Row row;
+
+    @Setup
+    public void setup() {
+        type = BenchmarkEntities.type(entity);
+        metadata = TableMetadataUtil.parseClass(type);
+        BenchmarkRow benchmarkRow = new BenchmarkRow(metadata.getColumns(), BenchmarkEntities.sampleRow(metadata));
+        row = benchmarkRow;
+        new ColumnCodecRegistry().codecs(metadata, benchmarkRow);
+    }
+
+    @Benchmark
+    public Object byName() throws Exception {
+        Object instance = Objects.requireNonNull(metadata.getConstructor()).newInstance();
+        for (Map.Entry<String, Method> entry : metadata.getSetterMap().entrySet()) {
+            Method setter = entry.getValue();
+            setter.invoke(instance, row.get(entry.getKey(), setter.getParameterTypes()[0]));
+        }
+        return instance;
+    }
+
+    @Benchmark
+    public Object byOrdinal() {
+        return RowMappingUtil.toEntity(RowMappingUtil.readRow(row, metadata.getColumnCodecs()), type, metadata);
+    }
+}
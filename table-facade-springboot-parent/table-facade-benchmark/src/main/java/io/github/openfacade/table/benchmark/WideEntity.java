@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.benchmark;
+
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Table(name = "wide_entity")
+public class WideEntity {
+    @Column(name = "long_field_0")
+    private Long longField0;
+
+    @Column(name = "int_field_0")
+    private Integer intField0;
+
+    @Column(name = "string_field_0")
+    private String stringField0;
+
+    @Column(name = "bool_field_0")
+    private boolean boolField0;
+
+    @Column(name = "double_field_0")
+    private Double doubleField0;
+
+    @Column(name = "bytes_field_0")
+    private byte[] bytesField0;
+
+    @Column(name = "long_field_1")
+    private Long longField1;
+
+    @Column(name = "int_field_1")
+    private Integer intField1;
+
+    @Column(name = "string_field_1")
+    private String stringField1;
+
+    @Column(name = "bool_field_1")
+    private boolean boolField1;
+
+    @Column(name = "double_field_1")
+    private Double doubleField1;
+
+    @Column(name = "bytes_field_1")
+    private byte[] bytesField1;
+
+    @Column(name = "long_field_2")
+    private Long longField2;
+
+    @Column(name = "int_field_2")
+    private Integer intField2;
+
+    @Column(name = "string_field_2")
+    private String stringField2;
+
+    @Column(name = "bool_field_2")
+    private boolean boolField2;
+
+    @Column(name = "double_field_2")
+    private Double doubleField2;
+
+    @Column(name = "bytes_field_2")
+    private byte[] bytesField2;
+
+    @Column(name = "long_field_3")
+    private Long longField3;
+
+    @Column(name = "int_field_3")
+    private Integer intField3;
+
+    @Column(name = "string_field_3")
+    private String stringField3;
+
+    @Column(name = "bool_field_3")
+    private boolean boolField3;
+
+    @Column(name = "double_field_3")
+    private Double doubleField3;
+
+    @Column(name = "bytes_field_3")
+    private byte[] bytesField3;
+
+    @Column(name = "long_field_4")
+    private Long longField4;
+
+    @Column(name = "int_field_4")
+    private Integer intField4;
+
+    @Column(name = "string_field_4")
+    private String stringField4;
+
+    @Column(name = "bool_field_4")
+    private boolean boolField4;
+
+    @Column(name = "double_field_4")
+    private Double doubleField4;
+
+    @Column(name = "bytes_field_4")
+    private byte[] bytesField4;
+}
@@ -17,49 +17,307 @@
 package io.github.openfacade.table.spring.config;
 
 import io.github.openfacade.table.api.DriverType;
+import io.github.openfacade.table.api.TableMetrics;
+import io.github.openfacade.table.micrometer.MicrometerTableMetrics;
 import io.github.openfacade.table.reactive.api.ReactiveTableManagement;
 import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.spring.codec.ColumnCodecProvider;
+import io.github.openfacade.table.spring.codec.ColumnCodecRegistry;
+import io.github.openfacade.table.spring.core.ReactiveBaseTableOperations;
+import io.github.openfacade.table.spring.core.RowMappingOffload;
 import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import io.github.openfacade.table.spring.intercept.ExecutionInterceptor;
+import io.github.openfacade.table.spring.intercept.ExecutionInterceptors;
+import io.github.openfacade.table.spring.limit.ConnectionScheduler;
+import io.github.openfacade.table.spring.limit.LimitingTableOperations;
+import io.github.openfacade.table.spring.limit.ScheduledTableOperations;
+import io.github.openfacade.table.spring.memory.MemoryTableStore;
+import io.github.openfacade.table.spring.memory.ReactiveMemoryTableManagement;
+import io.github.openfacade.table.spring.memory.ReactiveMemoryTableOperations;
 import io.github.openfacade.table.spring.reactive.mysql.ReactiveMysqlTableManagement;
 import io.github.openfacade.table.spring.reactive.mysql.ReactiveMysqlTableOperations;
 import io.github.openfacade.table.spring.reactive.opengauss.ReactiveOpenGaussTableManagement;
 import io.github.openfacade.table.spring.reactive.opengauss.ReactiveOpenGaussTableOperations;
+import io.github.openfacade.table.spring.routing.HashShardFunction;
+import io.github.openfacade.table.spring.routing.ReplicaRoutingTableOperations;
+import io.github.openfacade.table.spring.routing.ShardFunction;
+import io.github.openfacade.table.spring.routing.ShardingTableManagement;
+import io.github.openfacade.table.spring.routing.ShardingTableOperations;
+import io.github.openfacade.table.spring.stats.QueryStatistics;
+import io.github.openfacade.table.spring.stats.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @AutoConfiguration
 @EnableConfigurationProperties(TableFacadeProperties.class)
-public class TableFacadeReactiveAutoConfiguration {
+public class TableFacadeReactiveAutoConfiguration implements DisposableBean {
     private final TableFacadeProperties tableFacadeProperties;
 
-    private final DatabaseClient databaseClient;
+    private final ObjectProvider<DatabaseClient> databaseClient;
+
+    /**
+     * The factories of the replica and shard connections, which are created here rather than as beans and so are
+     * closed here.
+     */
+    private final List<ConnectionFactory> connectionFactories = new CopyOnWriteArrayList<>();
+
+    /**
+     * The clients of the shard connections, shared by the operations and the management of the shards.
+     */
+    private List<DatabaseClient> shardClients;
 
     public TableFacadeReactiveAutoConfiguration(TableFacadeProperties tableFacadeProperties,
-                                                DatabaseClient databaseClient) {
+                                                ObjectProvider<DatabaseClient> databaseClient) {
         this.tableFacadeProperties = tableFacadeProperties;
         this.databaseClient = databaseClient;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public RowMappingOffload rowMappingOffload() {
+        return RowMappingOffload.of(tableFacadeProperties.getRowMapping());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ColumnCodecRegistry columnCodecRegistry(ObjectProvider<ColumnCodecProvider> columnCodecProviders) {
+        ColumnCodecRegistry registry = new ColumnCodecRegistry();
+        columnCodecProviders.orderedStream().forEach(registry::register);
+        return registry;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryStatistics queryStatistics() {
+        return QueryStatistics.of(tableFacadeProperties.getQueryStats());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SlowQueryLog slowQueryLog() {
+        return SlowQueryLog.of(tableFacadeProperties.getSlowQueryLog());
+    }
+
     @Bean
     @ConditionalOnMissingBean(ReactiveTableOperations.class)
-    public ReactiveTableOperations reactiveTableOperations() {
+    public ReactiveTableOperations reactiveTableOperations(RowMappingOffload rowMappingOffload,
+                                                           ColumnCodecRegistry columnCodecRegistry,
+                                                           QueryStatistics queryStatistics,
+                                                           SlowQueryLog slowQueryLog,
+                                                           ObjectProvider<ShardFunction> shardFunction,
+                                                           ObjectProvider<TableMetrics> tableMetrics,
+                                                           ObjectProvider<ExecutionInterceptor> interceptors) {
+        TableMetrics metrics = tableMetrics.getIfAvailable(() -> TableMetrics.NOOP);
+        rowMappingOffload.bindTo(metrics);
+        Instrumentation instrumentation = new Instrumentation(metrics, queryStatistics, slowQueryLog,
+                ExecutionInterceptors.of(interceptors.orderedStream().toList()));
+        ReactiveTableOperations operations = routedOperations(rowMappingOffload, columnCodecRegistry, instrumentation,
+                shardFunction);
+        if (tableFacadeProperties.getLimiter().isEnabled()) {
+            return new LimitingTableOperations(operations, tableFacadeProperties.getLimiter(), metrics);
+        }
+        return operations;
+    }
+
+    private ReactiveTableOperations routedOperations(RowMappingOffload rowMappingOffload,
+                                                     ColumnCodecRegistry columnCodecRegistry,
+                                                     Instrumentation instrumentation,
+                                                     ObjectProvider<ShardFunction> shardFunction) {
+        TableFacadeProperties.ReadReplicas readReplicas = tableFacadeProperties.getReadReplicas();
+        List<TableFacadeProperties.Connection> shardConnections = tableFacadeProperties.getSharding().getConnections();
+        if (!shardConnections.isEmpty()) {
+            if (!readReplicas.getConnections().isEmpty()) {
+                throw new IllegalArgumentException("Read replicas cannot be combined with sharding");
+            }
+            List<DatabaseClient> clients = shardClients();
+            List<ReactiveTableOperations> shards = new ArrayList<>();
+            for (int i = 0; i < clients.size(); i++) {
+                shards.add(newOperations("shard-" + i, clients.get(i), rowMappingOffload, columnCodecRegistry,
+                        instrumentation));
+            }
+            return new ShardingTableOperations(shards, shardFunction.getIfAvailable(HashShardFunction::new));
+        }
+        ReactiveTableOperations primary = newOperations("primary", databaseClient.getObject(), rowMappingOffload,
+                columnCodecRegistry, instrumentation);
+        if (readReplicas.getConnections().isEmpty()) {
+            return primary;
+        }
+        List<TableFacadeProperties.Connection> replicaConnections = readReplicas.getConnections();
+        List<ReactiveTableOperations> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaConnections.size(); i++) {
+            replicas.add(newOperations("replica-" + i, connectionClient(replicaConnections.get(i)),
+                    rowMappingOffload, columnCodecRegistry, instrumentation));
+        }
+        ReplicaRoutingTableOperations routing = ReplicaRoutingTableOperations.of(primary, replicas, readReplicas);
+        if (routing.getHedgePolicy() != null) {
+            routing.getHedgePolicy().bindTo(instrumentation.metrics());
+        }
+        return routing;
+    }
+
+    private ReactiveTableOperations newOperations(String pool, DatabaseClient client,
+                                                  RowMappingOffload rowMappingOffload,
+                                                  ColumnCodecRegistry columnCodecRegistry,
+                                                  Instrumentation instrumentation) {
+        ReactiveBaseTableOperations operations;
         if (tableFacadeProperties.getDriverType().equals(DriverType.openGauss)) {
-            return new ReactiveOpenGaussTableOperations(databaseClient);
+            operations = new ReactiveOpenGaussTableOperations(client);
         } else {
-            return new ReactiveMysqlTableOperations(databaseClient);
+            operations = new ReactiveMysqlTableOperations(client);
         }
+        operations.setRowMappingOffload(rowMappingOffload);
+        operations.setColumnCodecRegistry(columnCodecRegistry);
+        operations.setMetrics(instrumentation.metrics());
+        operations.setQueryStatistics(instrumentation.queryStatistics());
+        operations.setSlowQueryLog(instrumentation.slowQueryLog());
+        operations.setInterceptors(instrumentation.interceptors());
+        TableFacadeProperties.Scheduler scheduler = tableFacadeProperties.getScheduler();
+        if (scheduler.isEnabled()) {
+            ConnectionScheduler connectionScheduler = ConnectionScheduler.of(scheduler);
+            connectionScheduler.bindTo(instrumentation.metrics(), pool);
+            return new ScheduledTableOperations(operations, connectionScheduler);
+        }
+        return operations;
+    }
+
+    private record Instrumentation(TableMetrics metrics, QueryStatistics queryStatistics,
+                                   SlowQueryLog slowQueryLog, ExecutionInterceptors interceptors) {
     }
 
+    private synchronized List<DatabaseClient> shardClients() {
+        if (shardClients == null) {
+            List<DatabaseClient> clients = new ArrayList<>();
+            for (TableFacadeProperties.Connection connection : tableFacadeProperties.getSharding().getConnections()) {
+                clients.add(connectionClient(connection));
+            }
+            shardClients = List.copyOf(clients);
+        }
+        return shardClients;
+    }
+
+    private DatabaseClient connectionClient(TableFacadeProperties.Connection connection) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(connection.getUrl()).mutate();
+        if (connection.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, connection.getUsername());
+        }
+        if (connection.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, connection.getPassword());
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        connectionFactories.add(connectionFactory);
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public void destroy() {
+        for (ConnectionFactory connectionFactory : connectionFactories) {
+            if (connectionFactory instanceof Closeable closeable) {
+                Mono.from(closeable.close()).block();
+            }
+        }
+        connectionFactories.clear();
+    }
+
+    /**
+     * With shard connections configured, tables are managed on every shard.
+     */
     @Bean
     @ConditionalOnMissingBean(ReactiveTableManagement.class)
     public ReactiveTableManagement reactiveTableManagement() {
+        if (tableFacadeProperties.getSharding().getConnections().isEmpty()) {
+            return newManagement(databaseClient.getObject());
+        }
+        return new ShardingTableManagement(shardClients().stream().map(this::newManagement).toList());
+    }
+
+    private ReactiveTableManagement newManagement(DatabaseClient client) {
         if (tableFacadeProperties.getDriverType().equals(DriverType.openGauss)) {
-            return new ReactiveOpenGaussTableManagement(tableFacadeProperties.getOpenGauss(), databaseClient);
+            return new ReactiveOpenGaussTableManagement(tableFacadeProperties.getOpenGauss(), client);
         } else {
-            return new ReactiveMysqlTableManagement(databaseClient);
+            return new ReactiveMysqlTableManagement(client);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterRegistry.class, MicrometerTableMetrics.class})
+    @ConditionalOnProperty(prefix = "spring.table.facade.metrics", name = "enabled", matchIfMissing = true)
+    static class MetricsConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public TableMetrics tableMetrics(TableFacadeProperties tableFacadeProperties,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return TableMetrics.NOOP;
+            }
+            String driver = String.valueOf(tableFacadeProperties.getDriverType());
+            return new MicrometerTableMetrics(registry, driver, tableFacadeProperties.getMetrics().getSlos());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnProperty(prefix = "spring.table.facade.query-stats", name = "enabled", havingValue = "true")
+    static class QueryStatisticsEndpointConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public QueryStatisticsEndpoint queryStatisticsEndpoint(QueryStatistics queryStatistics) {
+            return new QueryStatisticsEndpoint(queryStatistics);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MemoryTableStore.class)
+    @ConditionalOnProperty(prefix = "spring.table.facade", name = "driver-type", havingValue = "memory")
+    static class MemoryConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public MemoryTableStore memoryTableStore(TableFacadeProperties tableFacadeProperties) {
+            return new MemoryTableStore(tableFacadeProperties.getMemory().getIndexes());
+        }
+
+        /**
+         * Rows are kept as objects without SQL or connections, so only metrics and the limiter apply; row mapping
+         * offload, column codecs, the connection scheduler, query statistics, the slow query log and execution
+         * interceptors do not.
+         */
+        @Bean
+        @ConditionalOnMissingBean(ReactiveTableOperations.class)
+        public ReactiveTableOperations memoryReactiveTableOperations(TableFacadeProperties tableFacadeProperties,
+                                                                     MemoryTableStore memoryTableStore,
+                                                                     ObjectProvider<TableMetrics> tableMetrics) {
+            TableMetrics metrics = tableMetrics.getIfAvailable(() -> TableMetrics.NOOP);
+            ReactiveMemoryTableOperations operations = new ReactiveMemoryTableOperations(memoryTableStore);
+            operations.setMetrics(metrics);
+            if (tableFacadeProperties.getLimiter().isEnabled()) {
+                return new LimitingTableOperations(operations, tableFacadeProperties.getLimiter(), metrics);
+            }
+            return operations;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(ReactiveTableManagement.class)
+        public ReactiveTableManagement memoryReactiveTableManagement(MemoryTableStore memoryTableStore) {
+            return new ReactiveMemoryTableManagement(memoryTableStore);
         }
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.LogicalOperator;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+class MemoryConditionUtil {
+    /**
+     * Evaluates a condition against a stored row. Comparisons involving {@code NULL} never match, the same as
+     * the {@code column = NULL} predicates rendered by the SQL drivers.
+     */
+    static boolean matches(@Nullable Condition condition, Object[] row, ToIntFunction<String> ordinals) {
+        if (condition == null) {
+            return true;
+        }
+        if (condition instanceof ComparisonCondition comparisonCondition) {
+            int ordinal = ordinals.applyAsInt(comparisonCondition.getColumn());
+            Object actual = ordinal >= 0 && ordinal < row.length ? row[ordinal] : null;
+            Object expected = comparisonCondition.getValue();
+            if (actual == null || expected == null) {
+                return false;
+            }
+            if (comparisonCondition.getOperator() == ComparisonOperator.IN) {
+                for (Object element : (Collection<?>) expected) {
+                    if (element != null && MemoryValueUtil.compare(actual, element) == 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return test(comparisonCondition.getOperator(), MemoryValueUtil.compare(actual, expected));
+        } else if (condition instanceof CompositeCondition compositeCondition) {
+            boolean and = compositeCondition.getOperator() == LogicalOperator.AND;
+            for (Condition child : compositeCondition.getConditions()) {
+                if (matches(child, row, ordinals) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        } else {
+            throw new IllegalArgumentException("Unsupported condition type: " + condition.getClass().getName());
+        }
+    }
+
+    /**
+     * Picks the narrowest access path for a condition: a primary key point lookup, then an equality on an
+     * indexed column, then a range on the primary key or an index. Returns {@code null} for a full scan. The
+     * chosen range is only a candidate filter, every candidate row is re-checked against the full condition.
+     */
+    @Nullable
+    static MemoryRange plan(@Nullable Condition condition, @Nullable String keyColumn,
+                            Predicate<String> indexed) {
+        if (condition instanceof ComparisonCondition comparisonCondition) {
+            String column = comparisonCondition.getColumn();
+            Object value = comparisonCondition.getValue();
+            if (value == null || comparisonCondition.getOperator() == ComparisonOperator.NEQ
+                    || comparisonCondition.getOperator() == ComparisonOperator.IN) {
+                return null;
+            }
+            if (!column.equals(keyColumn) && !indexed.test(column)) {
+                return null;
+            }
+            return MemoryRange.of(column, column.equals(keyColumn), comparisonCondition.getOperator(), value);
+        }
+        if (condition instanceof CompositeCondition compositeCondition
+                && compositeCondition.getOperator() == LogicalOperator.AND) {
+            MemoryRange best = null;
+            for (Condition child : compositeCondition.getConditions()) {
+                MemoryRange range = plan(child, keyColumn, indexed);
+                if (range != null && (best == null || range.rank() < best.rank())) {
+                    best = range;
+                }
+            }
+            return best;
+        }
+        return null;
+    }
+
+    private static boolean test(ComparisonOperator operator, int comparison) {
+        return switch (operator) {
+            case EQ -> comparison == 0;
+            case NEQ -> comparison != 0;
+            case GT -> comparison > 0;
+            case LT -> comparison < 0;
+            case GTE -> comparison >= 0;
+            case LTE -> comparison <= 0;
+            case IN -> throw new IllegalArgumentException("IN is not a comparison");
+        };
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary ordered index over one column, holding an entry for every value the column has in any row version
+ * that is still visible to some snapshot. Index hits are candidates only, callers re-check the visible row.
+ */
+class MemoryIndex {
+    private static final Comparator<Entry> ENTRY_COMPARATOR = (left, right) -> {
+        int comparison = MemoryValueUtil.compare(left.value(), right.value());
+        if (comparison != 0) {
+            return comparison;
+        }
+        if (left.bound() != 0 || right.bound() != 0) {
+            return Integer.compare(left.bound(), right.bound());
+        }
+        return MemoryValueUtil.compare(left.key(), right.key());
+    };
+
+    @Getter
+    private final String column;
+
+    @Getter
+    private final int ordinal;
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ENTRY_COMPARATOR);
+
+    MemoryIndex(String column, int ordinal) {
+        this.column = column;
+        this.ordinal = ordinal;
+    }
+
+    void add(@Nullable Object[] row, Object key) {
+        Object value = value(row);
+        if (value != null) {
+            entries.add(new Entry(value, key, 0));
+        }
+    }
+
+    void remove(@Nullable Object[] row, Object key) {
+        Object value = value(row);
+        if (value != null) {
+            entries.remove(new Entry(value, key, 0));
+        }
+    }
+
+    @Nullable
+    Object value(@Nullable Object[] row) {
+        if (row == null || ordinal >= row.length) {
+            return null;
+        }
+        return row[ordinal];
+    }
+
+    NavigableSet<Entry> range(MemoryRange range) {
+        // bound entries sort just before (-1) or just after (1) every real entry holding the same value
+        Entry from = range.getLower() == null ? null : new Entry(range.getLower(), null, range.isLowerInclusive() ? -1 : 1);
+        Entry to = range.getUpper() == null ? null : new Entry(range.getUpper(), null, range.isUpperInclusive() ? 1 : -1);
+        if (from == null && to == null) {
+            return entries;
+        } else if (from == null) {
+            return entries.headSet(to, false);
+        } else if (to == null) {
+            return entries.tailSet(from, false);
+        }
+        return entries.subSet(from, false, to, false);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    record Entry(Object value, Object key, int bound) {
+    }
+}
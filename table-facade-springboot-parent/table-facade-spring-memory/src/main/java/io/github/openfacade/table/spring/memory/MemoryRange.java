@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.ComparisonOperator;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+@Getter
+class MemoryRange {
+    private final String column;
+
+    private final boolean primaryKey;
+
+    @Nullable
+    private final Object lower;
+
+    private final boolean lowerInclusive;
+
+    @Nullable
+    private final Object upper;
+
+    private final boolean upperInclusive;
+
+    private MemoryRange(String column, boolean primaryKey, @Nullable Object lower, boolean lowerInclusive,
+                        @Nullable Object upper, boolean upperInclusive) {
+        this.column = column;
+        this.primaryKey = primaryKey;
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+
+    static MemoryRange of(String column, boolean primaryKey, ComparisonOperator operator, Object value) {
+        return switch (operator) {
+            case EQ -> new MemoryRange(column, primaryKey, value, true, value, true);
+            case GT -> new MemoryRange(column, primaryKey, value, false, null, false);
+            case GTE -> new MemoryRange(column, primaryKey, value, true, null, false);
+            case LT -> new MemoryRange(column, primaryKey, null, false, value, false);
+            case LTE -> new MemoryRange(column, primaryKey, null, false, value, true);
+            case NEQ, IN -> throw new IllegalArgumentException(operator + " cannot be served by a range");
+        };
+    }
+
+    boolean isPoint() {
+        return lower != null && lower == upper;
+    }
+
+    /**
+     * Lower is better: primary key point lookups, index equality, primary key ranges, index ranges.
+     */
+    int rank() {
+        if (isPoint()) {
+            return primaryKey ? 0 : 1;
+        }
+        return primaryKey ? 2 : 3;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowView;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * {@link RowView} over the stored arrays of a {@link MemoryTable}, reset for every row of a scan.
+ */
+class MemoryRowView implements RowView {
+    private final MemoryTable table;
+
+    private final TableMetadata metadata;
+
+    private Object[] row;
+
+    MemoryRowView(MemoryTable table, TableMetadata metadata) {
+        this.table = table;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Visits the rows matching {@code condition} in a single snapshot and returns how many were visited.
+     */
+    static long scan(MemoryTable table, @Nullable Condition condition, RowVisitor visitor, TableMetadata metadata) {
+        MemoryRowView view = new MemoryRowView(table, metadata);
+        long snapshot = table.openSnapshot();
+        try (Stream<Object[]> rows = table.scan(snapshot, condition)) {
+            long count = 0;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                view.row = iterator.next();
+                visitor.visit(view);
+                count++;
+            }
+            return count;
+        } finally {
+            view.row = null;
+            table.closeSnapshot(snapshot);
+        }
+    }
+
+    @Override
+    public boolean isNull(String column) {
+        return value(column) == null;
+    }
+
+    @Override
+    public long getLong(String column) {
+        Object value = value(column);
+        return value == null ? 0L : (Long) Objects.requireNonNull(MemoryValueUtil.coerce(value, long.class));
+    }
+
+    @Override
+    public int getInt(String column) {
+        Object value = value(column);
+        return value == null ? 0 : (Integer) Objects.requireNonNull(MemoryValueUtil.coerce(value, int.class));
+    }
+
+    @Override
+    public double getDouble(String column) {
+        Object value = value(column);
+        return value == null ? 0D : (Double) Objects.requireNonNull(MemoryValueUtil.coerce(value, double.class));
+    }
+
+    @Override
+    public boolean getBoolean(String column) {
+        Object value = value(column);
+        return value != null && (Boolean) Objects.requireNonNull(MemoryValueUtil.coerce(value, boolean.class));
+    }
+
+    @Override
+    public String getString(String column) {
+        return (String) MemoryValueUtil.coerce(value(column), String.class);
+    }
+
+    @Override
+    public byte[] getBytes(String column) {
+        return (byte[]) MemoryValueUtil.coerce(value(column), byte[].class);
+    }
+
+    @Override
+    public Object get(String column) {
+        Object value = value(column);
+        Method setter = metadata.getSetterMap().get(column);
+        if (setter == null) {
+            return MemoryValueUtil.copy(value);
+        }
+        return MemoryValueUtil.coerce(value, setter.getParameterTypes()[0]);
+    }
+
+    @Nullable
+    private Object value(String column) {
+        int ordinal = table.ordinal(column);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Unknown column '" + column + "'");
+        }
+        return ordinal < row.length ? row[ordinal] : null;
+    }
+}
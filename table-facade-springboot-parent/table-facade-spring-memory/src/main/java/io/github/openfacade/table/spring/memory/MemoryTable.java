@@ -0,0 +1,592 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.Condition;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A primary-key ordered, multi-versioned row store.
+ * <p>
+ * Writers serialize per key on a lock stripe and only share the commit lock with each other, so writes to
+ * different keys proceed in parallel. Every committed write gets a sequence number from the table clock and
+ * links to the version it replaced. A scan captures the clock under the exclusive commit lock, which guarantees
+ * that every version numbered at or below its snapshot is already published, and then reads the newest version
+ * not newer than the snapshot of each row. Versions no open snapshot can see are pruned on the next write.
+ * <p>
+ * A transaction works on a private {@link #copy()} of the rows visible to a snapshot and publishes the rows it wrote
+ * with {@link #commit}, which fails if another writer changed one of them after the snapshot.
+ */
+class MemoryTable {
+    private static final int STRIPES = 64;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    @Nullable
+    private final String keyColumn;
+
+    private final int keyOrdinal;
+
+    private final ConcurrentSkipListMap<Object, Version> rows = new ConcurrentSkipListMap<>(MemoryValueUtil.COMPARATOR);
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ConcurrentSkipListMap<Long, Integer> snapshots = new ConcurrentSkipListMap<>();
+
+    private final Set<Object> tombstones = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence;
+
+    private final Map<String, Integer> ordinals;
+
+    private volatile List<MemoryIndex> indexes = List.of();
+
+    @Nullable
+    private final MemoryTable origin;
+
+    private final long snapshot;
+
+    /**
+     * For a copy, whether each key it wrote had a row at the snapshot.
+     */
+    private final Map<Object, Boolean> written = new ConcurrentHashMap<>();
+
+    MemoryTable(String name, @Nullable String keyColumn) {
+        this(name, keyColumn, new ConcurrentHashMap<>(), new AtomicLong(), null, 0);
+    }
+
+    private MemoryTable(String name, @Nullable String keyColumn, Map<String, Integer> ordinals, AtomicLong sequence,
+                        @Nullable MemoryTable origin, long snapshot) {
+        this.name = name;
+        this.keyColumn = keyColumn;
+        this.ordinals = ordinals;
+        this.sequence = sequence;
+        this.origin = origin;
+        this.snapshot = snapshot;
+        this.keyOrdinal = keyColumn == null ? -1 : ordinalOrCreate(keyColumn);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    int ordinal(String column) {
+        Integer ordinal = ordinals.get(column);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    int ordinalOrCreate(String column) {
+        Integer ordinal = ordinals.get(column);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ordinals) {
+            return ordinals.computeIfAbsent(column, key -> ordinals.size());
+        }
+    }
+
+    int columnCount() {
+        return ordinals.size();
+    }
+
+    long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    boolean isIndexed(String column) {
+        for (MemoryIndex index : indexes) {
+            if (index.getColumn().equals(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void createIndex(String column) {
+        int ordinal = ordinalOrCreate(column);
+        commitLock.writeLock().lock();
+        try {
+            if (isIndexed(column)) {
+                return;
+            }
+            MemoryIndex index = new MemoryIndex(column, ordinal);
+            for (Map.Entry<Object, Version> entry : rows.entrySet()) {
+                for (Version version = entry.getValue(); version != null; version = version.previous) {
+                    index.add(version.values, entry.getKey());
+                }
+            }
+            List<MemoryIndex> copy = new ArrayList<>(indexes);
+            copy.add(index);
+            indexes = List.copyOf(copy);
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    void insert(Object[] row) {
+        Object key = key(row);
+        write(key, current -> {
+            if (current != null) {
+                throw new IllegalStateException("Duplicate entry '" + key + "' for key '" + keyColumn + "' in table " + name);
+            }
+            return row;
+        });
+    }
+
+    void upsert(Object[] row, UnaryOperator<Object[]> onDuplicate) {
+        Object key = key(row);
+        write(key, current -> current == null ? row : checkKey(key, onDuplicate.apply(current)));
+    }
+
+    /**
+     * Applies {@code updater} to every row matching {@code condition}. Matching rows are located on a snapshot
+     * and re-checked under their stripe lock, so each row is updated at most once against its latest version.
+     */
+    long update(@Nullable Condition condition, UnaryOperator<Object[]> updater) {
+        long updated = 0;
+        for (Object key : keys(condition)) {
+            boolean written = write(key, current -> {
+                if (current == null || !MemoryConditionUtil.matches(condition, current, this::ordinal)) {
+                    return current;
+                }
+                return checkKey(key, updater.apply(current));
+            });
+            if (written) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Applies {@code updater} to at most {@code limit} rows matching {@code condition} and returns them as they were
+     * before. Like {@link #update}, rows are re-checked under their stripe lock, so concurrent claims whose update
+     * makes the row stop matching never take the same row.
+     */
+    List<Object[]> claim(@Nullable Condition condition, int limit, UnaryOperator<Object[]> updater) {
+        List<Object[]> claimed = new ArrayList<>();
+        for (Object key : keys(condition)) {
+            if (claimed.size() >= limit) {
+                break;
+            }
+            write(key, current -> {
+                if (current == null || !MemoryConditionUtil.matches(condition, current, this::ordinal)) {
+                    return current;
+                }
+                claimed.add(current);
+                return checkKey(key, updater.apply(current));
+            });
+        }
+        return claimed;
+    }
+
+    long delete(@Nullable Condition condition) {
+        long deleted = 0;
+        for (Object key : keys(condition)) {
+            boolean written = write(key, current -> {
+                if (current == null || !MemoryConditionUtil.matches(condition, current, this::ordinal)) {
+                    return current;
+                }
+                return null;
+            });
+            if (written) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * A private table holding the rows visible to a new snapshot, for a transaction to work on. It shares the column
+     * ordinals and the key sequence with this table, so generated keys and new columns never collide on commit.
+     */
+    MemoryTable copy() {
+        long snapshot = openSnapshot();
+        try {
+            MemoryTable copy = new MemoryTable(name, keyColumn, ordinals, sequence, this, snapshot);
+            for (Map.Entry<Object, Version> entry : rows.entrySet()) {
+                Map.Entry<Object, Object[]> visible = visible(entry.getKey(), entry.getValue(), snapshot);
+                if (visible != null) {
+                    copy.rows.put(visible.getKey(), new Version(visible.getValue(), 0, null));
+                }
+            }
+            for (MemoryIndex index : indexes) {
+                copy.createIndex(index.getColumn());
+            }
+            return copy;
+        } finally {
+            closeSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Publishes the rows written to {@code copies} to the tables they were copied from, all or nothing. The keys are
+     * locked in table and stripe order and the commit locks held throughout, so no snapshot sees part of it. A row
+     * that another writer changed since its copy was taken fails the commit before anything is written.
+     */
+    static void commit(Collection<MemoryTable> copies) {
+        List<MemoryTable> ordered = new ArrayList<>(copies);
+        ordered.sort(Comparator.comparing(MemoryTable::getName));
+        List<Lock> locks = new ArrayList<>();
+        for (MemoryTable copy : ordered) {
+            MemoryTable origin = Objects.requireNonNull(copy.origin, "Not a copy: " + copy.name);
+            Set<Integer> stripes = new TreeSet<>();
+            for (Object key : copy.written.keySet()) {
+                stripes.add(Math.floorMod(key.hashCode(), STRIPES));
+            }
+            for (int stripe : stripes) {
+                locks.add(origin.stripes[stripe]);
+            }
+        }
+        for (MemoryTable copy : ordered) {
+            locks.add(Objects.requireNonNull(copy.origin).commitLock.readLock());
+        }
+        withLocks(locks, 0, () -> {
+            for (MemoryTable copy : ordered) {
+                Objects.requireNonNull(copy.origin).checkUnchanged(copy);
+            }
+            for (MemoryTable copy : ordered) {
+                Objects.requireNonNull(copy.origin).apply(copy);
+            }
+        });
+    }
+
+    private static void withLocks(List<Lock> locks, int from, Runnable action) {
+        if (from == locks.size()) {
+            action.run();
+            return;
+        }
+        Lock lock = locks.get(from);
+        lock.lock();
+        try {
+            withLocks(locks, from + 1, action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkUnchanged(MemoryTable copy) {
+        for (Map.Entry<Object, Boolean> entry : copy.written.entrySet()) {
+            Version head = rows.get(entry.getKey());
+            // a vacuumed delete leaves no version behind, a row that was there at the snapshot must still be there
+            boolean changed = head == null ? entry.getValue() : head.seq > copy.snapshot;
+            if (changed) {
+                throw new IllegalStateException("Row '" + entry.getKey() + "' of table " + name
+                        + " was changed by another writer, the transaction is rolled back");
+            }
+        }
+    }
+
+    /**
+     * Must be called holding the stripes of the written keys and the shared commit lock.
+     */
+    private void apply(MemoryTable copy) {
+        List<MemoryIndex> indexes = this.indexes;
+        for (Object key : copy.written.keySet()) {
+            Version written = copy.rows.get(key);
+            Object[] next = written == null ? null : written.values;
+            Version head = rows.get(key);
+            if (next == null && (head == null || head.values == null)) {
+                continue;
+            }
+            Version version = new Version(next, clock.incrementAndGet(), head);
+            for (MemoryIndex index : indexes) {
+                index.add(next, key);
+            }
+            publish(key, version, indexes);
+        }
+    }
+
+    long count(@Nullable Condition condition) {
+        long snapshot = openSnapshot();
+        try {
+            return candidates(snapshot, condition).count();
+        } finally {
+            closeSnapshot(snapshot);
+        }
+    }
+
+    long openSnapshot() {
+        commitLock.writeLock().lock();
+        try {
+            long snapshot = clock.get();
+            snapshots.merge(snapshot, 1, Integer::sum);
+            return snapshot;
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    void closeSnapshot(long snapshot) {
+        snapshots.computeIfPresent(snapshot, (key, count) -> count == 1 ? null : count - 1);
+        if (snapshots.isEmpty() && !tombstones.isEmpty()) {
+            vacuum();
+        }
+    }
+
+    /**
+     * Rows matching {@code condition} as of {@code snapshot}, in primary key order unless a secondary index is
+     * used, in which case they come in index order. The returned arrays must not be modified.
+     */
+    Stream<Object[]> scan(long snapshot, @Nullable Condition condition) {
+        return candidates(snapshot, condition).map(Map.Entry::getValue);
+    }
+
+    private List<Object> keys(@Nullable Condition condition) {
+        long snapshot = openSnapshot();
+        try {
+            return candidates(snapshot, condition).map(Map.Entry::getKey).toList();
+        } finally {
+            closeSnapshot(snapshot);
+        }
+    }
+
+    private Stream<Map.Entry<Object, Object[]>> candidates(long snapshot, @Nullable Condition condition) {
+        MemoryRange range = MemoryConditionUtil.plan(condition, keyColumn, this::isIndexed);
+        Stream<Map.Entry<Object, Object[]>> candidates;
+        if (range == null) {
+            candidates = rows.entrySet().stream().map(entry -> visible(entry.getKey(), entry.getValue(), snapshot));
+        } else if (range.isPrimaryKey()) {
+            candidates = keyRange(range).entrySet().stream()
+                    .map(entry -> visible(entry.getKey(), entry.getValue(), snapshot));
+        } else {
+            MemoryIndex index = index(range.getColumn());
+            candidates = index.range(range).stream().map(entry -> {
+                Map.Entry<Object, Object[]> visible = visible(entry.key(), rows.get(entry.key()), snapshot);
+                // a row is reachable from one entry per distinct value it has had, only follow the current one
+                if (visible == null || MemoryValueUtil.compare(entry.value(), index.value(visible.getValue())) != 0) {
+                    return null;
+                }
+                return visible;
+            });
+        }
+        return candidates.filter(Objects::nonNull)
+                .filter(entry -> MemoryConditionUtil.matches(condition, entry.getValue(), this::ordinal));
+    }
+
+    private NavigableMap<Object, Version> keyRange(MemoryRange range) {
+        Object lower = range.getLower() == null ? null : MemoryValueUtil.normalizeKey(range.getLower());
+        Object upper = range.getUpper() == null ? null : MemoryValueUtil.normalizeKey(range.getUpper());
+        if (lower == null) {
+            return rows.headMap(upper, range.isUpperInclusive());
+        } else if (upper == null) {
+            return rows.tailMap(lower, range.isLowerInclusive());
+        }
+        return rows.subMap(lower, range.isLowerInclusive(), upper, range.isUpperInclusive());
+    }
+
+    @Nullable
+    private static Map.Entry<Object, Object[]> visible(Object key, @Nullable Version head, long snapshot) {
+        Version version = head;
+        while (version != null && version.seq > snapshot) {
+            version = version.previous;
+        }
+        if (version == null || version.values == null) {
+            return null;
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(key, version.values);
+    }
+
+    private MemoryIndex index(String column) {
+        for (MemoryIndex index : indexes) {
+            if (index.getColumn().equals(column)) {
+                return index;
+            }
+        }
+        throw new IllegalStateException("No index on column " + column + " of table " + name);
+    }
+
+    private Object key(Object[] row) {
+        if (keyColumn == null) {
+            return sequence.incrementAndGet();
+        }
+        Object key = keyOrdinal < row.length ? row[keyOrdinal] : null;
+        if (key == null) {
+            throw new IllegalArgumentException("Primary key column '" + keyColumn + "' of table " + name + " must not be null");
+        }
+        if (MemoryValueUtil.isIntegral(key)) {
+            sequence.accumulateAndGet(((Number) key).longValue(), Math::max);
+        }
+        return MemoryValueUtil.normalizeKey(key);
+    }
+
+    private Object[] checkKey(Object key, @NotNull Object[] row) {
+        if (keyColumn != null && (keyOrdinal >= row.length || row[keyOrdinal] == null
+                || MemoryValueUtil.compare(key, row[keyOrdinal]) != 0)) {
+            throw new IllegalArgumentException("Primary key column '" + keyColumn + "' of table " + name + " cannot be updated");
+        }
+        return row;
+    }
+
+    /**
+     * Installs the version produced by {@code mutation}, returning {@code false} when the mutation returned the
+     * current row unchanged. A {@code null} row is a delete.
+     */
+    private boolean write(Object key, UnaryOperator<Object[]> mutation) {
+        ReentrantLock stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        stripe.lock();
+        try {
+            Version head = rows.get(key);
+            Object[] current = head == null ? null : head.values;
+            Object[] next = mutation.apply(current);
+            if (next == current) {
+                return false;
+            }
+            if (origin != null) {
+                written.putIfAbsent(key, current != null);
+            }
+            commitLock.readLock().lock();
+            try {
+                Version version = new Version(next, clock.incrementAndGet(), head);
+                List<MemoryIndex> indexes = this.indexes;
+                for (MemoryIndex index : indexes) {
+                    index.add(next, key);
+                }
+                publish(key, version, indexes);
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Must be called holding the key's stripe and the shared commit lock.
+     */
+    private void publish(Object key, Version head, List<MemoryIndex> indexes) {
+        Map.Entry<Long, Integer> oldest = snapshots.firstEntry();
+        long horizon = oldest == null ? Long.MAX_VALUE : oldest.getKey();
+        Version retained = head;
+        while (retained.seq > horizon) {
+            Version previous = retained.previous;
+            if (previous == null) {
+                break;
+            }
+            retained = previous;
+        }
+        Version pruned = retained.previous;
+        retained.previous = null;
+
+        if (head.values == null && head.previous == null) {
+            rows.remove(key);
+            tombstones.remove(key);
+        } else {
+            rows.put(key, head);
+            if (head.values == null) {
+                tombstones.add(key);
+            }
+        }
+
+        for (Version version = pruned; version != null; version = version.previous) {
+            for (MemoryIndex index : indexes) {
+                Object value = index.value(version.values);
+                if (value != null && !retains(head, index, value)) {
+                    index.remove(version.values, key);
+                }
+            }
+        }
+    }
+
+    private static boolean retains(Version head, MemoryIndex index, Object value) {
+        for (Version version = head; version != null; version = version.previous) {
+            Object retained = index.value(version.values);
+            if (retained != null && MemoryValueUtil.compare(retained, value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops tombstones that were kept alive for snapshots which have since been closed.
+     */
+    private void vacuum() {
+        for (Object key : tombstones) {
+            ReentrantLock stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+            stripe.lock();
+            try {
+                commitLock.readLock().lock();
+                try {
+                    Version head = rows.get(key);
+                    if (head == null || head.values != null) {
+                        tombstones.remove(key);
+                    } else {
+                        publish(key, head, indexes);
+                    }
+                } finally {
+                    commitLock.readLock().unlock();
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    int size() {
+        return rows.size() - tombstones.size();
+    }
+
+    private static final class Version {
+        @Nullable
+        private final Object[] values;
+
+        private final long seq;
+
+        @Nullable
+        private volatile Version previous;
+
+        private Version(@Nullable Object[] values, long seq, @Nullable Version previous) {
+            this.values = values;
+            this.seq = seq;
+            this.previous = previous;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryTable{name=" + name + ", keyColumn=" + keyColumn + ", columns=" + Arrays.toString(ordinals.keySet().toArray()) + "}";
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.TableException;
+import io.github.openfacade.table.api.TableOperations;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The blocking {@link TableOperations} contract over the in-memory store, covering all of it as the JDBC drivers do.
+ * Entity reads and writes are only offered reactively, by {@link ReactiveMemoryTableOperations}.
+ */
+@RequiredArgsConstructor
+public class MemoryTableOperations implements TableOperations {
+    private final Map<Class<?>, TableMetadata> classMap = new ConcurrentHashMap<>();
+
+    private final MemoryTableStore store;
+
+    @Override
+    public <T> Long deleteAll(Class<T> type) throws TableException {
+        String tableName = TableMetadataUtil.getTableName(type);
+        if (tableName == null) {
+            throw new TableException("Class " + type.getName() + " is not annotated with @Table");
+        }
+        return deleteAll(tableName);
+    }
+
+    @Override
+    public Long deleteAll(String tableName) throws TableException {
+        return table(tableName).delete(null);
+    }
+
+    @Override
+    public Long count(String tableName) throws TableException {
+        return table(tableName).count(null);
+    }
+
+    @Override
+    public <T> Long scan(Class<T> type, Condition condition, RowVisitor visitor) throws TableException {
+        TableMetadata metadata = classMap.computeIfAbsent(type, TableMetadataUtil::parseClass);
+        return MemoryRowView.scan(table(metadata.getTableName()), condition, visitor, metadata);
+    }
+
+    private MemoryTable table(String tableName) throws TableException {
+        MemoryTable table = store.table(tableName);
+        if (table == null) {
+            throw new TableException("Table '" + tableName + "' doesn't exist");
+        }
+        return table;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.spring.core.TableMetadata;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MemoryTableStore {
+    private final Map<String, MemoryTable> tables = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> pendingIndexes = new ConcurrentHashMap<>();
+
+    public MemoryTableStore() {
+        this(Collections.emptyMap());
+    }
+
+    public MemoryTableStore(Map<String, List<String>> indexes) {
+        indexes.forEach((table, columns) -> columns.forEach(column -> createIndex(table, column)));
+    }
+
+    /**
+     * Creates a secondary ordered index, tables that do not exist yet get the index when they are created.
+     */
+    public void createIndex(@NotNull String tableName, @NotNull String column) {
+        pendingIndexes.computeIfAbsent(tableName, key -> ConcurrentHashMap.newKeySet()).add(column);
+        MemoryTable table = tables.get(tableName);
+        if (table != null) {
+            table.createIndex(column);
+        }
+    }
+
+    public boolean existsTable(@NotNull String tableName) {
+        return tables.containsKey(tableName);
+    }
+
+    public boolean dropTable(@NotNull String tableName) {
+        return tables.remove(tableName) != null;
+    }
+
+    public Set<String> tableNames() {
+        return Collections.unmodifiableSet(tables.keySet());
+    }
+
+    @Nullable
+    MemoryTable table(String tableName) {
+        return tables.get(tableName);
+    }
+
+    MemoryTable getOrCreate(TableMetadata metadata) {
+        return tables.computeIfAbsent(metadata.getTableName(), name -> {
+            MemoryTable table = new MemoryTable(name, metadata.getIdColumn());
+            metadata.getSetterMap().keySet().forEach(table::ordinalOrCreate);
+            for (String column : pendingIndexes.getOrDefault(name, Collections.emptySet())) {
+                table.createIndex(column);
+            }
+            return table;
+        });
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.spring.core.TableMetadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The tables of one {@code inTransaction} scope: each is a private copy of the store's table, taken when the
+ * transaction first touches it, so the transaction reads a snapshot together with its own writes. Nothing reaches the
+ * store until {@link #commit()}, a transaction that is not committed is simply dropped.
+ */
+final class MemoryTransaction {
+    private final MemoryTableStore store;
+
+    private final Map<String, MemoryTable> copies = new ConcurrentHashMap<>();
+
+    MemoryTransaction(MemoryTableStore store) {
+        this.store = store;
+    }
+
+    MemoryTable getOrCreate(TableMetadata metadata) {
+        return copies.computeIfAbsent(metadata.getTableName(), name -> store.getOrCreate(metadata).copy());
+    }
+
+    void commit() {
+        MemoryTable.commit(copies.values());
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+
+class MemoryValueUtil {
+    static final Comparator<Object> COMPARATOR = MemoryValueUtil::compare;
+
+    /**
+     * Orders values the way a SQL engine would for the types entities commonly map to: integral and decimal
+     * numbers compare by value regardless of their boxed type, booleans compare with numbers as 0/1.
+     */
+    static int compare(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            if (isIntegral(left) && isIntegral(right)) {
+                return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+            }
+            return toBigDecimal((Number) left).compareTo(toBigDecimal((Number) right));
+        }
+        if (left instanceof Boolean || right instanceof Boolean) {
+            return Integer.compare(toInt(left), toInt(right));
+        }
+        if (left instanceof byte[] && right instanceof byte[]) {
+            return Arrays.compare((byte[]) left, (byte[]) right);
+        }
+        if (left instanceof CharSequence && right instanceof CharSequence) {
+            return left.toString().compareTo(right.toString());
+        }
+        if (left.getClass() == right.getClass() && left instanceof Comparable) {
+            @SuppressWarnings("unchecked")
+            Comparable<Object> comparable = (Comparable<Object>) left;
+            return comparable.compareTo(right);
+        }
+        throw new IllegalArgumentException("Cannot compare " + left.getClass().getName() + " with "
+                + right.getClass().getName());
+    }
+
+    /**
+     * Normalizes primary key values so that e.g. {@code 2} and {@code 2L} address the same row.
+     */
+    static Object normalizeKey(Object key) {
+        if (key instanceof Number && isIntegral(key)) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof BigDecimal) {
+            return ((BigDecimal) key).stripTrailingZeros();
+        }
+        return key;
+    }
+
+    /**
+     * Converts stored values to the setter type {@code type}, a missing value of a primitive to its default.
+     */
+    static ColumnCodec codec(Class<?> type) {
+        Object missing = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        return new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return type;
+            }
+
+            @Override
+            public Object decode(Object value) {
+                return value == null ? missing : coerce(value, type);
+            }
+        };
+    }
+
+    /**
+     * Rows never share mutable state with entities, arrays are copied on the way in and out. Compressed values are
+     * stored as their content.
+     */
+    @Nullable
+    static Object copy(@Nullable Object value) {
+        if (value instanceof CompressedValue<?> holder) {
+            value = holder.get();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value;
+    }
+
+    @Nullable
+    static Object coerce(@Nullable Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return copy(value);
+        }
+        if (type == CompressedValue.class) {
+            return CompressedValue.of(copy(value));
+        }
+        if (value instanceof Number number) {
+            if (type == Long.class || type == long.class) {
+                return number.longValue();
+            }
+            if (type == Integer.class || type == int.class) {
+                return number.intValue();
+            }
+            if (type == Short.class || type == short.class) {
+                return number.shortValue();
+            }
+            if (type == Byte.class || type == byte.class) {
+                return number.byteValue();
+            }
+            if (type == Double.class || type == double.class) {
+                return number.doubleValue();
+            }
+            if (type == Float.class || type == float.class) {
+                return number.floatValue();
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return number.intValue() != 0;
+            }
+            if (type == BigDecimal.class) {
+                return toBigDecimal(number);
+            }
+        }
+        if (value instanceof Boolean bool) {
+            if (type == boolean.class) {
+                return bool;
+            }
+            if (type == Integer.class || type == int.class) {
+                return bool ? 1 : 0;
+            }
+            if (type == Long.class || type == long.class) {
+                return bool ? 1L : 0L;
+            }
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+    }
+
+    /**
+     * Adds {@code delta} to {@code value}, keeping the type of {@code value}.
+     */
+    static Object add(Object value, Number delta) {
+        if (!(value instanceof Number number)) {
+            throw new IllegalArgumentException("Cannot increment " + value.getClass().getName());
+        }
+        if (isIntegral(number) && isIntegral(delta)) {
+            return coerce(Math.addExact(number.longValue(), delta.longValue()), value.getClass());
+        }
+        return coerce(toBigDecimal(number).add(toBigDecimal(delta)), value.getClass());
+    }
+
+    static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+
+    private static int toInt(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        throw new IllegalArgumentException("Cannot compare " + value.getClass().getName() + " with a boolean");
+    }
+}
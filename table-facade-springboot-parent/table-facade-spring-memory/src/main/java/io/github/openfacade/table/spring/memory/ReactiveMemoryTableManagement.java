@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.reactive.api.ReactiveTableManagement;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveMemoryTableManagement implements ReactiveTableManagement {
+    private final MemoryTableStore store;
+
+    @Override
+    public Mono<Boolean> existsTable(@NotNull String tableName) {
+        return Mono.fromCallable(() -> store.existsTable(tableName));
+    }
+
+    @Override
+    public Mono<Void> dropTable(@NotNull String tableName) {
+        return Mono.fromCallable(() -> store.dropTable(tableName))
+                .flatMap(dropped -> dropped ? Mono.<Void>empty()
+                        : Mono.error(new IllegalArgumentException("Unknown table '" + tableName + "'")));
+    }
+}
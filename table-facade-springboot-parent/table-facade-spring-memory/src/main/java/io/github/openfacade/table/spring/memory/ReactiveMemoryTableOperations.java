@@ -0,0 +1,331 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.api.Update;
+import io.github.openfacade.table.reactive.api.BlobHandle;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import io.github.openfacade.table.spring.core.ProjectionMetadata;
+import io.github.openfacade.table.spring.core.ReactiveBaseTableOperations;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.util.RowMappingUtil;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class ReactiveMemoryTableOperations extends ReactiveBaseTableOperations {
+    private final MemoryTableStore store;
+
+    /**
+     * Stored values are kept in their entity types, so they decode by coercion rather than driver codecs.
+     */
+    private final Map<TableMetadata, ColumnCodec[]> columnCodecs = new ConcurrentHashMap<>();
+
+    public <T> Mono<T> insertOnDuplicateKeyUpdate(T object, Object[] pairs) {
+        Class<?> type = object.getClass();
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Pairs must contain an even number of elements (key-value pairs).");
+        }
+        checkUpdates(pairs);
+
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> {
+            MemoryTable table = table(context, metadata);
+            Object[] row = toRow(object, table, metadata);
+            table.upsert(row, current -> applyPairs(current, pairs, table));
+            return object;
+        }));
+    }
+
+    @Override
+    public <T> Mono<T> insert(T object, TableMetadata metadata) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> {
+            MemoryTable table = table(context, metadata);
+            table.insert(toRow(object, table, metadata));
+            return object;
+        }));
+    }
+
+    @Override
+    public <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type, TableMetadata metadata) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Pairs must be an even number.");
+        }
+        checkUpdates(pairs);
+
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> {
+            MemoryTable table = table(context, metadata);
+            return table.update(condition, current -> applyPairs(current, pairs, table));
+        }));
+    }
+
+    @Override
+    public <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] pairs, TableMetadata metadata) {
+        checkUpdates(pairs);
+        return Flux.deferContextual(context -> {
+            MemoryTable table = table(context, metadata);
+            return Flux.fromIterable(table.claim(condition, limit, current -> applyPairs(current, pairs, table)))
+                    .map(row -> mapRowToEntity(row, table, type, metadata));
+        });
+    }
+
+    /**
+     * Runs {@code work} on private copies of the tables it touches, see {@link MemoryTransaction}, which are
+     * published together when the work completes. That is snapshot isolation whatever level {@code options} asks
+     * for: a row another writer changed in the meantime fails the commit with an {@link IllegalStateException}, and
+     * on error or cancellation nothing is published. A nested call joins the enclosing transaction.
+     */
+    @Override
+    public <R> Flux<R> inTransaction(TransactionOptions options,
+                                     Function<ReactiveTableOperations, Publisher<R>> work) {
+        return Flux.deferContextual(context -> {
+            // keyed by the store, so operations on another store never join this transaction
+            if (context.hasKey(store)) {
+                return work.apply(this);
+            }
+            MemoryTransaction transaction = new MemoryTransaction(store);
+            return Flux.<R>from(work.apply(this))
+                    .concatWith(Mono.fromRunnable(transaction::commit))
+                    .contextWrite(Context.of(store, transaction));
+        });
+    }
+
+    /**
+     * Runs the statements in one transaction, so a batch is applied all or nothing.
+     */
+    @Override
+    protected Mono<List<Long>> executeBatch(List<BatchStatement> statements) {
+        return inTransaction(ops -> super.executeBatch(statements)).single();
+    }
+
+    @Override
+    public <T> Mono<T> find(Condition condition, Class<T> type, TableMetadata metadata) {
+        return findAll(condition, type, metadata).singleOrEmpty();
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Class<T> type, TableMetadata metadata) {
+        return findAll(null, type, metadata);
+    }
+
+    @Override
+    public <T> Flux<T> findAll(@Nullable Condition condition, Class<T> type, TableMetadata metadata) {
+        return Flux.deferContextual(context -> {
+            MemoryTable table = table(context, metadata);
+            return Flux.using(table::openSnapshot,
+                    snapshot -> Flux.fromStream(table.scan(snapshot, condition))
+                            .map(row -> mapRowToEntity(row, table, type, metadata)),
+                    table::closeSnapshot);
+        });
+    }
+
+    @Override
+    public <T> Flux<T> findAll(@Nullable Condition condition, Class<T> type, Sort sort, int limit,
+                               TableMetadata metadata) {
+        return Flux.deferContextual(context -> {
+            MemoryTable table = table(context, metadata);
+            Comparator<Object[]> order = null;
+            for (Sort.Order sortOrder : sort.getOrders()) {
+                int ordinal = table.ordinal(sortOrder.getColumn());
+                Comparator<Object[]> column = Comparator.comparing(
+                        row -> ordinal < 0 || ordinal >= row.length ? null : row[ordinal],
+                        Comparator.nullsFirst(MemoryValueUtil.COMPARATOR));
+                if (sortOrder.isDescending()) {
+                    column = column.reversed();
+                }
+                order = order == null ? column : order.thenComparing(column);
+            }
+            Comparator<Object[]> rowOrder = order;
+            return Flux.using(table::openSnapshot,
+                    snapshot -> Flux.fromStream(table.scan(snapshot, condition).sorted(rowOrder).limit(limit))
+                            .map(row -> mapRowToEntity(row, table, type, metadata)),
+                    table::closeSnapshot);
+        });
+    }
+
+    @Override
+    public <P> Flux<P> findAll(@Nullable Condition condition, ProjectionMetadata projection, Class<P> resultType,
+                               TableMetadata metadata) {
+        return Flux.deferContextual(context -> {
+            MemoryTable table = table(context, metadata);
+            String[] columns = projection.getColumns();
+            Class<?>[] targetTypes = projection.getTargetTypes();
+            int[] ordinals = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                ordinals[i] = table.ordinal(columns[i]);
+            }
+            return Flux.using(table::openSnapshot,
+                    snapshot -> Flux.fromStream(table.scan(snapshot, condition))
+                            .map(row -> {
+                                Object[] values = new Object[ordinals.length];
+                                for (int i = 0; i < ordinals.length; i++) {
+                                    int ordinal = ordinals[i];
+                                    Object value = ordinal < 0 || ordinal >= row.length ? null : row[ordinal];
+                                    values[i] = MemoryValueUtil.coerce(value, targetTypes[i]);
+                                }
+                                return resultType.cast(projection.newInstance(values));
+                            }),
+                    table::closeSnapshot);
+        });
+    }
+
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, @Nullable Condition condition, RowVisitor visitor, TableMetadata metadata) {
+        return Mono.deferContextual(context -> Mono.fromCallable(
+                () -> MemoryRowView.scan(table(context, metadata), condition, visitor, metadata)));
+    }
+
+    @Override
+    public <T> Mono<Long> delete(Condition condition, Class<T> type, TableMetadata metadata) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> table(context, metadata).delete(condition)));
+    }
+
+    @Override
+    public <T> Mono<Long> deleteAll(Class<T> type, TableMetadata metadata) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> table(context, metadata).delete(null)));
+    }
+
+    private MemoryTable table(ContextView context, TableMetadata metadata) {
+        MemoryTransaction transaction = context.getOrDefault(store, null);
+        return transaction == null ? store.getOrCreate(metadata) : transaction.getOrCreate(metadata);
+    }
+
+    private <T> Object[] toRow(T object, MemoryTable table, TableMetadata metadata) {
+        for (String column : metadata.getGetterMap().keySet()) {
+            table.ordinalOrCreate(column);
+        }
+        Object[] row = new Object[table.columnCount()];
+        for (Map.Entry<String, Method> entry : metadata.getGetterMap().entrySet()) {
+            String columnName = entry.getKey();
+            Object value;
+            try {
+                value = entry.getValue().invoke(object);
+            } catch (Exception e) {
+                throw new RuntimeException("Error invoking getter", e);
+            }
+            if (value instanceof BlobHandle || value instanceof Publisher) {
+                throw new IllegalArgumentException("Streaming column '" + columnName + "' is not supported in memory, use byte[]");
+            }
+            if (value == null && columnName.equals(metadata.getIdColumn())) {
+                value = generateId(object, table, metadata);
+            }
+            row[table.ordinal(columnName)] = MemoryValueUtil.copy(value);
+        }
+        if (Arrays.stream(row).allMatch(value -> value == null)) {
+            throw new IllegalArgumentException("Cannot insert an object with all fields as null.");
+        }
+        return row;
+    }
+
+    @Nullable
+    private <T> Object generateId(T object, MemoryTable table, TableMetadata metadata) {
+        Method setter = metadata.getSetterMap().get(metadata.getIdColumn());
+        Class<?> parameterType = setter.getParameterTypes()[0];
+        if (!Number.class.isAssignableFrom(parameterType)) {
+            return null;
+        }
+        Object id = MemoryValueUtil.coerce(table.nextId(), parameterType);
+        try {
+            setter.invoke(object, id);
+        } catch (Exception e) {
+            throw new RuntimeException("Error setting generated id for entity: " + object.getClass().getName(), e);
+        }
+        return id;
+    }
+
+    /**
+     * Rejects {@link Update.Kind#EXPR} values up front, their SQL cannot be evaluated against the in-memory rows.
+     */
+    private static void checkUpdates(Object[] pairs) {
+        for (int i = 1; i < pairs.length; i += 2) {
+            if (pairs[i] instanceof Update update && update.getKind() == Update.Kind.EXPR) {
+                throw new IllegalArgumentException("Expression update of column " + update.getColumn()
+                        + " is not supported in memory, use set, inc or max");
+            }
+        }
+    }
+
+    private Object[] applyPairs(Object[] current, Object[] pairs, MemoryTable table) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            table.ordinalOrCreate((String) pairs[i]);
+        }
+        Object[] row = Arrays.copyOf(current, Math.max(current.length, table.columnCount()));
+        for (int i = 0; i < pairs.length; i += 2) {
+            int ordinal = table.ordinal((String) pairs[i]);
+            row[ordinal] = applyValue(row[ordinal], (String) pairs[i], pairs[i + 1]);
+        }
+        return row;
+    }
+
+    private static Object applyValue(Object current, String column, Object value) {
+        if (!(value instanceof Update update)) {
+            return MemoryValueUtil.copy(value);
+        }
+        if (!update.getColumn().equals(column)) {
+            throw new IllegalArgumentException("Update of " + update.getColumn() + " paired with column " + column);
+        }
+        Object operand = update.getValues().length == 0 ? null : update.getValues()[0];
+        return switch (update.getKind()) {
+            case SET -> MemoryValueUtil.copy(operand);
+            case INC -> current == null ? null : MemoryValueUtil.add(current, (Number) operand);
+            case MAX -> current == null || MemoryValueUtil.compare(current, operand) < 0
+                    ? MemoryValueUtil.copy(operand) : current;
+            case EXPR -> throw new IllegalArgumentException("Expression updates are not supported in memory");
+        };
+    }
+
+    private <T> T mapRowToEntity(Object[] row, MemoryTable table, Class<T> type, TableMetadata metadata) {
+        String[] columns = metadata.getColumns();
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            int ordinal = table.ordinal(columns[i]);
+            values[i] = ordinal >= 0 && ordinal < row.length ? row[ordinal] : null;
+        }
+        return RowMappingUtil.toEntity(values, type, metadata,
+                columnCodecs.computeIfAbsent(metadata, ReactiveMemoryTableOperations::columnCodecs));
+    }
+
+    private static ColumnCodec[] columnCodecs(TableMetadata metadata) {
+        Class<?>[] setterTypes = metadata.getSetterTypes();
+        ColumnCodec[] codecs = new ColumnCodec[setterTypes.length];
+        for (int i = 0; i < setterTypes.length; i++) {
+            codecs[i] = MemoryValueUtil.codec(setterTypes[i]);
+        }
+        return codecs;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import io.github.openfacade.table.spring.limit.AdaptiveLimit;
+import io.github.openfacade.table.spring.limit.Lane;
+import io.github.openfacade.table.spring.limit.LimitingTableOperations;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+public class LimitingTableOperationsTest {
+    @Test
+    void testLimitsArePerTableAndLane() {
+        TableFacadeProperties.Limiter properties = new TableFacadeProperties.Limiter();
+        properties.getBatch().setInitialLimit(2);
+        LimitingTableOperations operations = new LimitingTableOperations(
+                new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of())), properties);
+        TestMemoryEntity entity = new TestMemoryEntity();
+        entity.setId(1L);
+        entity.setVarcharStringField("Limited");
+
+        operations.insert(entity).block();
+        Long count = operations.findAll(TestMemoryEntity.class).count().contextWrite(Lane.BATCH::bind).block();
+        Assertions.assertEquals(1L, count);
+
+        List<AdaptiveLimit> limits = operations.getLimits().stream()
+                .sorted(Comparator.comparing(AdaptiveLimit::getLane))
+                .toList();
+        Assertions.assertEquals(2, limits.size());
+        Assertions.assertEquals("test_entity", limits.get(0).getTable());
+        Assertions.assertEquals(Lane.INTERACTIVE, limits.get(0).getLane());
+        Assertions.assertEquals(Lane.BATCH, limits.get(1).getLane());
+        Assertions.assertTrue(limits.get(1).getLimit() >= 2);
+        Assertions.assertEquals(0, limits.get(1).getInFlight());
+    }
+}
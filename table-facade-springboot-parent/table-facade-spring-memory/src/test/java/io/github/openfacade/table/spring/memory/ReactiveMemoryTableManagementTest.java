@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+public class ReactiveMemoryTableManagementTest {
+    private final MemoryTableStore store = new MemoryTableStore();
+
+    private final ReactiveMemoryTableOperations tableOperations = new ReactiveMemoryTableOperations(store);
+
+    private final ReactiveMemoryTableManagement tableManagement = new ReactiveMemoryTableManagement(store);
+
+    @Test
+    public void testExistsTable() {
+        tableOperations.findAll(TestMemoryEntity.class).blockLast();
+
+        tableManagement.existsTable("test_entity").as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+
+        tableManagement.dropTable("test_entity").block();
+
+        tableManagement.existsTable("test_entity").as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExistsTableNotExist() {
+        tableManagement.existsTable("notexisttable").as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testDropNotExistTableFail() {
+        tableManagement.dropTable("notexisttable").as(StepVerifier::create)
+                .expectError()
+                .verify();
+    }
+}
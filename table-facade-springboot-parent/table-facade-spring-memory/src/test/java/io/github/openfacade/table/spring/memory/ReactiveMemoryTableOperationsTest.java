@@ -0,0 +1,569 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.api.LogicalOperator;
+import io.github.openfacade.table.api.Update;
+import io.github.openfacade.table.api.UpdateResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ReactiveMemoryTableOperationsTest {
+    private MemoryTableStore store;
+
+    private ReactiveMemoryTableOperations reactiveTableOperations;
+
+    @BeforeEach
+    void beforeEach() {
+        store = new MemoryTableStore(Map.of("test_entity", List.of("int_field")));
+        reactiveTableOperations = new ReactiveMemoryTableOperations(store);
+    }
+
+    private static TestMemoryEntity entity(Long id, int intField, String varchar) {
+        TestMemoryEntity entity = new TestMemoryEntity();
+        entity.setId(id);
+        entity.setTinyintBooleanField(true);
+        entity.setBlobBytesField(varchar.getBytes(StandardCharsets.UTF_8));
+        entity.setVarcharStringField(varchar);
+        entity.setIntField(intField);
+        return entity;
+    }
+
+    @Test
+    void testInsertSuccess() {
+        TestMemoryEntity entityToInsert = entity(2L, 1, "Sample");
+        reactiveTableOperations.insert(entityToInsert).block();
+
+        // mutating the inserted entity must not leak into the store
+        entityToInsert.getBlobBytesField()[0] = 0;
+
+        List<TestMemoryEntity> entities = reactiveTableOperations.findAll(TestMemoryEntity.class).collectList().block();
+
+        Assertions.assertNotNull(entities);
+        Assertions.assertEquals(1, entities.size());
+        TestMemoryEntity retrievedEntity = entities.get(0);
+        Assertions.assertEquals(2L, retrievedEntity.getId());
+        Assertions.assertTrue(retrievedEntity.isTinyintBooleanField());
+        Assertions.assertArrayEquals("Sample".getBytes(StandardCharsets.UTF_8), retrievedEntity.getBlobBytesField());
+        Assertions.assertEquals("Sample", retrievedEntity.getVarcharStringField());
+
+        reactiveTableOperations.deleteAll(TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testInsertGeneratesId() {
+        reactiveTableOperations.insert(entity(10L, 1, "First")).block();
+        TestMemoryEntity inserted = reactiveTableOperations.insert(entity(null, 2, "Second")).block();
+
+        Assertions.assertNotNull(inserted);
+        Assertions.assertEquals(11L, inserted.getId());
+    }
+
+    @Test
+    void testInsertDuplicateFail() {
+        reactiveTableOperations.insert(entity(1L, 1, "First")).block();
+
+        reactiveTableOperations.insert(entity(1L, 2, "Second"))
+                .as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void testInsertOnDuplicateKeyUpdate() {
+        reactiveTableOperations.insertOnDuplicateKeyUpdate(entity(1L, 1, "First"), new Object[]{"int_field", 5}).block();
+        reactiveTableOperations.insertOnDuplicateKeyUpdate(entity(1L, 1, "First"), new Object[]{"int_field", 5}).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        reactiveTableOperations.find(condition, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .assertNext(entity -> {
+                    Assertions.assertEquals(5, entity.getIntField());
+                    Assertions.assertEquals("First", entity.getVarcharStringField());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateAndDelete() {
+        reactiveTableOperations.insert(entity(2L, 1, "Sample")).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 2);
+        Object[] pairs = {
+                "tinyint_boolean_field",
+                false,
+                "varchar_string_field",
+                "Updated Data",
+        };
+        reactiveTableOperations.update(condition, pairs, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNext(1L)
+                .verifyComplete();
+
+        reactiveTableOperations.find(condition, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .assertNext(entity -> {
+                    Assertions.assertFalse(entity.isTinyintBooleanField());
+                    Assertions.assertEquals("Updated Data", entity.getVarcharStringField());
+                })
+                .verifyComplete();
+
+        reactiveTableOperations.delete(condition, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNext(1L)
+                .verifyComplete();
+
+        reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateExpressions() {
+        reactiveTableOperations.insert(entity(1L, 3, "First")).block();
+        reactiveTableOperations.insert(entity(2L, 9, "Second")).block();
+
+        ComparisonCondition all = new ComparisonCondition("id", ComparisonOperator.GT, 0L);
+        Object[] pairs = Update.pairs(Update.inc("int_field", 2), Update.set("varchar_string_field", "Counted"));
+        reactiveTableOperations.update(all, pairs, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNext(2L)
+                .verifyComplete();
+        reactiveTableOperations.update(all, Update.pairs(Update.max("int_field", 8)), TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNext(2L)
+                .verifyComplete();
+
+        Assertions.assertEquals(List.of(8, 11), reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .map(TestMemoryEntity::getIntField).sort().collectList().block());
+        Object[] expression = Update.pairs(Update.expr("int_field", "int_field * 2"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> reactiveTableOperations.update(all, expression, TestMemoryEntity.class));
+    }
+
+    @Test
+    void testUpdatePrimaryKeyFail() {
+        reactiveTableOperations.insert(entity(2L, 1, "Sample")).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 2L);
+        reactiveTableOperations.update(condition, new Object[]{"id", 3L}, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testFindByCompositeCondition() {
+        reactiveTableOperations.insert(entity(3L, 1, "CompositeTest")).block();
+        reactiveTableOperations.insert(entity(4L, 2, "Other")).block();
+
+        CompositeCondition andCondition = CompositeCondition.builder()
+                .operator(LogicalOperator.AND)
+                .condition(new ComparisonCondition("id", ComparisonOperator.EQ, 3L))
+                .condition(new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "CompositeTest"))
+                .build();
+
+        reactiveTableOperations.find(andCondition, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .assertNext(entity -> Assertions.assertEquals(3L, entity.getId()))
+                .verifyComplete();
+
+        CompositeCondition orCondition = CompositeCondition.builder()
+                .operator(LogicalOperator.OR)
+                .condition(new ComparisonCondition("id", ComparisonOperator.EQ, 3L))
+                .condition(new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "Other"))
+                .build();
+
+        reactiveTableOperations.findAll(orCondition, TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByRange() {
+        Flux.range(1, 20)
+                .concatMap(i -> reactiveTableOperations.insert(entity((long) i, i % 5, "Range" + i)))
+                .blockLast();
+
+        CompositeCondition keyRange = CompositeCondition.builder()
+                .operator(LogicalOperator.AND)
+                .condition(new ComparisonCondition("id", ComparisonOperator.GT, 5L))
+                .condition(new ComparisonCondition("id", ComparisonOperator.LTE, 10L))
+                .build();
+
+        List<Long> ids = reactiveTableOperations.findAll(keyRange, TestMemoryEntity.class)
+                .map(TestMemoryEntity::getId)
+                .collectList()
+                .block();
+        Assertions.assertEquals(List.of(6L, 7L, 8L, 9L, 10L), ids);
+
+        CompositeCondition indexRange = CompositeCondition.builder()
+                .operator(LogicalOperator.AND)
+                .condition(new ComparisonCondition("int_field", ComparisonOperator.GTE, 3))
+                .condition(new ComparisonCondition("varchar_string_field", ComparisonOperator.NEQ, "Range3"))
+                .build();
+
+        List<Long> indexed = reactiveTableOperations.findAll(indexRange, TestMemoryEntity.class)
+                .map(TestMemoryEntity::getId)
+                .sort()
+                .collectList()
+                .block();
+        Assertions.assertEquals(List.of(4L, 8L, 9L, 13L, 14L, 18L, 19L), indexed);
+    }
+
+    @Test
+    void testIndexFollowsUpdates() {
+        reactiveTableOperations.insert(entity(1L, 1, "Indexed")).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        reactiveTableOperations.update(condition, new Object[]{"int_field", 7}, TestMemoryEntity.class).block();
+
+        reactiveTableOperations.findAll(new ComparisonCondition("int_field", ComparisonOperator.EQ, 1), TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .expectNextCount(0)
+                .verifyComplete();
+
+        reactiveTableOperations.findAll(new ComparisonCondition("int_field", ComparisonOperator.GT, 5), TestMemoryEntity.class)
+                .as(StepVerifier::create)
+                .assertNext(entity -> Assertions.assertEquals(1L, entity.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testScanVisitsRowsWithoutMapping() {
+        Flux.range(1, 10)
+                .concatMap(i -> reactiveTableOperations.insert(entity((long) i, i, "Visit" + i)))
+                .blockLast();
+
+        long[] sum = new long[1];
+        List<String> names = new ArrayList<>();
+        Long visited = reactiveTableOperations.scan(TestMemoryEntity.class,
+                new ComparisonCondition("int_field", ComparisonOperator.GT, 7), row -> {
+                    sum[0] += row.getLong("id");
+                    names.add(row.getString("varchar_string_field"));
+                    Assertions.assertTrue(row.getBoolean("tinyint_boolean_field"));
+                    Assertions.assertEquals(Integer.class, row.get("int_field").getClass());
+                }).block();
+
+        Assertions.assertEquals(3L, visited);
+        Assertions.assertEquals(27L, sum[0]);
+        Assertions.assertEquals(List.of("Visit8", "Visit9", "Visit10"), names);
+
+        Long all = reactiveTableOperations.scan(TestMemoryEntity.class, null, row -> {
+        }).block();
+        Assertions.assertEquals(10L, all);
+    }
+
+    public record IdAndName(Long id, String varcharStringField) {
+    }
+
+    @Test
+    void testFindAllProjection() {
+        reactiveTableOperations.insert(entity(1L, 1, "First")).block();
+        reactiveTableOperations.insert(entity(2L, 2, "Second")).block();
+
+        List<IdAndName> projected = reactiveTableOperations
+                .findAll(new ComparisonCondition("int_field", ComparisonOperator.GTE, 2), TestMemoryEntity.class, IdAndName.class)
+                .collectList()
+                .block();
+        Assertions.assertEquals(List.of(new IdAndName(2L, "Second")), projected);
+
+        List<TestMemoryEntity> partial = reactiveTableOperations
+                .findAll(null, TestMemoryEntity.class, List.of("id", "int_field"))
+                .collectList()
+                .block();
+        Assertions.assertEquals(2, partial.size());
+        Assertions.assertEquals(1, partial.get(0).getIntField());
+        Assertions.assertNull(partial.get(0).getBlobBytesField());
+        Assertions.assertNull(partial.get(0).getVarcharStringField());
+    }
+
+    @Test
+    void testFetchLazyColumns() {
+        Flux.range(1, 3)
+                .concatMap(i -> {
+                    TestLazyMemoryEntity entity = new TestLazyMemoryEntity();
+                    entity.setId((long) i);
+                    entity.setVarcharStringField("Lazy" + i);
+                    entity.setBlobBytesField(("Payload" + i).getBytes(StandardCharsets.UTF_8));
+                    return reactiveTableOperations.insert(entity);
+                })
+                .blockLast();
+
+        List<TestLazyMemoryEntity> entities = reactiveTableOperations.findAll(TestLazyMemoryEntity.class)
+                .collectList()
+                .block();
+        Assertions.assertEquals(3, entities.size());
+        Assertions.assertEquals("Lazy1", entities.get(0).getVarcharStringField());
+        Assertions.assertNull(entities.get(0).getBlobBytesField());
+
+        reactiveTableOperations.fetchLazyAll(entities.subList(0, 2)).block();
+        Assertions.assertArrayEquals("Payload1".getBytes(StandardCharsets.UTF_8), entities.get(0).getBlobBytesField());
+        Assertions.assertArrayEquals("Payload2".getBytes(StandardCharsets.UTF_8), entities.get(1).getBlobBytesField());
+        Assertions.assertNull(entities.get(2).getBlobBytesField());
+
+        TestLazyMemoryEntity last = reactiveTableOperations.fetchLazy(entities.get(2)).block();
+        Assertions.assertArrayEquals("Payload3".getBytes(StandardCharsets.UTF_8), last.getBlobBytesField());
+    }
+
+    @Test
+    void testCompressedValueRoundTrip() {
+        TestCompressedMemoryEntity entity = new TestCompressedMemoryEntity();
+        entity.setId(1L);
+        entity.setTextField(CompressedValue.of("First"));
+        entity.setBytesField("Payload".getBytes(StandardCharsets.UTF_8));
+        reactiveTableOperations.insert(entity).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        reactiveTableOperations.update(condition, new Object[]{"text_field", CompressedValue.of("Second")},
+                TestCompressedMemoryEntity.class).block();
+
+        TestCompressedMemoryEntity found = reactiveTableOperations.find(condition, TestCompressedMemoryEntity.class)
+                .block();
+        Assertions.assertEquals("Second", found.getTextField().get());
+        Assertions.assertArrayEquals("Payload".getBytes(StandardCharsets.UTF_8), found.getBytesField());
+    }
+
+    @Test
+    void testVersionedUpdate() {
+        TestVersionedMemoryEntity entity = new TestVersionedMemoryEntity();
+        entity.setId(1L);
+        entity.setVarcharStringField("First");
+        reactiveTableOperations.insert(entity).block();
+        Assertions.assertEquals(0L, entity.getVersion());
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        TestVersionedMemoryEntity stale = reactiveTableOperations.find(condition, TestVersionedMemoryEntity.class).block();
+
+        entity.setVarcharStringField("Second");
+        UpdateResult<TestVersionedMemoryEntity> result = reactiveTableOperations.update(entity).block();
+        Assertions.assertTrue(result.isApplied());
+        Assertions.assertEquals(1L, entity.getVersion());
+
+        stale.setVarcharStringField("Lost");
+        Assertions.assertTrue(reactiveTableOperations.update(stale).block().isConflict());
+        Assertions.assertEquals(0L, stale.getVersion());
+
+        reactiveTableOperations.update(condition, new Object[]{"varchar_string_field", "Third"},
+                        TestVersionedMemoryEntity.class).block();
+        TestVersionedMemoryEntity current = reactiveTableOperations.find(condition, TestVersionedMemoryEntity.class)
+                .block();
+        Assertions.assertEquals("Third", current.getVarcharStringField());
+        Assertions.assertEquals(2L, current.getVersion());
+
+        List<UpdateResult<TestVersionedMemoryEntity>> results =
+                reactiveTableOperations.updateAll(List.of(entity, current)).block();
+        Assertions.assertTrue(results.get(0).isConflict());
+        Assertions.assertTrue(results.get(1).isApplied());
+        Assertions.assertEquals(3L, current.getVersion());
+    }
+
+    @Test
+    void testClaimTakesEachRowOnce() {
+        Flux.range(1, 5)
+                .concatMap(i -> reactiveTableOperations.insert(entity((long) i, 0, "Job" + i)))
+                .blockLast();
+
+        ComparisonCondition pending = new ComparisonCondition("int_field", ComparisonOperator.EQ, 0);
+        Object[] claimUpdate = {"int_field", 1};
+        List<TestMemoryEntity> first = reactiveTableOperations.claim(TestMemoryEntity.class, pending, 3, claimUpdate)
+                .collectList()
+                .block();
+        Assertions.assertEquals(3, first.size());
+        Assertions.assertTrue(first.stream().allMatch(entity -> entity.getIntField() == 1));
+
+        List<TestMemoryEntity> second = Flux.merge(
+                        reactiveTableOperations.claim(TestMemoryEntity.class, pending, 3, claimUpdate)
+                                .subscribeOn(Schedulers.parallel()),
+                        reactiveTableOperations.claim(TestMemoryEntity.class, pending, 3, claimUpdate)
+                                .subscribeOn(Schedulers.parallel()))
+                .collectList()
+                .block();
+        Assertions.assertEquals(2, second.size());
+        Assertions.assertNotEquals(second.get(0).getId(), second.get(1).getId());
+
+        reactiveTableOperations.claim(TestMemoryEntity.class, pending, 3, claimUpdate)
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @Test
+    void testInTransactionRunsWork() {
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        reactiveTableOperations.inTransaction(ops -> ops.insert(entity(1L, 1, "First"))
+                        .then(ops.find(condition, TestMemoryEntity.class)))
+                .map(TestMemoryEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("First")
+                .verifyComplete();
+    }
+
+    @Test
+    void testInTransactionRollsBackOnError() {
+        reactiveTableOperations.insert(entity(1L, 1, "First")).block();
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+
+        reactiveTableOperations.inTransaction(ops -> ops.insert(entity(2L, 2, "Second"))
+                        .then(ops.update(condition, new Object[]{"varchar_string_field", "Updated"},
+                                TestMemoryEntity.class))
+                        .then(Mono.error(new IllegalStateException("abort"))))
+                .as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .map(TestMemoryEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("First")
+                .verifyComplete();
+    }
+
+    @Test
+    void testInTransactionFailsWhenRowChangedConcurrently() {
+        reactiveTableOperations.insert(entity(1L, 1, "First")).block();
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        Sinks.Empty<Void> changed = Sinks.empty();
+
+        Flux<Long> transaction = reactiveTableOperations.inTransaction(ops -> ops.find(condition, TestMemoryEntity.class)
+                .then(changed.asMono())
+                .then(ops.update(condition, new Object[]{"varchar_string_field", "Transaction"},
+                        TestMemoryEntity.class)));
+
+        StepVerifier.create(transaction)
+                .then(() -> {
+                    reactiveTableOperations.update(condition, new Object[]{"varchar_string_field", "Outside"},
+                            TestMemoryEntity.class).block();
+                    changed.tryEmitEmpty();
+                })
+                .expectNext(1L)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .map(TestMemoryEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("Outside")
+                .verifyComplete();
+    }
+
+    @Test
+    void testBatchIsAllOrNothing() {
+        reactiveTableOperations.insert(entity(1L, 1, "First")).block();
+
+        reactiveTableOperations.batch()
+                .insert(entity(2L, 2, "Second"))
+                .insert(entity(1L, 1, "Duplicate"))
+                .execute()
+                .as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .map(TestMemoryEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("First")
+                .verifyComplete();
+    }
+
+    @Test
+    void testBatchExecutesStatementsInOrder() {
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        reactiveTableOperations.batch()
+                .insert(entity(1L, 1, "First"))
+                .insert(entity(2L, 2, "Second"))
+                .update(condition, new Object[]{"varchar_string_field", "Updated"}, TestMemoryEntity.class)
+                .delete(new ComparisonCondition("id", ComparisonOperator.EQ, 2L), TestMemoryEntity.class)
+                .execute()
+                .as(StepVerifier::create)
+                .expectNext(List.of(1L, 1L, 1L, 1L))
+                .verifyComplete();
+
+        reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .map(TestMemoryEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("Updated")
+                .verifyComplete();
+    }
+
+    @Test
+    void testScanIsSnapshotConsistent() {
+        Flux.range(1, 10)
+                .concatMap(i -> reactiveTableOperations.insert(entity((long) i, i, "Snapshot")))
+                .blockLast();
+
+        // rows written or deleted while the scan is in flight are not observed by it
+        StepVerifier.create(reactiveTableOperations.findAll(TestMemoryEntity.class), 1)
+                .assertNext(entity -> {
+                    Assertions.assertEquals(1L, entity.getId());
+                    reactiveTableOperations.deleteAll(TestMemoryEntity.class).block();
+                    reactiveTableOperations.insert(entity(11L, 11, "Snapshot")).block();
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(9)
+                .verifyComplete();
+
+        reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .map(TestMemoryEntity::getId)
+                .as(StepVerifier::create)
+                .expectNext(11L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testConcurrentWrites() {
+        Flux.range(1, 1000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> reactiveTableOperations.insert(entity((long) i, i % 10, "Concurrent")))
+                .sequential()
+                .blockLast();
+
+        Flux.range(0, 10)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> reactiveTableOperations.update(new ComparisonCondition("int_field", ComparisonOperator.EQ, i),
+                        new Object[]{"varchar_string_field", "Updated"}, TestMemoryEntity.class))
+                .sequential()
+                .blockLast();
+
+        Map<String, Long> counts = reactiveTableOperations.findAll(TestMemoryEntity.class)
+                .collect(Collectors.groupingBy(TestMemoryEntity::getVarcharStringField, Collectors.counting()))
+                .block();
+        Assertions.assertEquals(Map.of("Updated", 1000L), counts);
+    }
+}
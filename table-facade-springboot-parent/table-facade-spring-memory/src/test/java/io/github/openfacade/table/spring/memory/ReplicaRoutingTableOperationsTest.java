@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.spring.routing.DelegatingReactiveTableOperations;
+import io.github.openfacade.table.spring.routing.HedgePolicy;
+import io.github.openfacade.table.spring.routing.ReadYourWritesSession;
+import io.github.openfacade.table.spring.routing.ReplicaRoutingTableOperations;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ReplicaRoutingTableOperationsTest {
+    private static final ComparisonCondition CONDITION = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+
+    private ReactiveMemoryTableOperations primary;
+
+    private ReactiveMemoryTableOperations replica;
+
+    @BeforeEach
+    void beforeEach() {
+        // two independent stores stand in for a primary and a replica that has not caught up yet
+        primary = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+        replica = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+    }
+
+    private static TestMemoryEntity entity(Long id, String varchar) {
+        TestMemoryEntity entity = new TestMemoryEntity();
+        entity.setId(id);
+        entity.setVarcharStringField(varchar);
+        return entity;
+    }
+
+    @Test
+    void testReadsGoToReplicaAndWritesToPrimary() {
+        ReplicaRoutingTableOperations routing = new ReplicaRoutingTableOperations(primary, List.of(replica),
+                Duration.ofSeconds(1), Duration.ofSeconds(10));
+        routing.insert(entity(1L, "Primary")).block();
+        replica.insert(entity(1L, "Replica")).block();
+
+        Assertions.assertEquals("Primary", primary.find(CONDITION, TestMemoryEntity.class).block()
+                .getVarcharStringField());
+        Assertions.assertEquals("Replica", routing.find(CONDITION, TestMemoryEntity.class).block()
+                .getVarcharStringField());
+        Assertions.assertEquals(1, routing.getReplicaReads());
+    }
+
+    @Test
+    void testSessionReadsItsWritesFromPrimary() {
+        ReplicaRoutingTableOperations routing = new ReplicaRoutingTableOperations(primary, List.of(replica),
+                Duration.ofSeconds(30), Duration.ofSeconds(10));
+        ReadYourWritesSession session = new ReadYourWritesSession();
+
+        TestMemoryEntity found = routing.insert(entity(1L, "Written"))
+                .then(routing.find(CONDITION, TestMemoryEntity.class))
+                .contextWrite(session::bind)
+                .block();
+        Assertions.assertNotNull(found);
+        Assertions.assertEquals("Written", found.getVarcharStringField());
+
+        // without the session the same read is served by the lagging replica
+        Assertions.assertNull(routing.find(CONDITION, TestMemoryEntity.class).block());
+    }
+
+    @Test
+    void testFailingReplicaFallsBackToPrimary() {
+        ReplicaRoutingTableOperations routing = new ReplicaRoutingTableOperations(primary,
+                List.of(new UnavailableReplica(), replica), Duration.ofSeconds(1), Duration.ofMinutes(1));
+        primary.insert(entity(1L, "Primary")).block();
+        replica.insert(entity(1L, "Replica")).block();
+
+        List<String> values = Flux.range(0, 4)
+                .concatMap(i -> routing.find(CONDITION, TestMemoryEntity.class))
+                .map(TestMemoryEntity::getVarcharStringField)
+                .collectList()
+                .block();
+        // the first read fails on the unavailable replica and is retried on the primary, which skips it from then on
+        Assertions.assertEquals(List.of("Primary", "Replica", "Replica", "Replica"), values);
+        Assertions.assertEquals(1, routing.getPrimaryReads());
+    }
+
+    @Test
+    void testSlowReplicaReadIsHedged() {
+        SlowReplica slow = new SlowReplica(replica);
+        ReactiveMemoryTableOperations fast = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+        ReplicaRoutingTableOperations routing = new ReplicaRoutingTableOperations(primary, List.of(slow, fast),
+                Duration.ofSeconds(1), Duration.ofSeconds(10));
+        HedgePolicy hedgePolicy = new HedgePolicy(0.5, 1.0, Duration.ofMillis(1));
+        routing.setHedgePolicy(hedgePolicy);
+        replica.insert(entity(1L, "Slow")).block();
+        fast.insert(entity(1L, "Fast")).block();
+
+        // learn the usual latency of the table first
+        Flux.range(0, 64).concatMap(i -> routing.find(CONDITION, TestMemoryEntity.class)).blockLast();
+
+        slow.delay = Duration.ofSeconds(30);
+        List<String> values = Flux.range(0, 4)
+                .concatMap(i -> routing.find(CONDITION, TestMemoryEntity.class))
+                .map(TestMemoryEntity::getVarcharStringField)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        Assertions.assertEquals(List.of("Fast", "Fast", "Fast", "Fast"), values);
+        Assertions.assertTrue(hedgePolicy.getHedgesWon() >= 1);
+        Assertions.assertTrue(hedgePolicy.getHedgesIssued() >= hedgePolicy.getHedgesWon());
+    }
+
+    @Test
+    void testFetchLazyIsNeverHedged() {
+        primary.insert(lazyEntity("Primary")).block();
+        replica.insert(lazyEntity("Slow")).block();
+        ReactiveMemoryTableOperations other = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+        other.insert(lazyEntity("Other")).block();
+        SlowReplica slow = new SlowReplica(replica);
+        SlowReplica otherSlow = new SlowReplica(other);
+        ReplicaRoutingTableOperations routing = new ReplicaRoutingTableOperations(primary,
+                List.of(slow, otherSlow), Duration.ofSeconds(1), Duration.ofSeconds(10));
+        HedgePolicy hedgePolicy = new HedgePolicy(0.5, 1.0, Duration.ofMillis(1));
+        routing.setHedgePolicy(hedgePolicy);
+        Flux.range(0, 64).concatMap(i -> routing.find(CONDITION, TestLazyMemoryEntity.class)).blockLast();
+        long issued = hedgePolicy.getHedgesIssued();
+
+        // both replicas are slow, a hedge would start a second attempt writing into the same entities meanwhile
+        slow.delay = Duration.ofMillis(200);
+        otherSlow.delay = Duration.ofMillis(200);
+        slow.reads.set(0);
+        otherSlow.reads.set(0);
+        TestLazyMemoryEntity entity = lazyEntity(null);
+        List<TestLazyMemoryEntity> entities = List.of(lazyEntity(null), lazyEntity(null));
+        Mono.when(routing.fetchLazy(entity), routing.fetchLazyAll(entities)).block(Duration.ofSeconds(10));
+
+        Assertions.assertEquals(2, slow.reads.get() + otherSlow.reads.get());
+        Assertions.assertEquals(issued, hedgePolicy.getHedgesIssued());
+        String fetched = new String(entity.getBlobBytesField(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(fetched.equals("Slow") || fetched.equals("Other"), fetched);
+        String first = new String(entities.get(0).getBlobBytesField(), StandardCharsets.UTF_8);
+        Assertions.assertEquals(first, new String(entities.get(1).getBlobBytesField(), StandardCharsets.UTF_8));
+    }
+
+    private static TestLazyMemoryEntity lazyEntity(String blob) {
+        TestLazyMemoryEntity entity = new TestLazyMemoryEntity();
+        entity.setId(1L);
+        if (blob != null) {
+            entity.setBlobBytesField(blob.getBytes(StandardCharsets.UTF_8));
+        }
+        return entity;
+    }
+
+    private static class SlowReplica extends DelegatingReactiveTableOperations {
+        private final ReactiveTableOperations delegate;
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private volatile Duration delay = Duration.ZERO;
+
+        SlowReplica(ReactiveTableOperations delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected <R> Mono<R> read(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+            reads.incrementAndGet();
+            return Mono.delay(delay).then(Mono.defer(() -> operation.apply(delegate)));
+        }
+
+        @Override
+        protected <R> Flux<R> readMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+            return Mono.delay(delay).thenMany(operation.apply(delegate));
+        }
+
+        @Override
+        protected <R> Mono<R> write(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+            return operation.apply(delegate);
+        }
+
+        @Override
+        protected <R> Flux<R> writeMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+            return operation.apply(delegate);
+        }
+    }
+
+    private static class UnavailableReplica extends DelegatingReactiveTableOperations {
+        @Override
+        protected <R> Mono<R> read(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+            return Mono.error(new DataAccessResourceFailureException("Connection refused"));
+        }
+
+        @Override
+        protected <R> Flux<R> readMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+            return Flux.error(new DataAccessResourceFailureException("Connection refused"));
+        }
+
+        @Override
+        protected <R> Mono<R> write(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+            return Mono.error(new DataAccessResourceFailureException("Connection refused"));
+        }
+
+        @Override
+        protected <R> Flux<R> writeMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+            return Flux.error(new DataAccessResourceFailureException("Connection refused"));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.reactive.api.ReactiveTableManagement;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.spring.routing.RangeShardFunction;
+import io.github.openfacade.table.spring.routing.ShardingTableManagement;
+import io.github.openfacade.table.spring.routing.ShardingTableOperations;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+public class ShardingTableOperationsTest {
+    private List<MemoryTableStore> stores;
+
+    private List<ReactiveMemoryTableOperations> shards;
+
+    private ShardingTableOperations sharding;
+
+    @BeforeEach
+    void beforeEach() {
+        // tenants below 10 live on the first shard, below 20 on the second, the others on the third
+        stores = List.of(new MemoryTableStore(Map.of()), new MemoryTableStore(Map.of()),
+                new MemoryTableStore(Map.of()));
+        shards = stores.stream().map(ReactiveMemoryTableOperations::new).toList();
+        sharding = new ShardingTableOperations(List.copyOf(shards), new RangeShardFunction(List.of(10L, 20L)));
+    }
+
+    private static TestShardedMemoryEntity entity(Long id, Long tenantId, String varchar) {
+        TestShardedMemoryEntity entity = new TestShardedMemoryEntity();
+        entity.setId(id);
+        entity.setTenantId(tenantId);
+        entity.setVarcharStringField(varchar);
+        return entity;
+    }
+
+    private static long count(ReactiveTableOperations shard) {
+        Long count = shard.findAll(TestShardedMemoryEntity.class).count().block();
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    void testEntitiesAreRoutedByShardKey() {
+        Flux.range(0, 30)
+                .concatMap(i -> sharding.insert(entity((long) i, (long) i, "Row" + i)))
+                .blockLast();
+        Assertions.assertEquals(10, count(shards.get(0)));
+        Assertions.assertEquals(10, count(shards.get(1)));
+        Assertions.assertEquals(10, count(shards.get(2)));
+
+        ComparisonCondition tenant = new ComparisonCondition("tenant_id", ComparisonOperator.EQ, 15L);
+        TestShardedMemoryEntity found = sharding.find(tenant, TestShardedMemoryEntity.class).block();
+        Assertions.assertNotNull(found);
+        Assertions.assertEquals(15L, found.getId());
+        Assertions.assertEquals(30, sharding.findAll(TestShardedMemoryEntity.class).count().block());
+
+        ComparisonCondition ids = new ComparisonCondition("id", ComparisonOperator.GTE, 25L);
+        Assertions.assertEquals(5, sharding.delete(ids, TestShardedMemoryEntity.class).block());
+        Assertions.assertEquals(5, count(shards.get(2)));
+    }
+
+    @Test
+    void testOrderedFindAllMergesShards() {
+        Flux.range(0, 30)
+                .concatMap(i -> sharding.insert(entity((long) (29 - i), (long) i, "Row" + i)))
+                .blockLast();
+        ReactiveTableOperations operations = sharding;
+        List<Long> ids = operations.findAll(null, TestShardedMemoryEntity.class, Sort.asc("id"), 4)
+                .map(TestShardedMemoryEntity::getId)
+                .collectList()
+                .block();
+        Assertions.assertEquals(List.of(0L, 1L, 2L, 3L), ids);
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.LT, 20L);
+        List<Long> descending = operations.findAll(condition, TestShardedMemoryEntity.class, Sort.desc("id"), 3)
+                .map(TestShardedMemoryEntity::getId)
+                .collectList()
+                .block();
+        Assertions.assertEquals(List.of(19L, 18L, 17L), descending);
+        // the limit is applied by each shard, not only to the merged rows
+        for (ReactiveTableOperations shard : shards) {
+            Assertions.assertEquals(3, shard.findAll(null, TestShardedMemoryEntity.class, Sort.desc("id"), 3)
+                    .count().block());
+        }
+    }
+
+    @Test
+    void testBatchIsSplitPerShard() {
+        ComparisonCondition all = new ComparisonCondition("id", ComparisonOperator.GTE, 0L);
+        List<Long> counts = sharding.batch()
+                .insert(entity(1L, 1L, "First"))
+                .insert(entity(2L, 12L, "Second"))
+                .insert(entity(3L, 25L, "Third"))
+                .update(all, new Object[]{"varchar_string_field", "Updated"}, TestShardedMemoryEntity.class)
+                .execute()
+                .block();
+        Assertions.assertEquals(List.of(1L, 1L, 1L, 3L), counts);
+        Assertions.assertEquals(1, count(shards.get(0)));
+        Assertions.assertEquals(1, count(shards.get(1)));
+        Assertions.assertEquals(1, count(shards.get(2)));
+    }
+
+    @Test
+    void testShardOfKey() {
+        sharding.insert(entity(1L, 15L, "Second")).block();
+        Assertions.assertSame(shards.get(1), sharding.shard(15L));
+        Assertions.assertSame(shards.get(2), sharding.shard(25));
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        Assertions.assertNotNull(sharding.shard(15L).find(condition, TestShardedMemoryEntity.class).block());
+    }
+
+    @Test
+    void testTransactionRunsOnTheShardOfItsKey() {
+        ReactiveTableOperations operations = sharding;
+        operations.inTransaction(ops -> ops.insert(entity(1L, 15L, "Second")))
+                .contextWrite(ShardingTableOperations.withShardKey(15L))
+                .blockLast();
+        Assertions.assertEquals(0, count(shards.get(0)));
+        Assertions.assertEquals(1, count(shards.get(1)));
+
+        // without a key the shard of the transaction is unknown
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> operations.inTransaction(ops -> ops.insert(entity(2L, 5L, "First"))).blockLast());
+        Assertions.assertEquals(0, count(shards.get(0)));
+    }
+
+    @Test
+    void testTablesAreManagedOnEveryShard() {
+        ShardingTableManagement management = new ShardingTableManagement(
+                stores.stream().<ReactiveTableManagement>map(ReactiveMemoryTableManagement::new).toList());
+        sharding.insert(entity(1L, 5L, "First")).block();
+        Assertions.assertEquals(Boolean.FALSE, management.existsTable("test_sharded_entity").block());
+
+        sharding.insert(entity(2L, 15L, "Second")).block();
+        sharding.insert(entity(3L, 25L, "Third")).block();
+        Assertions.assertEquals(Boolean.TRUE, management.existsTable("test_sharded_entity").block());
+
+        management.dropTable("test_sharded_entity").block();
+        for (MemoryTableStore store : stores) {
+            Assertions.assertFalse(store.existsTable("test_sharded_entity"));
+        }
+    }
+
+    @Test
+    void testShardKeyCannotBeUpdated() {
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sharding.update(condition,
+                new Object[]{"tenant_id", 5L}, TestShardedMemoryEntity.class));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.memory;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.TableMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TableMetricsTest {
+    @Test
+    void testOperationsAreRecordedWithRowsAndBytes() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ReactiveMemoryTableOperations operations = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+        operations.setMetrics(metrics);
+
+        for (long id = 1; id <= 2; id++) {
+            TestMemoryEntity entity = new TestMemoryEntity();
+            entity.setId(id);
+            entity.setVarcharStringField("Metered");
+            entity.setBlobBytesField(new byte[3]);
+            operations.insert(entity).block();
+        }
+        Assertions.assertEquals(2, operations.findAll(TestMemoryEntity.class).count().block());
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        operations.update(condition, new Object[]{"varchar_string_field", "Changed"}, TestMemoryEntity.class).block();
+
+        Assertions.assertEquals(List.of("insert", "insert", "findAll", "update"), metrics.operations);
+        Assertions.assertEquals(2L, metrics.counter("read").get());
+        Assertions.assertEquals(3L, metrics.counter("written").get());
+        Assertions.assertEquals(2 * (7 + 3) + 7, metrics.counter("bytes").get());
+    }
+
+    @Test
+    void testCancelledReadsAndBatchesAreRecorded() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ReactiveMemoryTableOperations operations = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+        operations.setMetrics(metrics);
+        for (long id = 1; id <= 3; id++) {
+            operations.insert(entity(id)).block();
+        }
+
+        Mono<TestMemoryEntity> notSubscribed = operations.insert(entity(4));
+        Assertions.assertEquals(3 * 7, metrics.counter("bytes").get());
+        Assertions.assertEquals(1, operations.findAll(TestMemoryEntity.class).take(1).count().block());
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        operations.batch().insert(entity(5)).delete(condition, TestMemoryEntity.class).execute().block();
+
+        Assertions.assertEquals(List.of("insert", "insert", "insert", "findAll", "batch"), metrics.operations);
+        Assertions.assertEquals(1L, metrics.counter("read").get());
+        Assertions.assertEquals(3L + 2L, metrics.counter("written").get());
+        Assertions.assertEquals(4 * 7, metrics.counter("bytes").get());
+        Assertions.assertNotNull(notSubscribed);
+    }
+
+    private static TestMemoryEntity entity(long id) {
+        TestMemoryEntity entity = new TestMemoryEntity();
+        entity.setId(id);
+        entity.setVarcharStringField("Metered");
+        return entity;
+    }
+
+    @Test
+    void testDisabledMetricsLeavePublishersUnwrapped() {
+        ReactiveMemoryTableOperations operations = new ReactiveMemoryTableOperations(new MemoryTableStore(Map.of()));
+        Assertions.assertSame(TableMetrics.NOOP, operations.getMetrics());
+        Assertions.assertEquals(0, operations.findAll(TestMemoryEntity.class).count().block());
+    }
+
+    private static class RecordingMetrics implements TableMetrics {
+        private final List<String> operations = new CopyOnWriteArrayList<>();
+
+        private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+        AtomicLong counter(String name) {
+            return counters.computeIfAbsent(name, key -> new AtomicLong());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void recordOperation(String operation, String table, long nanos, Throwable error) {
+            Assertions.assertEquals("test_entity", table);
+            Assertions.assertNull(error);
+            operations.add(operation);
+        }
+
+        @Override
+        public void recordMapping(String table, long nanos) {
+        }
+
+        @Override
+        public void recordRowsRead(String table, long rows) {
+            counter("read").addAndGet(rows);
+        }
+
+        @Override
+        public void recordRowsWritten(String table, long rows) {
+            counter("written").addAndGet(rows);
+        }
+
+        @Override
+        public void recordBytesBound(String table, long bytes) {
+            counter("bytes").addAndGet(bytes);
+        }
+    }
+}
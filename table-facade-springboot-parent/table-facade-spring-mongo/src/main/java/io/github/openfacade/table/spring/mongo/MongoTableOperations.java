@@ -16,6 +16,8 @@
 
 package io.github.openfacade.table.spring.mongo;
 
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
 import io.github.openfacade.table.api.TableException;
 import io.github.openfacade.table.api.TableOperations;
 
@@ -34,4 +36,9 @@ public class MongoTableOperations implements TableOperations {
     public Long count(String tableName) throws TableException {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public <T> Long scan(Class<T> type, Condition condition, RowVisitor visitor) throws TableException {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -17,11 +17,19 @@
 package io.github.openfacade.table.spring.reactive.mongo;
 
 import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import io.github.openfacade.table.spring.core.ProjectionMetadata;
 import io.github.openfacade.table.spring.core.ReactiveBaseTableOperations;
 import io.github.openfacade.table.spring.core.TableMetadata;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Function;
+
 public class ReactiveMongoTableOperations extends ReactiveBaseTableOperations {
     @Override
     public <T> Mono<T> insert(T object, TableMetadata metadata) {
@@ -33,6 +41,17 @@ public class ReactiveMongoTableOperations extends ReactiveBaseTableOperations {
         return null;
     }
 
+    @Override
+    public <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] pairs, TableMetadata metadata) {
+        return null;
+    }
+
+    @Override
+    public <R> Flux<R> inTransaction(TransactionOptions options,
+                                     Function<ReactiveTableOperations, Publisher<R>> work) {
+        return null;
+    }
+
     @Override
     public <T> Mono<T> find(Condition condition, Class<T> type, TableMetadata metadata) {
         return null;
@@ -48,6 +67,17 @@ public class ReactiveMongoTableOperations extends ReactiveBaseTableOperations {
         return null;
     }
 
+    @Override
+    public <P> Flux<P> findAll(Condition condition, ProjectionMetadata projection, Class<P> resultType,
+                               TableMetadata metadata) {
+        return null;
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, Sort sort, int limit, TableMetadata metadata) {
+        return null;
+    }
+
     @Override
     public <T> Mono<Long> delete(Condition condition, Class<T> type, TableMetadata metadata) {
         return null;
@@ -57,4 +87,9 @@ public class ReactiveMongoTableOperations extends ReactiveBaseTableOperations {
     public <T> Mono<Long> deleteAll(Class<T> type, TableMetadata metadata) {
         return null;
     }
+
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor, TableMetadata metadata) {
+        return null;
+    }
 }
@@ -16,293 +16,79 @@
 
 package io.github.openfacade.table.spring.reactive.mysql;
 
-import io.github.openfacade.table.api.ComparisonCondition;
-import io.github.openfacade.table.api.CompositeCondition;
-import io.github.openfacade.table.api.Condition;
-import io.github.openfacade.table.api.LogicalOperator;
-import io.github.openfacade.table.spring.core.ReactiveBaseTableOperations;
+import io.github.openfacade.table.spring.core.ReactiveSqlTableOperations;
 import io.github.openfacade.table.spring.core.TableMetadata;
 import io.github.openfacade.table.spring.util.TableMetadataUtil;
-import io.r2dbc.spi.Row;
-import lombok.RequiredArgsConstructor;
-import org.jetbrains.annotations.Nullable;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.lang.reflect.Method;
-import java.util.AbstractMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Service
-@RequiredArgsConstructor
-public class ReactiveMysqlTableOperations extends ReactiveBaseTableOperations {
-    private final DatabaseClient databaseClient;
+public class ReactiveMysqlTableOperations extends ReactiveSqlTableOperations {
+    public ReactiveMysqlTableOperations(DatabaseClient databaseClient) {
+        super(databaseClient);
+    }
 
     public <T> Mono<T> insertOnDuplicateKeyUpdate(T object, Object[] pairs) {
         Class<?> type = object.getClass();
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
 
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-
-        Map<String, Object> parameters = metadata.getGetterMap().entrySet().stream()
-                .map(entry -> {
-                    try {
-                        return new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().invoke(object));
-                    } catch (Exception e) {
-                        throw new RuntimeException("Error invoking getter", e);
-                    }
-                })
-                .filter(entry -> entry.getValue() != null) // Filter out null values
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        if (parameters.isEmpty()) {
+        Map<String, Object> values = columnValues(object, metadata);
+        if (values.isEmpty()) {
             throw new IllegalArgumentException("Cannot insert an object with all fields as null.");
         }
-
-        List<String> columns = parameters.keySet().stream().toList();
-        List<String> escapedColumns =
-                columns.stream().map(identifier -> MysqlUtil.quoteIdentifier(identifier)).collect(Collectors.toList());
-        String placeholders = columns.stream().map(col -> "?").collect(Collectors.joining(", "));
-
         if (pairs.length % 2 != 0) {
             throw new IllegalArgumentException("Pairs must contain an even number of elements (key-value pairs).");
         }
 
-        String onDuplicateKeyUpdateClause = IntStream.range(0, pairs.length / 2)
-                .mapToObj(i -> MysqlUtil.quoteIdentifier((String) pairs[2 * i]) + " = ?")
-                .collect(Collectors.joining(", "));
-
-        String query = String.format(
-                "INSERT INTO %s (%s) VALUES (%s) ON DUPLICATE KEY UPDATE %s",
-                tableName,
-                String.join(", ", escapedColumns),
-                placeholders,
-                onDuplicateKeyUpdateClause
-        );
-
-        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query);
-
-        int index = 0;
-        for (String column : columns) {
-            spec = spec.bind(index++, parameters.get(column));
+        List<Object> binds = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            binds.add(bindValue(metadata, entry.getKey(), entry.getValue()));
+            types.add(bindType(metadata, entry.getKey()));
         }
+        StringBuilder query = new StringBuilder(insertQuery(metadata, values.keySet()))
+                .append(" ON DUPLICATE KEY UPDATE ");
+        setClause(metadata, pairs, query, binds, types);
 
-        for (int i = 1; i < pairs.length; i += 2) {
-            spec = spec.bind(index++, pairs[i]);
-        }
-
-        return spec.fetch().rowsUpdated().thenReturn(object);
+        DatabaseClient.GenericExecuteSpec spec = bindAll(databaseClient.sql(query.toString()), binds, types);
+        return executed("insertOnDuplicateKeyUpdate", metadata, query.toString(), binds.size(), count -> count,
+                spec.fetch().rowsUpdated()).thenReturn(object);
     }
 
     @Override
-    public <T> Mono<T> insert(T object, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-
-        Map<String, Object> parameters = metadata.getGetterMap().entrySet().stream()
-                .map(entry -> {
-                    try {
-                        return new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().invoke(object));
-                    } catch (Exception e) {
-                        throw new RuntimeException("Error invoking getter", e);
-                    }
-                })
-                .filter(entry -> entry.getValue() != null) // Filter out null values
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        if (parameters.isEmpty()) {
-            throw new IllegalArgumentException("Cannot insert an object with all fields as null.");
-        }
-
-        List<String> columns = parameters.keySet().stream().toList();
-
-        List<String> escapedColumns = columns.stream().map(identifier -> MysqlUtil.quoteIdentifier(identifier))
-                .collect(Collectors.toList());
-
-        String placeholders = columns.stream()
-                .map(col -> "?")
-                .collect(Collectors.joining(", "));
-
-        String query = String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, String.join(", ", escapedColumns), placeholders);
-
-        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query);
-        for (int i = 0; i < columns.size(); i++) {
-            spec = spec.bind(i, parameters.get(columns.get(i)));
-        }
-        return spec.fetch().rowsUpdated().thenReturn(object);
+    protected String quoteIdentifier(String identifier) {
+        return MysqlUtil.quoteIdentifier(identifier);
     }
 
     @Override
-    public <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-        if (pairs.length % 2 != 0) {
-            throw new IllegalArgumentException("Pairs must be an even number.");
-        }
-
-        String setClause = IntStream.range(0, pairs.length / 2)
-                .mapToObj(i -> MysqlUtil.quoteIdentifier((String) pairs[2 * i]) + " = ?")
-                .collect(Collectors.joining(", "));
-
-        StringBuilder conditionBuilder = new StringBuilder();
-        condition(condition, conditionBuilder);
-
-        String query = "UPDATE " + tableName + " SET " + setClause + " WHERE " + conditionBuilder;
-
-        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query);
-        for (int i = 1; i < pairs.length; i += 2) {
-            spec = spec.bind(i / 2, pairs[i]);
+    protected String stringLiteral(String value) {
+        if (value.indexOf('\\') < 0) {
+            return "'" + value.replace("'", "''") + "'";
         }
-
-        return spec.fetch().rowsUpdated().map(Long::valueOf);
-    }
-
-    @Override
-    public <T> Mono<T> find(Condition condition, Class<T> type, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-        List<String> escapedColumns = metadata.getSetterMap().keySet().stream()
-                .map(identifier -> MysqlUtil.quoteIdentifier(identifier))
-                .collect(Collectors.toList());
-
-        StringBuilder conditionBuilder = new StringBuilder();
-        condition(condition, conditionBuilder);
-
-        String query = "SELECT " + String.join(", ", escapedColumns) + " FROM " + tableName + " WHERE " + conditionBuilder;
-
-        return databaseClient.sql(query)
-                .map((row, metadataAccessor) -> mapRowToEntity(row, type, metadata))
-                .one();
+        // whether a backslash escapes depends on NO_BACKSLASH_ESCAPES, a hex literal reads the same either way
+        return "_utf8mb4 X'" + HexFormat.of().formatHex(value.getBytes(StandardCharsets.UTF_8)) + "'";
     }
 
     @Override
-    public <T> Flux<T> findAll(Class<T> type, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-        List<String> escapedColumns = metadata.getSetterMap().keySet().stream()
-                .map(identifier -> MysqlUtil.quoteIdentifier(identifier))
-                .collect(Collectors.toList());
-
-        String query = "SELECT " + String.join(", ", escapedColumns) + " FROM " + tableName;
-
-        return databaseClient.sql(query)
-                .map((row, metadataAccessor) -> mapRowToEntity(row, type, metadata))
-                .all();
+    protected String bytesLiteral(byte[] bytes) {
+        return "X'" + HexFormat.of().formatHex(bytes) + "'";
     }
 
     @Override
-    public <T> Flux<T> findAll(Condition condition, Class<T> type, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-        List<String> escapedColumns = metadata.getSetterMap().keySet().stream()
-                .map(MysqlUtil::quoteIdentifier)
-                .collect(Collectors.toList());
-
-        StringBuilder conditionBuilder = new StringBuilder();
-        condition(condition, conditionBuilder);
-
-        String query = "SELECT " + String.join(", ", escapedColumns) + " FROM " + tableName + " WHERE " + conditionBuilder;
-
-        return databaseClient.sql(query)
-                .map((row, metadataAccessor) -> mapRowToEntity(row, type, metadata))
-                .all();
-    }
-
-    private <T> T mapRowToEntity(Row row, Class<T> type, TableMetadata metadata) {
-        T instance;
-        try {
-            instance = type.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("Error creating instance of: " + type.getName(), e);
-        }
-
-        for (Map.Entry<String, Method> entry : metadata.getSetterMap().entrySet()) {
-            String columnName = entry.getKey();
-            Method setter = entry.getValue();
-            Class<?> parameterType = setter.getParameterTypes()[0];
-
-            try {
-                setter.invoke(instance, row.get(columnName, parameterType));
-            } catch (Exception e) {
-                throw new RuntimeException(
-                        "Error setting field '" + columnName + "' for entity: " + type.getName(), e
-                );
-            }
-        }
-
-        return instance;
+    protected String explainQuery(String sql) {
+        return "EXPLAIN FORMAT=JSON " + sql;
     }
 
     @Override
-    public <T> Mono<Long> delete(Condition condition, Class<T> type, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-
-        StringBuilder conditionBuilder = new StringBuilder();
-        condition(condition, conditionBuilder);
-
-        String query = "DELETE FROM " + tableName + " WHERE " + conditionBuilder;
-
-        return databaseClient.sql(query)
-                .fetch()
-                .rowsUpdated()
-                .map(Long::valueOf);
-    }
-
-    @Override
-    public <T> Mono<Long> deleteAll(Class<T> type, TableMetadata metadata) {
-        String tableName = MysqlUtil.quoteIdentifier(metadata.getTableName());
-        String query = "DELETE FROM " + tableName;
-
-        return databaseClient.sql(query)
-                .fetch()
-                .rowsUpdated()
-                .map(Long::valueOf);
-    }
-
-    private void condition(Condition condition, StringBuilder sqlBuilder) {
-        if (condition instanceof ComparisonCondition) {
-            ComparisonCondition comparisonCondition = (ComparisonCondition) condition;
-            sqlBuilder.append(MysqlUtil.quoteIdentifier(comparisonCondition.getColumn()))
-                    .append(" ")
-                    .append(comparisonCondition.getOperator().symbol())
-                    .append(" ")
-                    .append(escapeValue(comparisonCondition.getValue()));
-        } else if (condition instanceof CompositeCondition) {
-            CompositeCondition compositeCondition = (CompositeCondition) condition;
-            List<Condition> conditions = compositeCondition.getConditions();
-            LogicalOperator operator = compositeCondition.getOperator();
-
-            sqlBuilder.append("(");
-            for (int i = 0; i < conditions.size(); i++) {
-                if (i > 0) {
-                    sqlBuilder.append(" ").append(operator.name()).append(" ");
-                }
-                condition(conditions.get(i), sqlBuilder);
-            }
-            sqlBuilder.append(")");
-        } else {
-            throw new IllegalArgumentException("Unsupported condition type: " + condition.getClass().getName());
-        }
-    }
-
-    private String escapeValue(@Nullable Object value) {
-        if (value == null) {
-            return "NULL";
-        }
-
-        if (value instanceof String) {
-            return "'" + ((String) value).replace("\\", "\\\\").replace("'", "\\'") + "'";
-        }
-
-        if (value instanceof Boolean) {
-            return (Boolean) value ? "1" : "0";
-        }
-
-        if (value instanceof Number) {
-            return value.toString();
-        }
-
-        return "'" + value.toString().replace("\\", "\\\\").replace("'", "\\'") + "'";
+    protected String sortDirection(boolean descending) {
+        return descending ? " DESC" : " ASC";
     }
 }
@@ -19,7 +19,9 @@ package io.github.openfacade.table.spring.reactive.mysql;
 import io.github.openfacade.table.api.ComparisonCondition;
 import io.github.openfacade.table.api.ComparisonOperator;
 import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.CompressedValue;
 import io.github.openfacade.table.api.LogicalOperator;
+import io.github.openfacade.table.reactive.api.BlobHandle;
 import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
@@ -31,8 +33,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.r2dbc.core.DatabaseClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -62,6 +67,11 @@ public class ReactiveMysqlTableOperationsTest {
                 .doOnSuccess(count -> log.info("table created successfully."))
                 .doOnError(error -> log.error("error creating table", error))
                 .block();
+        databaseClient.sql("CREATE TABLE IF NOT EXISTS test_compressed_entity (id BIGINT PRIMARY KEY, "
+                        + "text_field BLOB, bytes_field BLOB);")
+                .fetch()
+                .rowsUpdated()
+                .block();
     }
 
     @AfterAll
@@ -72,6 +82,7 @@ public class ReactiveMysqlTableOperationsTest {
                 .doOnSuccess(count -> log.info("table dropped successfully."))
                 .doOnError(error -> log.error("error dropping table", error))
                 .block();
+        databaseClient.sql("DROP TABLE test_compressed_entity;").fetch().rowsUpdated().block();
     }
 
     @Test
@@ -384,4 +395,206 @@ public class ReactiveMysqlTableOperationsTest {
                 .doOnSuccess(deletedCount -> log.info("Deleted {} entities", deletedCount))
                 .block();
     }
+
+    public interface IdAndVarchar {
+        Long getId();
+
+        String getVarcharStringField();
+    }
+
+    @Test
+    void testFindAllProjectionSkipsBlob() {
+        TestMysqlEntity entityToInsert = new TestMysqlEntity();
+        entityToInsert.setId(20L);
+        entityToInsert.setTinyintBooleanField(true);
+        entityToInsert.setBlobBytesField("Sample Data".getBytes(StandardCharsets.UTF_8));
+        entityToInsert.setVarcharStringField("Projected");
+        reactiveTableOperations.insert(entityToInsert).block();
+
+        ComparisonCondition idCondition = new ComparisonCondition("id", ComparisonOperator.EQ, 20L);
+        List<IdAndVarchar> views = reactiveTableOperations.findAll(idCondition, TestMysqlEntity.class, IdAndVarchar.class)
+                .collectList()
+                .block();
+        Assertions.assertNotNull(views);
+        Assertions.assertEquals(1, views.size());
+        Assertions.assertEquals(20L, views.get(0).getId());
+        Assertions.assertEquals("Projected", views.get(0).getVarcharStringField());
+
+        List<TestMysqlEntity> partial = reactiveTableOperations.findAll(idCondition, TestMysqlEntity.class, List.of("id"))
+                .collectList()
+                .block();
+        Assertions.assertNotNull(partial);
+        Assertions.assertEquals(20L, partial.get(0).getId());
+        Assertions.assertNull(partial.get(0).getBlobBytesField());
+
+        reactiveTableOperations.deleteAll(TestMysqlEntity.class).block();
+    }
+
+    @Test
+    void testUpdateWithUnchangedValuesIsApplied() {
+        TestMysqlEntity entity = new TestMysqlEntity();
+        entity.setId(40L);
+        entity.setVarcharStringField("Unchanged");
+        reactiveTableOperations.insert(entity).block();
+
+        // with CLIENT_FOUND_ROWS an update to the same values still matches the row, no conflict without @Version
+        Assertions.assertTrue(reactiveTableOperations.update(entity).block().isApplied());
+        TestMysqlEntity missing = new TestMysqlEntity();
+        missing.setId(41L);
+        missing.setVarcharStringField("Missing");
+        Assertions.assertTrue(reactiveTableOperations.update(missing).block().isConflict());
+
+        reactiveTableOperations.deleteAll(TestMysqlEntity.class).block();
+    }
+
+    @Test
+    void testBatchBindsValuesAndQuotesConditionLiterals() {
+        TestMysqlEntity quoted = new TestMysqlEntity();
+        quoted.setId(50L);
+        quoted.setTinyintBooleanField(true);
+        quoted.setVarcharStringField("O'Brien");
+        TestMysqlEntity backslash = new TestMysqlEntity();
+        backslash.setId(51L);
+        backslash.setVarcharStringField("C:\\temp\\");
+
+        List<Long> counts = reactiveTableOperations.batch()
+                .insert(quoted)
+                .insert(backslash)
+                .update(new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "O'Brien"),
+                        new Object[]{"varchar_string_field", "O'Brien \\ Jr."}, TestMysqlEntity.class)
+                .delete(new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "C:\\temp\\"),
+                        TestMysqlEntity.class)
+                .execute()
+                .block();
+        Assertions.assertEquals(List.of(1L, 1L, 1L, 1L), counts);
+
+        reactiveTableOperations.findAll(new ComparisonCondition("tinyint_boolean_field", ComparisonOperator.EQ, true),
+                        TestMysqlEntity.class)
+                .map(TestMysqlEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("O'Brien \\ Jr.")
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestMysqlEntity.class).block();
+    }
+
+    @Test
+    void testInTransactionRollsBackOnError() {
+        TestMysqlEntity committed = new TestMysqlEntity();
+        committed.setId(30L);
+        committed.setVarcharStringField("Committed");
+        TestMysqlEntity rolledBack = new TestMysqlEntity();
+        rolledBack.setId(31L);
+        rolledBack.setVarcharStringField("RolledBack");
+
+        reactiveTableOperations.inTransaction(ops -> ops.insert(committed)).blockLast();
+        reactiveTableOperations.inTransaction(ops -> ops.insert(rolledBack)
+                        .then(Mono.error(new IllegalStateException("abort"))))
+                .as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        reactiveTableOperations.findAll(TestMysqlEntity.class)
+                .map(TestMysqlEntity::getId)
+                .as(StepVerifier::create)
+                .expectNext(30L)
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestMysqlEntity.class).block();
+    }
+
+    @Test
+    void testClaimSkipsRowsLockedByAnotherConsumer() {
+        Flux.range(60, 4)
+                .map(i -> {
+                    TestMysqlEntity entity = new TestMysqlEntity();
+                    entity.setId((long) i);
+                    entity.setVarcharStringField("Queued");
+                    return entity;
+                })
+                .concatMap(reactiveTableOperations::insert)
+                .blockLast();
+        ComparisonCondition queued = new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "Queued");
+
+        // the second consumer claims in its own transaction while the first still holds its rows, without
+        // SKIP LOCKED it would wait for them
+        List<TestMysqlEntity> claimed = reactiveTableOperations.inTransaction(ops -> ops.claim(TestMysqlEntity.class,
+                                queued, 2, new Object[]{"varchar_string_field", "First"})
+                        .concatWith(reactiveTableOperations.claim(TestMysqlEntity.class, queued, 2,
+                                        new Object[]{"varchar_string_field", "Second"})
+                                .contextWrite(context -> Context.empty())))
+                .collectList()
+                .block();
+
+        Assertions.assertEquals(4, claimed.stream().map(TestMysqlEntity::getId).distinct().count());
+        Assertions.assertEquals(List.of("First", "First", "Second", "Second"),
+                claimed.stream().map(TestMysqlEntity::getVarcharStringField).toList());
+        reactiveTableOperations.findAll(queued, TestMysqlEntity.class)
+                .as(StepVerifier::create)
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestMysqlEntity.class).block();
+    }
+
+    @Test
+    void testCompressedColumnsRoundTrip() {
+        String text = "{\"status\":\"ACTIVE\",\"tags\":[\"a\",\"b\"]}".repeat(100);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        TestCompressedMysqlEntity entity = new TestCompressedMysqlEntity();
+        entity.setId(1L);
+        entity.setTextField(CompressedValue.of(text));
+        entity.setBytesField(bytes);
+        reactiveTableOperations.insert(entity).block();
+
+        Number storedLength = databaseClient.sql("SELECT OCTET_LENGTH(text_field) FROM test_compressed_entity")
+                .map(row -> row.get(0, Number.class))
+                .one()
+                .block();
+        Assertions.assertTrue(storedLength.intValue() < bytes.length / 10, "stored " + storedLength + " bytes");
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        TestCompressedMysqlEntity found = reactiveTableOperations.find(condition, TestCompressedMysqlEntity.class)
+                .block();
+        Assertions.assertEquals(text, found.getTextField().get());
+        Assertions.assertArrayEquals(bytes, found.getBytesField());
+
+        reactiveTableOperations.update(condition, new Object[]{"text_field", "Updated"},
+                TestCompressedMysqlEntity.class).block();
+        reactiveTableOperations.find(condition, TestCompressedMysqlEntity.class)
+                .map(updated -> updated.getTextField().get())
+                .as(StepVerifier::create)
+                .expectNext("Updated")
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestCompressedMysqlEntity.class).block();
+    }
+
+    @Test
+    void testStreamingBlobWrite() {
+        TestStreamingMysqlEntity entity = new TestStreamingMysqlEntity();
+        entity.setId(80L);
+        entity.setVarcharStringField("Streaming");
+        entity.setBlobBytesField(BlobHandle.of(Flux.just(
+                ByteBuffer.wrap("Streamed ".getBytes(StandardCharsets.UTF_8)),
+                ByteBuffer.wrap("Data".getBytes(StandardCharsets.UTF_8)))));
+        reactiveTableOperations.insert(entity).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 80L);
+        reactiveTableOperations.find(condition, TestMysqlEntity.class)
+                .map(found -> new String(found.getBlobBytesField(), StandardCharsets.UTF_8))
+                .as(StepVerifier::create)
+                .expectNext("Streamed Data")
+                .verifyComplete();
+
+        // a null streaming field is bound as a null Blob
+        entity.setBlobBytesField(null);
+        Assertions.assertTrue(reactiveTableOperations.update(entity).block().isApplied());
+        reactiveTableOperations.find(condition, TestMysqlEntity.class)
+                .map(found -> found.getBlobBytesField() == null)
+                .as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestMysqlEntity.class).block();
+    }
 }
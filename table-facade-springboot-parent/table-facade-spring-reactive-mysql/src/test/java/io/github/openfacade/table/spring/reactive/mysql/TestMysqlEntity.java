@@ -17,6 +17,7 @@
 package io.github.openfacade.table.spring.reactive.mysql;
 
 import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Id;
 import io.github.openfacade.table.api.anno.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -25,6 +26,7 @@ import lombok.Setter;
 @Getter
 @Table(name = "test_entity")
 public class TestMysqlEntity {
+    @Id
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.reactive.opengauss;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.reactive.api.BlobHandle;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.condition.OS.LINUX;
+
+@Slf4j
+@EnabledOnOs(LINUX)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(classes = ReactiveOpenGaussTestConfig.class)
+public class ReactiveOpenGaussTableOperationsTest {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveTableOperations reactiveTableOperations;
+
+    @BeforeAll
+    void beforeAll() {
+        String createTableSql = """
+                CREATE TABLE IF NOT EXISTS test_entity (
+                    id BIGINT PRIMARY KEY,
+                    boolean_field BOOLEAN,
+                    blob_bytes_field BYTEA,
+                    varchar_string_field VARCHAR(255)
+                );
+                """;
+        databaseClient.sql(createTableSql).fetch()
+                .rowsUpdated()
+                .doOnSuccess(count -> log.info("table created successfully."))
+                .doOnError(error -> log.error("error creating table", error))
+                .block();
+        databaseClient.sql("CREATE TABLE IF NOT EXISTS test_compressed_entity (id BIGINT PRIMARY KEY, "
+                        + "text_field BYTEA, bytes_field BYTEA);")
+                .fetch()
+                .rowsUpdated()
+                .block();
+    }
+
+    @AfterAll
+    void afterAll() {
+        String dropTableSql = "DROP TABLE test_entity;";
+        databaseClient.sql(dropTableSql).fetch()
+                .rowsUpdated()
+                .doOnSuccess(count -> log.info("table dropped successfully."))
+                .doOnError(error -> log.error("error dropping table", error))
+                .block();
+        databaseClient.sql("DROP TABLE test_compressed_entity;").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    void testClaimSkipsRowsLockedByAnotherConsumer() {
+        Flux.range(60, 4)
+                .map(i -> {
+                    TestOpenGaussEntity entity = new TestOpenGaussEntity();
+                    entity.setId((long) i);
+                    entity.setVarcharStringField("Queued");
+                    return entity;
+                })
+                .concatMap(reactiveTableOperations::insert)
+                .blockLast();
+        ComparisonCondition queued = new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "Queued");
+
+        // the second consumer claims in its own transaction while the first still holds its rows, without
+        // SKIP LOCKED it would wait for them
+        List<TestOpenGaussEntity> claimed = reactiveTableOperations.inTransaction(ops -> ops.claim(
+                                TestOpenGaussEntity.class, queued, 2, new Object[]{"varchar_string_field", "First"})
+                        .concatWith(reactiveTableOperations.claim(TestOpenGaussEntity.class, queued, 2,
+                                        new Object[]{"varchar_string_field", "Second"})
+                                .contextWrite(context -> Context.empty())))
+                .collectList()
+                .block();
+
+        Assertions.assertEquals(4, claimed.stream().map(TestOpenGaussEntity::getId).distinct().count());
+        Assertions.assertEquals(List.of("First", "First", "Second", "Second"),
+                claimed.stream().map(TestOpenGaussEntity::getVarcharStringField).toList());
+        reactiveTableOperations.findAll(queued, TestOpenGaussEntity.class)
+                .as(StepVerifier::create)
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestOpenGaussEntity.class).block();
+    }
+
+    @Test
+    void testBatchBindsValuesAndQuotesConditionLiterals() {
+        TestOpenGaussEntity quoted = new TestOpenGaussEntity();
+        quoted.setId(50L);
+        quoted.setBooleanField(true);
+        quoted.setVarcharStringField("O'Brien");
+        TestOpenGaussEntity backslash = new TestOpenGaussEntity();
+        backslash.setId(51L);
+        backslash.setVarcharStringField("C:\\temp\\");
+
+        List<Long> counts = reactiveTableOperations.batch()
+                .insert(quoted)
+                .insert(backslash)
+                .update(new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "O'Brien"),
+                        new Object[]{"varchar_string_field", "O'Brien \\ Jr."}, TestOpenGaussEntity.class)
+                .delete(new ComparisonCondition("varchar_string_field", ComparisonOperator.EQ, "C:\\temp\\"),
+                        TestOpenGaussEntity.class)
+                .execute()
+                .block();
+        Assertions.assertEquals(List.of(1L, 1L, 1L, 1L), counts);
+
+        reactiveTableOperations.findAll(new ComparisonCondition("boolean_field", ComparisonOperator.EQ, true),
+                        TestOpenGaussEntity.class)
+                .map(TestOpenGaussEntity::getVarcharStringField)
+                .as(StepVerifier::create)
+                .expectNext("O'Brien \\ Jr.")
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestOpenGaussEntity.class).block();
+    }
+
+    @Test
+    void testCompressedColumnsRoundTrip() {
+        String text = "{\"status\":\"ACTIVE\",\"tags\":[\"a\",\"b\"]}".repeat(100);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        TestCompressedOpenGaussEntity entity = new TestCompressedOpenGaussEntity();
+        entity.setId(1L);
+        entity.setTextField(CompressedValue.of(text));
+        entity.setBytesField(bytes);
+        reactiveTableOperations.insert(entity).block();
+
+        Number storedLength = databaseClient.sql("SELECT OCTET_LENGTH(text_field) FROM test_compressed_entity")
+                .map(row -> row.get(0, Number.class))
+                .one()
+                .block();
+        Assertions.assertTrue(storedLength.intValue() < bytes.length / 10, "stored " + storedLength + " bytes");
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 1L);
+        TestCompressedOpenGaussEntity found = reactiveTableOperations.find(condition, TestCompressedOpenGaussEntity.class)
+                .block();
+        Assertions.assertEquals(text, found.getTextField().get());
+        Assertions.assertArrayEquals(bytes, found.getBytesField());
+
+        reactiveTableOperations.update(condition, new Object[]{"text_field", "Updated"},
+                TestCompressedOpenGaussEntity.class).block();
+        reactiveTableOperations.find(condition, TestCompressedOpenGaussEntity.class)
+                .map(updated -> updated.getTextField().get())
+                .as(StepVerifier::create)
+                .expectNext("Updated")
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestCompressedOpenGaussEntity.class).block();
+    }
+
+    @Test
+    void testStreamingBlobWrite() {
+        TestStreamingOpenGaussEntity entity = new TestStreamingOpenGaussEntity();
+        entity.setId(80L);
+        entity.setVarcharStringField("Streaming");
+        entity.setBlobBytesField(BlobHandle.of(Flux.just(
+                ByteBuffer.wrap("Streamed ".getBytes(StandardCharsets.UTF_8)),
+                ByteBuffer.wrap("Data".getBytes(StandardCharsets.UTF_8)))));
+        reactiveTableOperations.insert(entity).block();
+
+        ComparisonCondition condition = new ComparisonCondition("id", ComparisonOperator.EQ, 80L);
+        reactiveTableOperations.find(condition, TestOpenGaussEntity.class)
+                .map(found -> new String(found.getBlobBytesField(), StandardCharsets.UTF_8))
+                .as(StepVerifier::create)
+                .expectNext("Streamed Data")
+                .verifyComplete();
+
+        // a null streaming field is bound as a null Blob
+        entity.setBlobBytesField(null);
+        Assertions.assertTrue(reactiveTableOperations.update(entity).block().isApplied());
+        reactiveTableOperations.find(condition, TestOpenGaussEntity.class)
+                .map(found -> found.getBlobBytesField() == null)
+                .as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+
+        reactiveTableOperations.deleteAll(TestOpenGaussEntity.class).block();
+    }
+}
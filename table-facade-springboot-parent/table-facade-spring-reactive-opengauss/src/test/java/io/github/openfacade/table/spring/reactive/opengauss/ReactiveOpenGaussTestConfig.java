@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.reactive.opengauss;
+
+import io.github.openfacade.table.spring.test.common.TestConfig;
+import io.github.openfacade.table.test.common.container.OpenGaussContainer;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+public class ReactiveOpenGaussTestConfig extends TestConfig {
+    @Bean(destroyMethod = "stopContainer")
+    public OpenGaussContainer openGaussContainer() {
+        // B compatibility accepts the backtick quoted identifiers the driver renders
+        OpenGaussContainer container = new OpenGaussContainer().withCompatibility("B");
+        container.startContainer();
+        return container;
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public ConnectionFactory connectionFactory(OpenGaussContainer container) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+                .option(ConnectionFactoryOptions.HOST, "localhost")
+                .option(ConnectionFactoryOptions.PORT, 5432)
+                .option(ConnectionFactoryOptions.USER, container.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, container.getPassword())
+                .option(ConnectionFactoryOptions.DATABASE, container.getDatabaseName())
+                .option(Option.valueOf("schema"), container.getSchema())
+                .build();
+        return ConnectionFactories.get(options);
+    }
+}
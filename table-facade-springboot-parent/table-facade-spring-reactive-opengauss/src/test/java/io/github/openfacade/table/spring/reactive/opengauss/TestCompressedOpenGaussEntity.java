@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.reactive.opengauss;
+
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Compressed;
+import io.github.openfacade.table.api.anno.Id;
+import io.github.openfacade.table.api.anno.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Table(name = "test_compressed_entity")
+public class TestCompressedOpenGaussEntity {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Compressed
+    @Column(name = "text_field")
+    private CompressedValue<String> textField;
+
+    @Compressed
+    @Column(name = "bytes_field")
+    private byte[] bytesField;
+}
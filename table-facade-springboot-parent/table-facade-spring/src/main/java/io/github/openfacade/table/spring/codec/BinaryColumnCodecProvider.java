@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.r2dbc.spi.ColumnMetadata;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+/**
+ * Maps binary columns to {@code byte[]}. OpenGauss reports MySQL compatible blob columns as strings holding hex,
+ * those are decoded here instead of failing the typed read first.
+ */
+public class BinaryColumnCodecProvider implements ColumnCodecProvider {
+    private static final ColumnCodec HEX = new ColumnCodec() {
+        @Override
+        public Class<?> getReadType() {
+            return String.class;
+        }
+
+        @Override
+        public Object decode(Object value) {
+            return value == null ? null : HexFormat.of().parseHex((String) value);
+        }
+    };
+
+    private static final ColumnCodec ANY = new ColumnCodec() {
+        @Override
+        public Class<?> getReadType() {
+            return Object.class;
+        }
+
+        @Override
+        public Object decode(Object value) {
+            if (value == null || value instanceof byte[]) {
+                return value;
+            }
+            if (value instanceof String str) {
+                return HexFormat.of().parseHex(str);
+            }
+            if (value instanceof ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.duplicate().get(bytes);
+                return bytes;
+            }
+            throw new IllegalArgumentException("Cannot convert " + value.getClass().getName() + " to byte[]");
+        }
+    };
+
+    @Override
+    @Nullable
+    public ColumnCodec resolve(Class<?> targetType, ColumnMetadata column) {
+        if (targetType != byte[].class) {
+            return null;
+        }
+        Class<?> javaType = column.getJavaType();
+        if (javaType == null) {
+            return ANY;
+        }
+        if (CharSequence.class.isAssignableFrom(javaType)) {
+            return HEX;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.github.openfacade.table.reactive.api.BlobHandle;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.ColumnMetadata;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Maps binary columns to streaming types: {@link Blob}, {@link BlobHandle} or {@code Publisher<ByteBuffer>}. The
+ * driver's {@link Blob} is passed through, so chunks are only produced when the value is subscribed to.
+ */
+public class BlobColumnCodecProvider implements ColumnCodecProvider {
+    private static final ColumnCodec BLOB = ColumnCodec.of(Blob.class);
+
+    private static final ColumnCodec HANDLE = new ColumnCodec() {
+        @Override
+        public Class<?> getReadType() {
+            return Blob.class;
+        }
+
+        @Override
+        public Object decode(Object value) {
+            if (value == null) {
+                return null;
+            }
+            Blob blob = (Blob) value;
+            return new BlobHandle() {
+                @Override
+                public Publisher<ByteBuffer> stream() {
+                    return blob.stream();
+                }
+
+                @Override
+                public Publisher<Void> discard() {
+                    return blob.discard();
+                }
+            };
+        }
+    };
+
+    private static final ColumnCodec PUBLISHER = new ColumnCodec() {
+        @Override
+        public Class<?> getReadType() {
+            return Blob.class;
+        }
+
+        @Override
+        public Object decode(Object value) {
+            return value == null ? null : ((Blob) value).stream();
+        }
+    };
+
+    @Override
+    @Nullable
+    public ColumnCodec resolve(Class<?> targetType, ColumnMetadata column) {
+        if (targetType == Blob.class) {
+            return BLOB;
+        }
+        if (targetType == BlobHandle.class) {
+            return HANDLE;
+        }
+        if (targetType == Publisher.class) {
+            return PUBLISHER;
+        }
+        return null;
+    }
+
+    /**
+     * Converts a streaming field value to the {@link Blob} the driver binds, other values are returned as is.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object bindValue(Object value) {
+        if (value instanceof BlobHandle handle) {
+            return Blob.from(handle.stream());
+        }
+        if (value instanceof Publisher<?> publisher) {
+            return Blob.from((Publisher<ByteBuffer>) publisher);
+        }
+        return value;
+    }
+
+    /**
+     * The type to bind {@code null} as for a field of {@code type}: {@link Blob} for the streaming field types, the
+     * type itself otherwise.
+     */
+    public static Class<?> bindType(Class<?> type) {
+        return type == BlobHandle.class || type == Publisher.class ? Blob.class : type;
+    }
+}
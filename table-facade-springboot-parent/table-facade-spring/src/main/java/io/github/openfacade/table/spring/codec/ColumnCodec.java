@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads one column as {@link #getReadType()} from the driver row and converts the result to the setter type.
+ * Resolved once per column, so decoding a row involves no type probing.
+ */
+public interface ColumnCodec {
+    Class<?> getReadType();
+
+    @Nullable
+    Object decode(@Nullable Object value);
+
+    /**
+     * Lets the driver convert straight to {@code type}.
+     */
+    static ColumnCodec of(Class<?> type) {
+        return new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return type;
+            }
+
+            @Override
+            public Object decode(Object value) {
+                return value;
+            }
+        };
+    }
+}
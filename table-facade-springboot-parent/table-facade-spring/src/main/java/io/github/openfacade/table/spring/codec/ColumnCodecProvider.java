@@ -0,0 +1,30 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.r2dbc.spi.ColumnMetadata;
+import org.jetbrains.annotations.Nullable;
+
+@FunctionalInterface
+public interface ColumnCodecProvider {
+    /**
+     * Returns a codec converting {@code column} to {@code targetType}, or {@code null} if this provider does not
+     * handle the combination.
+     */
+    @Nullable
+    ColumnCodec resolve(Class<?> targetType, ColumnMetadata column);
+}
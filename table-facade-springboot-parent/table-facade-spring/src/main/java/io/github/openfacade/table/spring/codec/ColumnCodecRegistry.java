@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.github.openfacade.table.spring.core.ProjectionMetadata;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ColumnCodecRegistry {
+    private final List<ColumnCodecProvider> providers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registered providers are consulted before the built-in ones, in registration order.
+     */
+    public ColumnCodecRegistry register(ColumnCodecProvider provider) {
+        providers.add(provider);
+        return this;
+    }
+
+    public ColumnCodec resolve(Class<?> targetType, ColumnMetadata column) {
+        ColumnCodec codec = resolve(providers, targetType, column);
+        if (codec == null) {
+            codec = resolve(BuiltIn.PROVIDERS, targetType, column);
+        }
+        return codec == null ? ColumnCodec.of(targetType) : codec;
+    }
+
+    /**
+     * Codecs for the columns of {@code metadata} by ordinal, resolved from the first row seen and cached on the
+     * metadata for every later row.
+     */
+    public ColumnCodec[] codecs(TableMetadata metadata, RowMetadata rowMetadata) {
+        ColumnCodec[] codecs = metadata.getColumnCodecs();
+        if (codecs != null) {
+            return codecs;
+        }
+        Class<?>[] setterTypes = metadata.getSetterTypes();
+        String[] columns = metadata.getColumns();
+        codecs = new ColumnCodec[setterTypes.length];
+        for (int i = 0; i < setterTypes.length; i++) {
+            ColumnMetadata column = rowMetadata.getColumnMetadata(i);
+            Class<?> valueType = metadata.getCompressedValueTypes().get(columns[i]);
+            if (valueType != null) {
+                codecs[i] = ColumnCompression.lazyCodec(resolve(byte[].class, column), valueType);
+            } else {
+                codecs[i] = resolve(setterTypes[i], column, metadata.getCompressedColumns().containsKey(columns[i]));
+            }
+        }
+        metadata.setColumnCodecs(codecs);
+        return codecs;
+    }
+
+    /**
+     * Codecs for the columns of {@code projection} by ordinal, cached on the projection like
+     * {@link #codecs(TableMetadata, RowMetadata)}.
+     */
+    public ColumnCodec[] codecs(ProjectionMetadata projection, RowMetadata rowMetadata) {
+        ColumnCodec[] codecs = projection.getColumnCodecs();
+        if (codecs != null) {
+            return codecs;
+        }
+        Class<?>[] targetTypes = projection.getTargetTypes();
+        boolean[] compressed = projection.getCompressed();
+        codecs = new ColumnCodec[targetTypes.length];
+        for (int i = 0; i < targetTypes.length; i++) {
+            codecs[i] = resolve(targetTypes[i], rowMetadata.getColumnMetadata(i), compressed[i]);
+        }
+        projection.setColumnCodecs(codecs);
+        return codecs;
+    }
+
+    private ColumnCodec resolve(Class<?> targetType, ColumnMetadata column, boolean compressed) {
+        if (compressed) {
+            return ColumnCompression.codec(resolve(byte[].class, column), targetType);
+        }
+        return resolve(targetType, column);
+    }
+
+    @Nullable
+    private static ColumnCodec resolve(List<ColumnCodecProvider> providers, Class<?> targetType, ColumnMetadata column) {
+        for (ColumnCodecProvider provider : providers) {
+            ColumnCodec codec = provider.resolve(targetType, column);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loaded on first resolve only, r2dbc-spi is optional and absent for the in-memory driver.
+     */
+    private static class BuiltIn {
+        private static final List<ColumnCodecProvider> PROVIDERS =
+                List.of(new BlobColumnCodecProvider(), new BinaryColumnCodecProvider());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.api.anno.Compressed;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses {@link Compressed} columns. A stored value is a header byte naming the codec, the uncompressed length
+ * as four big-endian bytes, then the compressed data. Deflaters, inflaters and scratch buffers are kept per thread,
+ * so the only allocation per value is its result.
+ */
+public class ColumnCompression {
+    private static final int PREFIX_LENGTH = 5;
+
+    private static final int INITIAL_SCRATCH = 8192;
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private static final ThreadLocal<byte[][]> SCRATCH = ThreadLocal.withInitial(() -> new byte[][]{new byte[INITIAL_SCRATCH]});
+
+    @Nullable
+    public static byte[] compress(@Nullable Object value, Compressed.Codec codec) {
+        if (value instanceof CompressedValue<?> holder) {
+            value = holder.get();
+        }
+        if (value == null) {
+            return null;
+        }
+        byte[] input;
+        if (value instanceof byte[] bytes) {
+            input = bytes;
+        } else if (value instanceof CharSequence text) {
+            input = text.toString().getBytes(StandardCharsets.UTF_8);
+        } else {
+            throw new IllegalArgumentException("Cannot compress " + value.getClass().getName());
+        }
+
+        Deflater deflater = DEFLATER.get();
+        byte[][] holder = SCRATCH.get();
+        byte[] scratch = holder[0];
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        int length = PREFIX_LENGTH;
+        while (!deflater.finished()) {
+            if (length == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+                holder[0] = scratch;
+            }
+            length += deflater.deflate(scratch, length, scratch.length - length);
+        }
+        scratch[0] = codec.header();
+        writeInt(scratch, 1, input.length);
+        return Arrays.copyOf(scratch, length);
+    }
+
+    /**
+     * Restores a value written by {@link #compress(Object, Compressed.Codec)} as {@code byte[]} or {@code String}.
+     */
+    @Nullable
+    public static Object decompress(@Nullable byte[] data, Class<?> targetType) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < PREFIX_LENGTH || data[0] != Compressed.Codec.DEFLATE.header()) {
+            throw new IllegalArgumentException("Unknown compression header " + (data.length == 0 ? "<empty>" : data[0]));
+        }
+        int length = readInt(data, 1);
+        boolean text = targetType == String.class;
+        byte[] output;
+        if (text) {
+            byte[][] holder = SCRATCH.get();
+            if (holder[0].length < length) {
+                holder[0] = new byte[Math.max(length, holder[0].length * 2)];
+            }
+            output = holder[0];
+        } else {
+            output = new byte[length];
+        }
+
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(data, PREFIX_LENGTH, data.length - PREFIX_LENGTH);
+        try {
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(output, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalArgumentException("Compressed value is truncated");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed value is corrupt", e);
+        }
+        return text ? new String(output, 0, length, StandardCharsets.UTF_8) : output;
+    }
+
+    /**
+     * Wraps the codec reading the raw column so that {@link ColumnCodec#decode(Object)} also decompresses.
+     */
+    public static ColumnCodec codec(ColumnCodec binary, Class<?> targetType) {
+        return new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return binary.getReadType();
+            }
+
+            @Override
+            public Object decode(Object value) {
+                return decompress((byte[]) binary.decode(value), targetType);
+            }
+        };
+    }
+
+    /**
+     * Like {@link #codec(ColumnCodec, Class)} for {@code CompressedValue} fields: the raw column is read with the row,
+     * and decompressed to {@code valueType} only on the first {@link CompressedValue#get()}.
+     */
+    public static ColumnCodec lazyCodec(ColumnCodec binary, Class<?> valueType) {
+        return new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return binary.getReadType();
+            }
+
+            @Override
+            public Object decode(Object value) {
+                byte[] data = (byte[]) binary.decode(value);
+                return data == null ? null : CompressedValue.lazy(() -> decompress(data, valueType));
+            }
+        };
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+    }
+}
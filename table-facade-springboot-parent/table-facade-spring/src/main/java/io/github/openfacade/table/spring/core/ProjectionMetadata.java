@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.core;
+
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.BiFunction;
+
+/**
+ * The columns a projection selects from its entity table and how to build the projection from them, parsed once
+ * per (entity, projection) pair.
+ */
+@Getter
+public class ProjectionMetadata {
+    /**
+     * Columns in select list order.
+     */
+    private final String[] columns;
+
+    /**
+     * Types the projection expects for {@link #columns}, by ordinal.
+     */
+    private final Class<?>[] targetTypes;
+
+    /**
+     * Whether each column is {@code @Compressed} in the entity.
+     */
+    private final boolean[] compressed;
+
+    /**
+     * Whether {@link #newInstance(Object[], ColumnCodec[])} takes raw values and decodes each on first access.
+     */
+    private final boolean lazy;
+
+    @Getter(AccessLevel.NONE)
+    private final BiFunction<Object[], ColumnCodec[], Object> factory;
+
+    @Setter
+    @Nullable
+    private volatile ColumnCodec[] columnCodecs;
+
+    public ProjectionMetadata(String[] columns, Class<?>[] targetTypes, boolean[] compressed, boolean lazy,
+                              BiFunction<Object[], ColumnCodec[], Object> factory) {
+        this.columns = columns;
+        this.targetTypes = targetTypes;
+        this.compressed = compressed;
+        this.lazy = lazy;
+        this.factory = factory;
+    }
+
+    /**
+     * Builds the projection from values already converted to {@link #targetTypes}.
+     */
+    public Object newInstance(Object[] values) {
+        return factory.apply(values, null);
+    }
+
+    /**
+     * Builds the projection from raw driver values, {@code codecs} convert them to {@link #targetTypes}. Lazy
+     * projections keep {@code raw} and decode on access, others decode right away.
+     */
+    public Object newInstance(Object[] raw, ColumnCodec[] codecs) {
+        if (lazy) {
+            return factory.apply(raw, codecs);
+        }
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = codecs[i].decode(raw[i]);
+        }
+        return factory.apply(raw, null);
+    }
+}
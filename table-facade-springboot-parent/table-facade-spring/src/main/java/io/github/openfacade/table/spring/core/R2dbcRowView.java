@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.core;
+
+import io.github.openfacade.table.api.RowView;
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import io.r2dbc.spi.Readable;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link RowView} over an R2DBC row selected in {@code TableMetadata.getColumns()} order. One instance is reset for
+ * every row of a scan, so visiting a row allocates nothing beyond what the driver itself boxes.
+ */
+public class R2dbcRowView implements RowView {
+    private final Map<String, Integer> ordinals;
+
+    private Readable row;
+
+    private ColumnCodec[] codecs;
+
+    public R2dbcRowView(TableMetadata metadata) {
+        String[] columns = metadata.getColumns();
+        this.ordinals = new HashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            ordinals.put(columns[i], i);
+        }
+    }
+
+    public void reset(Readable row, ColumnCodec[] codecs) {
+        this.row = row;
+        this.codecs = codecs;
+    }
+
+    @Override
+    public boolean isNull(String column) {
+        return row.get(index(column)) == null;
+    }
+
+    @Override
+    public long getLong(String column) {
+        Number value = row.get(index(column), Long.class);
+        return value == null ? 0L : value.longValue();
+    }
+
+    @Override
+    public int getInt(String column) {
+        Number value = row.get(index(column), Integer.class);
+        return value == null ? 0 : value.intValue();
+    }
+
+    @Override
+    public double getDouble(String column) {
+        Number value = row.get(index(column), Double.class);
+        return value == null ? 0D : value.doubleValue();
+    }
+
+    @Override
+    public boolean getBoolean(String column) {
+        Boolean value = row.get(index(column), Boolean.class);
+        return value != null && value;
+    }
+
+    @Override
+    public String getString(String column) {
+        return row.get(index(column), String.class);
+    }
+
+    @Override
+    public byte[] getBytes(String column) {
+        Object value = row.get(index(column));
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+        return (byte[]) value;
+    }
+
+    @Override
+    public Object get(String column) {
+        int index = index(column);
+        ColumnCodec codec = codecs[index];
+        return codec.decode(row.get(index, codec.getReadType()));
+    }
+
+    private int index(String column) {
+        Integer index = ordinals.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown column '" + column + "'");
+        }
+        return index;
+    }
+}
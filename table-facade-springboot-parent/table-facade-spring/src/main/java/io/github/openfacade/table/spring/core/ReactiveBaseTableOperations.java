@@ -16,79 +16,971 @@
 
 package io.github.openfacade.table.spring.core;
 
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
 import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.LogicalOperator;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.api.TableMetrics;
+import io.github.openfacade.table.api.Update;
+import io.github.openfacade.table.api.UpdateResult;
+import io.github.openfacade.table.api.anno.Compressed;
+import io.github.openfacade.table.reactive.api.BatchBuilder;
+import io.github.openfacade.table.reactive.api.BlobHandle;
 import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import io.github.openfacade.table.spring.codec.BlobColumnCodecProvider;
+import io.github.openfacade.table.spring.codec.ColumnCodecRegistry;
+import io.github.openfacade.table.spring.codec.ColumnCompression;
+import io.github.openfacade.table.spring.intercept.Execution;
+import io.github.openfacade.table.spring.intercept.ExecutionInterceptors;
+import io.github.openfacade.table.spring.stats.QueryStatistics;
+import io.github.openfacade.table.spring.stats.SlowQueryLog;
+import io.github.openfacade.table.spring.util.ProjectionMetadataUtil;
 import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
 
 public abstract class ReactiveBaseTableOperations implements ReactiveTableOperations {
     protected final Map<Class<?>, TableMetadata> classMap = new ConcurrentHashMap<>();
 
+    protected final Map<ProjectionKey, ProjectionMetadata> projectionMap = new ConcurrentHashMap<>();
+
+    protected RowMappingOffload rowMappingOffload = RowMappingOffload.disabled();
+
+    protected ColumnCodecRegistry columnCodecRegistry = new ColumnCodecRegistry();
+
+    protected TableMetrics metrics = TableMetrics.NOOP;
+
+    protected QueryStatistics queryStatistics = QueryStatistics.disabled();
+
+    protected SlowQueryLog slowQueryLog = SlowQueryLog.disabled();
+
+    protected ExecutionInterceptors interceptors = ExecutionInterceptors.none();
+
+    public void setRowMappingOffload(RowMappingOffload rowMappingOffload) {
+        this.rowMappingOffload = rowMappingOffload;
+    }
+
+    public RowMappingOffload getRowMappingOffload() {
+        return rowMappingOffload;
+    }
+
+    public void setColumnCodecRegistry(ColumnCodecRegistry columnCodecRegistry) {
+        this.columnCodecRegistry = columnCodecRegistry;
+    }
+
+    public void setMetrics(TableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public TableMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setQueryStatistics(QueryStatistics queryStatistics) {
+        this.queryStatistics = queryStatistics;
+    }
+
+    public QueryStatistics getQueryStatistics() {
+        return queryStatistics;
+    }
+
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    public void setInterceptors(ExecutionInterceptors interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    public ExecutionInterceptors getInterceptors() {
+        return interceptors;
+    }
+
     @Override
     public <T> Mono<T> insert(T object) {
         Class<?> type = object.getClass();
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return insert(object, metadata);
+        String versionColumn = metadata.getVersionColumn();
+        if (versionColumn != null && invoke(metadata.getGetterMap().get(versionColumn), object) == null) {
+            setVersion(object, metadata, 0L);
+        }
+        return timed("insert", metadata, true, () -> boundBytes(columnValues(object, metadata).values()),
+                entity -> 1L, insert(object, metadata));
     }
 
     @Override
     public <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type) {
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return update(condition, pairs, type, metadata);
+        Object[] versioned = withVersion(pairs, metadata);
+        return timed("update", metadata, true, () -> pairBytes(pairs), count -> count,
+                update(condition, versioned, type, metadata));
+    }
+
+    @Override
+    public <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] claimUpdate) {
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        if (metadata.getIdColumn() == null) {
+            throw new IllegalArgumentException("Class " + type.getName() + " needs an @Id column to claim rows");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (claimUpdate.length == 0 || claimUpdate.length % 2 != 0) {
+            throw new IllegalArgumentException("Claim update must be a non-empty list of pairs");
+        }
+        Object[] pairs = withVersion(claimUpdate, metadata);
+        return timed("claim", metadata, true, claim(type, condition, limit, pairs, metadata))
+                .doOnNext(entity -> applyClaim(entity, pairs, metadata));
+    }
+
+    @Override
+    public <T> Mono<UpdateResult<T>> update(T entity) {
+        return updateAll(List.of(entity)).map(results -> results.get(0));
+    }
+
+    @Override
+    public <T> Mono<List<UpdateResult<T>>> updateAll(List<T> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        Class<?> type = entities.get(0).getClass();
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        String idColumn = metadata.getIdColumn();
+        if (idColumn == null) {
+            throw new IllegalArgumentException("Class " + type.getName() + " needs an @Id column to update entities");
+        }
+        String versionColumn = metadata.getVersionColumn();
+
+        List<String> columns = new ArrayList<>();
+        for (String column : metadata.getColumns()) {
+            if (!column.equals(idColumn) && !column.equals(versionColumn)) {
+                columns.add(column);
+            }
+        }
+        List<String> bound = new ArrayList<>(columns);
+        bound.add(idColumn);
+        if (versionColumn != null) {
+            bound.add(versionColumn);
+        }
+        List<Object[]> rows = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            Object[] values = new Object[bound.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = invoke(metadata.getGetterMap().get(bound.get(i)), entity);
+            }
+            if (values[columns.size()] == null) {
+                throw new IllegalArgumentException("Cannot update an entity without id");
+            }
+            rows.add(values);
+        }
+        EntityUpdate update = new EntityUpdate(type, columns.toArray(new String[0]), rows);
+        Mono<List<Long>> updated = updateEntities(update, metadata).collectList();
+        LongSupplier bytes = () -> {
+            long sum = 0;
+            for (Object[] values : rows) {
+                sum += boundBytes(Arrays.asList(values));
+            }
+            return sum;
+        };
+        return timed("updateAll", metadata, true, bytes, ReactiveBaseTableOperations::applied, updated)
+                .map(counts -> {
+                    List<UpdateResult<T>> results = new ArrayList<>(entities.size());
+                    for (int i = 0; i < entities.size(); i++) {
+                        T entity = entities.get(i);
+                        boolean applied = counts.get(i) > 0;
+                        if (applied && versionColumn != null) {
+                            Object version = rows.get(i)[columns.size() + 1];
+                            setVersion(entity, metadata, version == null ? 0L : ((Number) version).longValue() + 1);
+                        }
+                        results.add(new UpdateResult<>(entity, applied));
+                    }
+                    return results;
+                });
+    }
+
+    @Override
+    public <R> Flux<R> inTransaction(Function<ReactiveTableOperations, Publisher<R>> work) {
+        return inTransaction(TransactionOptions.DEFAULT, work);
+    }
+
+    @Override
+    public BatchBuilder batch() {
+        return new DefaultBatchBuilder();
     }
 
     @Override
     public <T> Mono<T> find(Condition condition, Class<T> type) {
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return find(condition, type, metadata);
+        return timed("find", metadata, false, entity -> 1L, find(condition, type, metadata));
     }
 
     @Override
     public <T> Flux<T> findAll(Class<T> type) {
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return findAll(type, metadata);
+        return timed("findAll", metadata, false, findAll(type, metadata));
     }
 
     @Override
     public <T> Flux<T> findAll(Condition condition, Class<T> type) {
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return findAll(condition, type, metadata);
+        return timed("findAll", metadata, false, findAll(condition, type, metadata));
+    }
+
+    @Override
+    public <T, P> Flux<P> findAll(Condition condition, Class<T> type, Class<P> projection) {
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        ProjectionMetadata projectionMetadata = projectionMap.computeIfAbsent(new ProjectionKey(type, projection, false),
+                key -> ProjectionMetadataUtil.parseProjection(type, metadata, projection));
+        return timed("findAll", metadata, false, findAll(condition, projectionMetadata, projection, metadata));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, List<String> columns) {
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        ProjectionMetadata projectionMetadata = projectionMap.computeIfAbsent(new ProjectionKey(type, List.copyOf(columns), false),
+                key -> ProjectionMetadataUtil.parseColumns(type, metadata, columns));
+        return timed("findAll", metadata, false, findAll(condition, projectionMetadata, type, metadata));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, Sort sort, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        for (Sort.Order order : sort.getOrders()) {
+            if (!metadata.getGetterMap().containsKey(order.getColumn())) {
+                throw new IllegalArgumentException("Cannot sort by unknown column " + order.getColumn() + " of "
+                        + type.getName());
+            }
+        }
+        return timed("findAll", metadata, false, findAll(condition, type, sort, limit, metadata));
+    }
+
+    @Override
+    public <T, V> Flux<V> findAllLazy(Condition condition, Class<T> type, Class<V> view) {
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        ProjectionMetadata projectionMetadata = projectionMap.computeIfAbsent(new ProjectionKey(type, view, true),
+                key -> ProjectionMetadataUtil.parseLazyView(type, metadata, view));
+        return timed("findAllLazy", metadata, false, findAll(condition, projectionMetadata, view, metadata));
+    }
+
+    @Override
+    public <T> Mono<T> fetchLazy(T entity) {
+        return fetchLazyAll(List.of(entity)).thenReturn(entity);
+    }
+
+    @Override
+    public <T> Mono<List<T>> fetchLazyAll(List<T> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(entities);
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) entities.get(0).getClass();
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        String[] lazyColumns = metadata.getLazyColumns();
+        if (lazyColumns.length == 0) {
+            return Mono.just(entities);
+        }
+        String idColumn = metadata.getIdColumn();
+        if (idColumn == null) {
+            throw new IllegalArgumentException("Class " + type.getName() + " needs an @Id column to fetch @Lazy columns");
+        }
+
+        Method idGetter = metadata.getGetterMap().get(idColumn);
+        Map<Object, List<T>> entitiesById = new HashMap<>();
+        for (T entity : entities) {
+            Object id = invoke(idGetter, entity);
+            if (id == null) {
+                throw new IllegalArgumentException("Cannot fetch @Lazy columns of an entity without id");
+            }
+            entitiesById.computeIfAbsent(id, key -> new ArrayList<>(1)).add(entity);
+        }
+
+        List<String> columns = new ArrayList<>(lazyColumns.length + 1);
+        columns.add(idColumn);
+        columns.addAll(Arrays.asList(lazyColumns));
+        ProjectionMetadata projection = projectionMap.computeIfAbsent(new ProjectionKey(type, List.copyOf(columns), false),
+                key -> ProjectionMetadataUtil.parseColumns(type, metadata, columns));
+        Condition condition = new ComparisonCondition(idColumn, ComparisonOperator.IN, List.copyOf(entitiesById.keySet()));
+
+        return timed("fetchLazy", metadata, false, findAll(condition, projection, type, metadata))
+                .doOnNext(loaded -> {
+                    List<T> targets = entitiesById.get(invoke(idGetter, loaded));
+                    if (targets == null) {
+                        return;
+                    }
+                    for (String column : lazyColumns) {
+                        Object value = invoke(metadata.getGetterMap().get(column), loaded);
+                        for (T target : targets) {
+                            try {
+                                metadata.getSetterMap().get(column).invoke(target, value);
+                            } catch (Exception e) {
+                                throw new RuntimeException("Error invoking setter", e);
+                            }
+                        }
+                    }
+                })
+                .then(Mono.just(entities));
     }
 
     @Override
     public <T> Mono<Long> delete(Condition condition, Class<T> type) {
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return delete(condition, type, metadata);
+        return timed("delete", metadata, true, count -> count, delete(condition, type, metadata));
     }
 
     @Override
     public <T> Mono<Long> deleteAll(Class<T> type) {
         classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
         TableMetadata metadata = classMap.get(type);
-        return deleteAll(type, metadata);
+        return timed("deleteAll", metadata, true, count -> count, deleteAll(type, metadata));
+    }
+
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor) {
+        classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+        TableMetadata metadata = classMap.get(type);
+        return timed("scan", metadata, false, count -> count, scan(type, condition, visitor, metadata));
+    }
+
+    /**
+     * Reports {@code mono} as one {@code operation} on the table, from subscription to its terminal signal or
+     * cancellation, with {@code rows} of its value counted as rows read or written.
+     */
+    protected <T> Mono<T> timed(String operation, TableMetadata metadata, boolean write,
+                                ToLongFunction<? super T> rows, Mono<T> mono) {
+        return timed(operation, metadata, write, () -> 0L, rows, mono);
+    }
+
+    /**
+     * Like {@link #timed(String, TableMetadata, boolean, ToLongFunction, Mono)}, counting {@code bytes} as bound
+     * on every subscription, i.e. every time the statement is actually executed.
+     */
+    protected <T> Mono<T> timed(String operation, TableMetadata metadata, boolean write, LongSupplier bytes,
+                                ToLongFunction<? super T> rows, Mono<T> mono) {
+        TableMetrics metrics = this.metrics;
+        if (!metrics.isEnabled()) {
+            return mono;
+        }
+        String table = metadata.getTableName();
+        return Mono.defer(() -> {
+            metrics.recordBytesBound(table, bytes.getAsLong());
+            Measurement measurement = new Measurement(metrics, operation, write);
+            return mono.doOnSuccess(value -> measurement.done(table, value == null ? 0 : rows.applyAsLong(value)))
+                    .doOnError(e -> measurement.failed(table, e))
+                    .doOnCancel(() -> measurement.done(table, 0));
+        });
+    }
+
+    /**
+     * Like {@link #timed(String, TableMetadata, boolean, ToLongFunction, Mono)}, counting each emitted element as
+     * a row. A cancelled stream, e.g. by {@code take(n)}, counts as completed with the rows emitted until then.
+     */
+    protected <T> Flux<T> timed(String operation, TableMetadata metadata, boolean write, Flux<T> flux) {
+        TableMetrics metrics = this.metrics;
+        if (!metrics.isEnabled()) {
+            return flux;
+        }
+        String table = metadata.getTableName();
+        return Flux.defer(() -> {
+            Measurement measurement = new Measurement(metrics, operation, write);
+            LongAdder rows = new LongAdder();
+            return flux.doOnNext(value -> rows.increment())
+                    .doOnComplete(() -> measurement.done(table, rows.sum()))
+                    .doOnError(e -> measurement.failed(table, e))
+                    .doOnCancel(() -> measurement.done(table, rows.sum()));
+        });
+    }
+
+    /**
+     * Reports a batch as one {@code batch} operation on each table it touches, with the rows changed by its
+     * statements counted as written to their tables.
+     */
+    private Mono<List<Long>> timedBatch(List<BatchStatement> statements) {
+        TableMetrics metrics = this.metrics;
+        if (!metrics.isEnabled()) {
+            return executeBatch(statements);
+        }
+        Set<String> tables = new LinkedHashSet<>();
+        for (BatchStatement statement : statements) {
+            tables.add(statement.metadata().getTableName());
+        }
+        return Mono.defer(() -> {
+            for (BatchStatement statement : statements) {
+                metrics.recordBytesBound(statement.metadata().getTableName(), switch (statement.kind()) {
+                    case INSERT -> boundBytes(columnValues(statement.object(), statement.metadata()).values());
+                    case UPDATE -> pairBytes(statement.pairs());
+                    case DELETE -> 0L;
+                });
+            }
+            Measurement measurement = new Measurement(metrics, "batch", true);
+            return executeBatch(statements).doOnSuccess(counts -> {
+                Map<String, Long> written = new HashMap<>();
+                for (int i = 0; i < statements.size(); i++) {
+                    written.merge(statements.get(i).metadata().getTableName(), counts.get(i), Long::sum);
+                }
+                measurement.done(tables, written);
+            }).doOnError(e -> measurement.failed(tables, e)).doOnCancel(() -> measurement.done(tables, Map.of()));
+        });
+    }
+
+    /**
+     * Records one execution of {@code sql} with {@code binds} bind parameters by {@code operation} in the query
+     * statistics and the slow query log, from subscription until {@code rows} completes, counting its elements as
+     * rows. The execution interceptors run around it, with the context they return written to {@code rows}.
+     */
+    protected <T> Flux<T> executed(String operation, TableMetadata metadata, String sql, int binds, Flux<T> rows) {
+        QueryStatistics statistics = this.queryStatistics;
+        SlowQueryLog slowQueries = this.slowQueryLog;
+        ExecutionInterceptors interceptors = this.interceptors;
+        if (!statistics.isEnabled() && !slowQueries.isEnabled() && interceptors.isEmpty()) {
+            return rows;
+        }
+        return Flux.deferContextual(view -> {
+            Execution execution = interceptors.isEmpty() ? null : execution(operation, metadata, sql, binds);
+            Context context = execution == null ? null : interceptors.before(execution, Context.of(view));
+            long start = System.nanoTime();
+            long[] counts = new long[2];
+            Flux<T> executed = rows.doOnNext(row -> {
+                        if (counts[0]++ == 0) {
+                            counts[1] = System.nanoTime() - start;
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        long nanos = System.nanoTime() - start;
+                        long firstRow = counts[0] == 0 ? nanos : counts[1];
+                        executed(statistics, slowQueries, sql, binds, counts[0], firstRow, nanos);
+                        if (execution != null) {
+                            interceptors.after(execution, context, counts[0], nanos);
+                        }
+                    });
+            if (execution == null) {
+                return executed;
+            }
+            return executed
+                    .doOnError(e -> interceptors.error(execution, context, e, System.nanoTime() - start))
+                    .doOnCancel(() -> interceptors.after(execution, context, counts[0], System.nanoTime() - start))
+                    .contextWrite(context);
+        });
+    }
+
+    /**
+     * Like {@link #executed(String, TableMetadata, String, int, Flux)}, with {@code rows} of the value as the row
+     * count, e.g. the rows updated.
+     */
+    protected <T> Mono<T> executed(String operation, TableMetadata metadata, String sql, int binds,
+                                   ToLongFunction<? super T> rows, Mono<T> result) {
+        QueryStatistics statistics = this.queryStatistics;
+        SlowQueryLog slowQueries = this.slowQueryLog;
+        ExecutionInterceptors interceptors = this.interceptors;
+        if (!statistics.isEnabled() && !slowQueries.isEnabled() && interceptors.isEmpty()) {
+            return result;
+        }
+        return Mono.deferContextual(view -> {
+            Execution execution = interceptors.isEmpty() ? null : execution(operation, metadata, sql, binds);
+            Context context = execution == null ? null : interceptors.before(execution, Context.of(view));
+            long start = System.nanoTime();
+            Mono<T> executed = result.doOnSuccess(value -> {
+                long nanos = System.nanoTime() - start;
+                long count = value == null ? 0 : rows.applyAsLong(value);
+                executed(statistics, slowQueries, sql, binds, count, nanos, nanos);
+                if (execution != null) {
+                    interceptors.after(execution, context, count, nanos);
+                }
+            });
+            if (execution == null) {
+                return executed;
+            }
+            return executed
+                    .doOnError(e -> interceptors.error(execution, context, e, System.nanoTime() - start))
+                    .doOnCancel(() -> interceptors.after(execution, context, 0, System.nanoTime() - start))
+                    .contextWrite(context);
+        });
+    }
+
+    private static Execution execution(String operation, TableMetadata metadata, String sql, int binds) {
+        return new Execution(operation, metadata.getEntityType(), metadata.getTableName(), sql, binds);
+    }
+
+    private void executed(QueryStatistics statistics, SlowQueryLog slowQueries, String sql, int binds, long rows,
+                          long firstRowNanos, long nanos) {
+        statistics.record(sql, nanos, rows);
+        if (slowQueries.isSlow(nanos)) {
+            slowQueries.record(sql, binds, rows, firstRowNanos, nanos, this::explain);
+        }
+    }
+
+    /**
+     * The plan of {@code sql} as the database's {@code EXPLAIN} reports it, fetched on a connection of its own.
+     * Empty for drivers without one.
+     */
+    protected Mono<String> explain(String sql) {
+        return Mono.empty();
+    }
+
+    /**
+     * Wraps a row mapper to report its time as the mapping phase of the table. Drivers apply it to raw values read
+     * from the driver row, so the time is that of building the object only.
+     */
+    protected <V, T> Function<V, T> timedMapping(TableMetadata metadata, Function<V, T> mapper) {
+        TableMetrics metrics = this.metrics;
+        if (!metrics.isEnabled()) {
+            return mapper;
+        }
+        String table = metadata.getTableName();
+        return values -> {
+            long start = System.nanoTime();
+            T result = mapper.apply(values);
+            metrics.recordMapping(table, System.nanoTime() - start);
+            return result;
+        };
     }
 
     public abstract <T> Mono<T> insert(T object, TableMetadata metadata);
 
+    /**
+     * Runs one update per row of {@code update} by id, and by version for {@code @Version} entities, emitting the
+     * update counts in row order. Drivers override this to send all rows as one batch.
+     */
+    protected Flux<Long> updateEntities(EntityUpdate update, TableMetadata metadata) {
+        String[] columns = update.columns();
+        String versionColumn = metadata.getVersionColumn();
+        return Flux.fromIterable(update.rows()).concatMap(values -> {
+            Object[] pairs = new Object[columns.length * 2 + (versionColumn == null ? 0 : 2)];
+            for (int i = 0; i < columns.length; i++) {
+                pairs[2 * i] = columns[i];
+                pairs[2 * i + 1] = values[i];
+            }
+            Condition condition = new ComparisonCondition(metadata.getIdColumn(), ComparisonOperator.EQ,
+                    values[columns.length]);
+            if (versionColumn != null) {
+                pairs[pairs.length - 2] = versionColumn;
+                pairs[pairs.length - 1] = Update.inc(versionColumn, 1);
+                condition = CompositeCondition.builder()
+                        .operator(LogicalOperator.AND)
+                        .condition(condition)
+                        .condition(new ComparisonCondition(versionColumn, ComparisonOperator.EQ,
+                                values[columns.length + 1]))
+                        .build();
+            }
+            return update(condition, pairs, update.type(), metadata);
+        });
+    }
+
     public abstract <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type, TableMetadata metadata);
 
+    /**
+     * Locks up to {@code limit} rows matching {@code condition} that no other transaction holds, applies
+     * {@code pairs} to them and emits them as they were read, after the update has committed.
+     */
+    public abstract <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] pairs,
+                                      TableMetadata metadata);
+
+    /**
+     * Runs the statements of a {@link #batch()} one after another. Drivers override this to send them in one
+     * round trip.
+     */
+    protected Mono<List<Long>> executeBatch(List<BatchStatement> statements) {
+        return Flux.fromIterable(statements)
+                .concatMap(statement -> switch (statement.kind()) {
+                    case INSERT -> insert(statement.object(), statement.metadata()).thenReturn(1L);
+                    case UPDATE -> update(statement.condition(), statement.pairs(), statement.type(),
+                            statement.metadata());
+                    case DELETE -> delete(statement.condition(), statement.type(), statement.metadata());
+                })
+                .collectList();
+    }
+
     public abstract <T> Mono<T> find(Condition condition, Class<T> type, TableMetadata metadata);
 
     public abstract <T> Flux<T> findAll(Class<T> type, TableMetadata metadata);
 
     public abstract <T> Flux<T> findAll(Condition condition, Class<T> type, TableMetadata metadata);
 
+    public abstract <P> Flux<P> findAll(Condition condition, ProjectionMetadata projection, Class<P> resultType,
+                                        TableMetadata metadata);
+
+    public abstract <T> Flux<T> findAll(@Nullable Condition condition, Class<T> type, Sort sort, int limit,
+                                        TableMetadata metadata);
+
     public abstract <T> Mono<Long> delete(Condition condition, Class<T> type, TableMetadata metadata);
 
     public abstract <T> Mono<Long> deleteAll(Class<T> type, TableMetadata metadata);
+
+    public abstract <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor, TableMetadata metadata);
+
+    /**
+     * Converts a field value to what the driver binds for {@code column}: compressed bytes for {@code @Compressed}
+     * columns, a streaming blob for streaming values and the value itself otherwise.
+     */
+    protected static Object bindValue(TableMetadata metadata, String column, Object value) {
+        Compressed.Codec codec = metadata.getCompressedColumns().get(column);
+        if (codec != null) {
+            return ColumnCompression.compress(value, codec);
+        }
+        return BlobColumnCodecProvider.bindValue(value);
+    }
+
+    /**
+     * Renders the assignment of one update pair, {@code value} may be an {@link Update} computed from the current
+     * column value.
+     */
+    protected static String assignment(String quotedColumn, Object value) {
+        if (!(value instanceof Update update)) {
+            return quotedColumn + " = ?";
+        }
+        return switch (update.getKind()) {
+            case SET -> quotedColumn + " = ?";
+            case INC -> quotedColumn + " = " + quotedColumn + " + ?";
+            case MAX -> quotedColumn + " = GREATEST(COALESCE(" + quotedColumn + ", ?), ?)";
+            case EXPR -> quotedColumn + " = " + update.getExpression();
+        };
+    }
+
+    /**
+     * Adds the values bound by {@link #assignment(String, Object)} to {@code binds}, in placeholder order.
+     */
+    protected static void bindAssignment(TableMetadata metadata, String column, Object value, List<Object> binds) {
+        if (!(value instanceof Update update)) {
+            binds.add(bindValue(metadata, column, value));
+            return;
+        }
+        if (!update.getColumn().equals(column)) {
+            throw new IllegalArgumentException("Update of " + update.getColumn() + " paired with column " + column);
+        }
+        switch (update.getKind()) {
+            case SET -> binds.add(bindValue(metadata, column, update.getValues()[0]));
+            case INC -> binds.add(update.getValues()[0]);
+            case MAX -> {
+                binds.add(update.getValues()[0]);
+                binds.add(update.getValues()[0]);
+            }
+            case EXPR -> binds.addAll(Arrays.asList(update.getValues()));
+        }
+    }
+
+    /**
+     * The type to bind {@code null} as for {@code column}, matching what {@link #bindValue} binds for it: bytes for
+     * {@code @Compressed} columns, a {@link io.r2dbc.spi.Blob} for streaming fields and the field type otherwise.
+     */
+    protected static Class<?> bindType(TableMetadata metadata, String column) {
+        if (metadata.getCompressedColumns().containsKey(column)) {
+            return byte[].class;
+        }
+        return BlobColumnCodecProvider.bindType(metadata.getSetterMap().get(column).getParameterTypes()[0]);
+    }
+
+    /**
+     * The types to bind {@code null} as for each value of an {@link EntityUpdate} row.
+     */
+    protected static Class<?>[] bindTypes(EntityUpdate update, TableMetadata metadata) {
+        String[] columns = update.columns();
+        boolean versioned = metadata.getVersionColumn() != null;
+        Class<?>[] types = new Class<?>[columns.length + (versioned ? 2 : 1)];
+        for (int i = 0; i < columns.length; i++) {
+            types[i] = bindType(metadata, columns[i]);
+        }
+        types[columns.length] = bindType(metadata, metadata.getIdColumn());
+        if (versioned) {
+            types[columns.length + 1] = bindType(metadata, metadata.getVersionColumn());
+        }
+        return types;
+    }
+
+    /**
+     * The non-null column values of {@code object}, in declaration order.
+     */
+    protected static Map<String, Object> columnValues(Object object, TableMetadata metadata) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Method> entry : metadata.getGetterMap().entrySet()) {
+            Object value = invoke(entry.getValue(), object);
+            if (value != null) {
+                values.put(entry.getKey(), value);
+            }
+        }
+        return values;
+    }
+
+    private static void checkBatchable(Object value) {
+        if (value instanceof BlobHandle || value instanceof Publisher) {
+            throw new IllegalArgumentException("Streaming blob values cannot be batched");
+        }
+    }
+
+    /**
+     * Appends the increment of the {@code @Version} column to {@code pairs} unless they already assign it.
+     */
+    private static Object[] withVersion(Object[] pairs, TableMetadata metadata) {
+        String versionColumn = metadata.getVersionColumn();
+        if (versionColumn == null) {
+            return pairs;
+        }
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (versionColumn.equals(pairs[i])) {
+                return pairs;
+            }
+        }
+        Object[] versioned = Arrays.copyOf(pairs, pairs.length + 2);
+        versioned[pairs.length] = versionColumn;
+        versioned[pairs.length + 1] = Update.inc(versionColumn, 1);
+        return versioned;
+    }
+
+    /**
+     * Brings a claimed entity up to date with the claim update where that needs no database: literal values are
+     * set and the {@code @Version} is incremented, other expressions keep the value that was read.
+     */
+    private static void applyClaim(Object entity, Object[] pairs, TableMetadata metadata) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            String column = (String) pairs[i];
+            Object value = pairs[i + 1];
+            if (column.equals(metadata.getVersionColumn()) && value instanceof Update update
+                    && update.getKind() == Update.Kind.INC) {
+                Object version = invoke(metadata.getGetterMap().get(column), entity);
+                if (version != null) {
+                    setVersion(entity, metadata,
+                            ((Number) version).longValue() + ((Number) update.getValues()[0]).longValue());
+                }
+                continue;
+            }
+            if (value instanceof Update update) {
+                if (update.getKind() != Update.Kind.SET) {
+                    continue;
+                }
+                value = update.getValues()[0];
+            }
+            Method setter = metadata.getSetterMap().get(column);
+            if (setter == null) {
+                continue;
+            }
+            try {
+                setter.invoke(entity, value);
+            } catch (Exception e) {
+                throw new RuntimeException("Error invoking setter", e);
+            }
+        }
+    }
+
+    private static void setVersion(Object entity, TableMetadata metadata, long version) {
+        Method setter = metadata.getSetterMap().get(metadata.getVersionColumn());
+        Class<?> type = setter.getParameterTypes()[0];
+        Object value = type == int.class || type == Integer.class ? (Object) Math.toIntExact(version) : version;
+        try {
+            setter.invoke(entity, value);
+        } catch (Exception e) {
+            throw new RuntimeException("Error invoking setter", e);
+        }
+    }
+
+    private static long applied(List<Long> counts) {
+        long applied = 0;
+        for (Long count : counts) {
+            if (count > 0) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private static long pairBytes(Object[] pairs) {
+        long bytes = 0;
+        for (int i = 1; i < pairs.length; i += 2) {
+            bytes += TableMetrics.boundBytes(pairs[i]);
+        }
+        return bytes;
+    }
+
+    private static long boundBytes(Iterable<Object> values) {
+        long bytes = 0;
+        for (Object value : values) {
+            bytes += TableMetrics.boundBytes(value);
+        }
+        return bytes;
+    }
+
+    private static Object invoke(Method getter, Object entity) {
+        try {
+            return getter.invoke(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Error invoking getter", e);
+        }
+    }
+
+    /**
+     * One execution of an operation, recorded once however it ends: cancellation may follow a terminal signal.
+     */
+    private static class Measurement {
+        private final TableMetrics metrics;
+
+        private final String operation;
+
+        private final boolean write;
+
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        Measurement(TableMetrics metrics, String operation, boolean write) {
+            this.metrics = metrics;
+            this.operation = operation;
+            this.write = write;
+        }
+
+        void done(String table, long rows) {
+            if (recorded.compareAndSet(false, true)) {
+                record(table, rows, System.nanoTime() - startNanos);
+            }
+        }
+
+        void done(Collection<String> tables, Map<String, Long> rows) {
+            if (recorded.compareAndSet(false, true)) {
+                long nanos = System.nanoTime() - startNanos;
+                for (String table : tables) {
+                    record(table, rows.getOrDefault(table, 0L), nanos);
+                }
+            }
+        }
+
+        void failed(String table, Throwable error) {
+            failed(List.of(table), error);
+        }
+
+        void failed(Collection<String> tables, Throwable error) {
+            if (recorded.compareAndSet(false, true)) {
+                long nanos = System.nanoTime() - startNanos;
+                for (String table : tables) {
+                    metrics.recordOperation(operation, table, nanos, error);
+                }
+            }
+        }
+
+        private void record(String table, long rows, long nanos) {
+            if (write) {
+                metrics.recordRowsWritten(table, rows);
+            } else {
+                metrics.recordRowsRead(table, rows);
+            }
+            metrics.recordOperation(operation, table, nanos, null);
+        }
+    }
+
+    /**
+     * A projection class or an immutable column list, together with the entity it selects from and whether it is
+     * a lazy view.
+     */
+    protected record ProjectionKey(Class<?> type, Object projection, boolean lazy) {
+    }
+
+    /**
+     * Rows of an entity update. Each row holds the values of {@code columns}, then the id and, for {@code @Version}
+     * entities, the expected version.
+     */
+    protected record EntityUpdate(Class<?> type, String[] columns, List<Object[]> rows) {
+    }
+
+    /**
+     * One statement of a {@link #batch()}: an insert of {@code object}, or an update with {@code pairs} or a delete
+     * of the rows matching {@code condition}.
+     */
+    protected record BatchStatement(Kind kind, Class<?> type, TableMetadata metadata, @Nullable Object object,
+                                    @Nullable Condition condition, @Nullable Object[] pairs) {
+        public enum Kind {
+            INSERT,
+            UPDATE,
+            DELETE
+        }
+    }
+
+    private class DefaultBatchBuilder implements BatchBuilder {
+        private final List<BatchStatement> statements = new ArrayList<>();
+
+        @Override
+        public <T> BatchBuilder insert(T object) {
+            Class<?> type = object.getClass();
+            TableMetadata metadata = metadata(type);
+            String versionColumn = metadata.getVersionColumn();
+            if (versionColumn != null && invoke(metadata.getGetterMap().get(versionColumn), object) == null) {
+                setVersion(object, metadata, 0L);
+            }
+            columnValues(object, metadata).values().forEach(ReactiveBaseTableOperations::checkBatchable);
+            statements.add(new BatchStatement(BatchStatement.Kind.INSERT, type, metadata, object, null, null));
+            return this;
+        }
+
+        @Override
+        public <T> BatchBuilder update(Condition condition, Object[] pairs, Class<T> type) {
+            if (pairs.length % 2 != 0) {
+                throw new IllegalArgumentException("Pairs must be an even number.");
+            }
+            for (int i = 1; i < pairs.length; i += 2) {
+                checkBatchable(pairs[i]);
+            }
+            TableMetadata metadata = metadata(type);
+            statements.add(new BatchStatement(BatchStatement.Kind.UPDATE, type, metadata, null, condition,
+                    withVersion(pairs, metadata)));
+            return this;
+        }
+
+        @Override
+        public <T> BatchBuilder delete(Condition condition, Class<T> type) {
+            TableMetadata metadata = metadata(type);
+            statements.add(new BatchStatement(BatchStatement.Kind.DELETE, type, metadata, null, condition, null));
+            return this;
+        }
+
+        @Override
+        public Mono<List<Long>> execute() {
+            if (statements.isEmpty()) {
+                return Mono.just(List.of());
+            }
+            return timedBatch(List.copyOf(statements));
+        }
+
+        private TableMetadata metadata(Class<?> type) {
+            classMap.putIfAbsent(type, TableMetadataUtil.parseClass(type));
+            return classMap.get(type);
+        }
+    }
 }
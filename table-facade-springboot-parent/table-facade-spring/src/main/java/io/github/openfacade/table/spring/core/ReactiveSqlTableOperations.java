@@ -0,0 +1,552 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.core;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.LogicalOperator;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import io.github.openfacade.table.spring.util.R2dbcTransactionUtil;
+import io.github.openfacade.table.spring.util.RowMappingUtil;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The statements of the SQL drivers over a {@link DatabaseClient}. Entity and update values are bound, condition
+ * values are written as literals; drivers supply the quoting, literals and clauses their database differs in.
+ */
+public abstract class ReactiveSqlTableOperations extends ReactiveBaseTableOperations {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSSSSS");
+
+    protected final DatabaseClient databaseClient;
+
+    private final R2dbcTransactionManager transactionManager;
+
+    protected ReactiveSqlTableOperations(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.transactionManager = new R2dbcTransactionManager(databaseClient.getConnectionFactory());
+    }
+
+    protected abstract String quoteIdentifier(String identifier);
+
+    /**
+     * A string literal reading back as {@code value} under the connection's default settings.
+     */
+    protected abstract String stringLiteral(String value);
+
+    protected abstract String bytesLiteral(byte[] bytes);
+
+    /**
+     * The statement reporting the plan of {@code sql}, e.g. {@code EXPLAIN sql}.
+     */
+    protected abstract String explainQuery(String sql);
+
+    /**
+     * The direction of an {@code ORDER BY} term, with nulls first in ascending order as {@link Sort} defines.
+     */
+    protected abstract String sortDirection(boolean descending);
+
+    @Override
+    public <T> Mono<T> insert(T object, TableMetadata metadata) {
+        Map<String, Object> values = columnValues(object, metadata);
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Cannot insert an object with all fields as null.");
+        }
+        String query = insertQuery(metadata, values.keySet());
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query);
+        int index = 0;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            spec = spec.bind(index++, bindValue(metadata, entry.getKey(), entry.getValue()));
+        }
+        return executed("insert", metadata, query, values.size(), count -> count, spec.fetch().rowsUpdated())
+                .thenReturn(object);
+    }
+
+    @Override
+    public <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type, TableMetadata metadata) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Pairs must be an even number.");
+        }
+        List<Object> binds = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        StringBuilder query = new StringBuilder("UPDATE ").append(quoteIdentifier(metadata.getTableName()))
+                .append(" SET ");
+        setClause(metadata, pairs, query, binds, types);
+        query.append(" WHERE ");
+        condition(condition, query);
+
+        DatabaseClient.GenericExecuteSpec spec = bindAll(databaseClient.sql(query.toString()), binds, types);
+        return executed("update", metadata, query.toString(), binds.size(), count -> count,
+                spec.fetch().rowsUpdated());
+    }
+
+    @Override
+    protected Flux<Long> updateEntities(EntityUpdate update, TableMetadata metadata) {
+        String tableName = quoteIdentifier(metadata.getTableName());
+        String[] columns = update.columns();
+        String versionColumn = metadata.getVersionColumn();
+        List<String> assignments = new ArrayList<>(columns.length + 1);
+        for (String column : columns) {
+            assignments.add(quoteIdentifier(column) + " = ?");
+        }
+        String where = quoteIdentifier(metadata.getIdColumn()) + " = ?";
+        if (versionColumn != null) {
+            String version = quoteIdentifier(versionColumn);
+            assignments.add(version + " = " + version + " + 1");
+            where += " AND " + version + " = ?";
+        }
+        String query = "UPDATE " + tableName + " SET " + String.join(", ", assignments) + " WHERE " + where;
+        Class<?>[] types = bindTypes(update, metadata);
+        int binds = types.length * update.rows().size();
+
+        // the counts are matched rows, r2dbc-mysql always negotiates CLIENT_FOUND_ROWS, so a row already holding
+        // the new values counts as updated
+        return executed("updateAll", metadata, query, binds, databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(query);
+            List<Object[]> rows = update.rows();
+            for (int r = 0; r < rows.size(); r++) {
+                if (r > 0) {
+                    statement.add();
+                }
+                Object[] values = rows.get(r);
+                for (int i = 0; i < values.length; i++) {
+                    Object value = i < columns.length ? bindValue(metadata, columns[i], values[i]) : values[i];
+                    if (value == null) {
+                        statement.bindNull(i, types[i]);
+                    } else {
+                        statement.bind(i, value);
+                    }
+                }
+            }
+            return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+        }));
+    }
+
+    @Override
+    public <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] pairs, TableMetadata metadata) {
+        StringBuilder select = select(metadata.getColumns(), metadata);
+        if (condition != null) {
+            select.append(" WHERE ");
+            condition(condition, select);
+        }
+        select.append(" LIMIT ").append(limit).append(" FOR UPDATE SKIP LOCKED");
+
+        List<Object> binds = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        StringBuilder update = new StringBuilder("UPDATE ").append(quoteIdentifier(metadata.getTableName()))
+                .append(" SET ");
+        setClause(metadata, pairs, update, binds, types);
+        update.append(" WHERE ");
+
+        return databaseClient.inConnection(connection -> R2dbcTransactionUtil.transactional(connection,
+                        conn -> claimRows(conn, select.toString(), update.toString(), binds, types, metadata)))
+                .flatMapIterable(rows -> rows)
+                .map(timedMapping(metadata, values -> RowMappingUtil.toEntity(values, type, metadata)));
+    }
+
+    private Mono<List<Object[]>> claimRows(Connection connection, String select, String update, List<Object> binds,
+                                           List<Class<?>> types, TableMetadata metadata) {
+        int idOrdinal = Arrays.asList(metadata.getColumns()).indexOf(metadata.getIdColumn());
+        Flux<Object[]> selected = Flux.from(connection.createStatement(select).execute())
+                .concatMap(result -> result.map((row, rowMetadata) -> readRow(row, rowMetadata, metadata)));
+        return executed("claim", metadata, select, 0, selected)
+                .collectList()
+                .flatMap(rows -> {
+                    if (rows.isEmpty()) {
+                        return Mono.just(rows);
+                    }
+                    List<Object> ids = new ArrayList<>(rows.size());
+                    for (Object[] row : rows) {
+                        ids.add(row[idOrdinal]);
+                    }
+                    StringBuilder query = new StringBuilder(update);
+                    condition(new ComparisonCondition(metadata.getIdColumn(), ComparisonOperator.IN, ids), query);
+                    Statement statement = connection.createStatement(query.toString());
+                    bindAll(statement, binds, types);
+                    Mono<Long> updated = Flux.from(statement.execute())
+                            .concatMap(Result::getRowsUpdated)
+                            .reduce(0L, Long::sum);
+                    return executed("claim", metadata, query.toString(), binds.size(), count -> count, updated)
+                            .thenReturn(rows);
+                });
+    }
+
+    @Override
+    public <R> Flux<R> inTransaction(TransactionOptions options,
+                                     Function<ReactiveTableOperations, Publisher<R>> work) {
+        return TransactionalOperator.create(transactionManager, R2dbcTransactionUtil.definition(options))
+                .execute(status -> work.apply(this));
+    }
+
+    /**
+     * Binds every statement of the batch. A run of statements with the same SQL becomes one statement with a
+     * binding per statement, and the runs are executed in order on one connection in one transaction.
+     */
+    @Override
+    protected Mono<List<Long>> executeBatch(List<BatchStatement> statements) {
+        List<List<BoundStatement>> runs = new ArrayList<>();
+        int binds = 0;
+        for (BatchStatement statement : statements) {
+            BoundStatement bound = bound(statement);
+            binds += bound.binds().size();
+            List<BoundStatement> run = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            // a statement without parameters takes no further bindings, so it always runs alone
+            if (run != null && !bound.binds().isEmpty() && run.get(0).sql().equals(bound.sql())) {
+                run.add(bound);
+            } else {
+                run = new ArrayList<>();
+                run.add(bound);
+                runs.add(run);
+            }
+        }
+        Mono<List<Long>> counts = databaseClient.inConnection(connection -> R2dbcTransactionUtil.transactional(
+                connection, conn -> Flux.fromIterable(runs).concatMap(run -> execute(conn, run)).collectList()));
+        String sql = runs.stream().map(run -> run.get(0).sql()).collect(Collectors.joining(";\n"));
+        // reported as one execution under the table of its first statement
+        return executed("batch", statements.get(0).metadata(), sql, binds, ReactiveSqlTableOperations::sum, counts);
+    }
+
+    private static Flux<Long> execute(Connection connection, List<BoundStatement> run) {
+        Statement statement = connection.createStatement(run.get(0).sql());
+        for (int i = 0; i < run.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            bindAll(statement, run.get(i).binds(), run.get(i).types());
+        }
+        return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+    }
+
+    private static long sum(List<Long> counts) {
+        long sum = 0;
+        for (Long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private BoundStatement bound(BatchStatement statement) {
+        TableMetadata metadata = statement.metadata();
+        List<Object> binds = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        switch (statement.kind()) {
+            case INSERT -> {
+                Map<String, Object> values = columnValues(statement.object(), metadata);
+                if (values.isEmpty()) {
+                    throw new IllegalArgumentException("Cannot insert an object with all fields as null.");
+                }
+                for (Map.Entry<String, Object> entry : values.entrySet()) {
+                    binds.add(bindValue(metadata, entry.getKey(), entry.getValue()));
+                    types.add(bindType(metadata, entry.getKey()));
+                }
+                return new BoundStatement(insertQuery(metadata, values.keySet()), binds, types);
+            }
+            case UPDATE -> {
+                StringBuilder query = new StringBuilder("UPDATE ").append(quoteIdentifier(metadata.getTableName()))
+                        .append(" SET ");
+                setClause(metadata, Objects.requireNonNull(statement.pairs()), query, binds, types);
+                query.append(" WHERE ");
+                condition(Objects.requireNonNull(statement.condition()), query);
+                return new BoundStatement(query.toString(), binds, types);
+            }
+            default -> {
+                StringBuilder query = new StringBuilder("DELETE FROM ")
+                        .append(quoteIdentifier(metadata.getTableName())).append(" WHERE ");
+                condition(Objects.requireNonNull(statement.condition()), query);
+                return new BoundStatement(query.toString(), binds, types);
+            }
+        }
+    }
+
+    @Override
+    protected Mono<String> explain(String sql) {
+        // subscribed without the caller's context, so it runs on a pooled connection outside any transaction
+        return databaseClient.sql(explainQuery(sql))
+                .map((row, rowMetadata) -> String.valueOf(row.get(0)))
+                .all()
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public <T> Mono<T> find(Condition condition, Class<T> type, TableMetadata metadata) {
+        StringBuilder query = select(metadata.getColumns(), metadata).append(" WHERE ");
+        condition(condition, query);
+
+        Mono<Object[]> found = databaseClient.sql(query.toString())
+                .map((row, rowMetadata) -> readRow(row, rowMetadata, metadata))
+                .one();
+        return executed("find", metadata, query.toString(), 0, values -> 1L, found)
+                .map(timedMapping(metadata, values -> RowMappingUtil.toEntity(values, type, metadata)));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Class<T> type, TableMetadata metadata) {
+        return entities(select(metadata.getColumns(), metadata).toString(), type, metadata);
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, TableMetadata metadata) {
+        StringBuilder query = select(metadata.getColumns(), metadata).append(" WHERE ");
+        condition(condition, query);
+        return entities(query.toString(), type, metadata);
+    }
+
+    @Override
+    public <T> Flux<T> findAll(@Nullable Condition condition, Class<T> type, Sort sort, int limit,
+                               TableMetadata metadata) {
+        StringBuilder query = select(metadata.getColumns(), metadata);
+        if (condition != null) {
+            query.append(" WHERE ");
+            condition(condition, query);
+        }
+        query.append(" ORDER BY ");
+        List<Sort.Order> orders = sort.getOrders();
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            query.append(i > 0 ? ", " : "").append(quoteIdentifier(order.getColumn()))
+                    .append(sortDirection(order.isDescending()));
+        }
+        query.append(" LIMIT ").append(limit);
+        return entities(query.toString(), type, metadata);
+    }
+
+    private <T> Flux<T> entities(String query, Class<T> type, TableMetadata metadata) {
+        Flux<Object[]> rows = executed("findAll", metadata, query, 0, databaseClient.sql(query)
+                .map((row, rowMetadata) -> readRow(row, rowMetadata, metadata))
+                .all());
+        return rowMappingOffload.map(rows, metadata,
+                timedMapping(metadata, values -> RowMappingUtil.toEntity(values, type, metadata)));
+    }
+
+    @Override
+    public <P> Flux<P> findAll(@Nullable Condition condition, ProjectionMetadata projection, Class<P> resultType,
+                               TableMetadata metadata) {
+        StringBuilder query = select(projection.getColumns(), metadata);
+        if (condition != null) {
+            query.append(" WHERE ");
+            condition(condition, query);
+        }
+
+        return executed("findAll", metadata, query.toString(), 0, databaseClient.sql(query.toString())
+                .map((row, rowMetadata) -> RowMappingUtil.readRow(row,
+                        columnCodecRegistry.codecs(projection, rowMetadata)))
+                .all())
+                .map(timedMapping(metadata, values -> RowMappingUtil.toProjection(values, resultType, projection)));
+    }
+
+    private Object[] readRow(Row row, RowMetadata rowMetadata, TableMetadata metadata) {
+        return RowMappingUtil.readRow(row, columnCodecRegistry.codecs(metadata, rowMetadata));
+    }
+
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, @Nullable Condition condition, RowVisitor visitor,
+                               TableMetadata metadata) {
+        StringBuilder query = select(metadata.getColumns(), metadata);
+        if (condition != null) {
+            query.append(" WHERE ");
+            condition(condition, query);
+        }
+
+        return Mono.defer(() -> {
+            R2dbcRowView view = new R2dbcRowView(metadata);
+            Flux<Boolean> rows = databaseClient.sql(query.toString())
+                    .map((row, rowMetadata) -> {
+                        view.reset(row, columnCodecRegistry.codecs(metadata, rowMetadata));
+                        visitor.visit(view);
+                        return Boolean.TRUE;
+                    })
+                    .all();
+            return executed("scan", metadata, query.toString(), 0, rows).count();
+        });
+    }
+
+    @Override
+    public <T> Mono<Long> delete(Condition condition, Class<T> type, TableMetadata metadata) {
+        StringBuilder query = new StringBuilder("DELETE FROM ").append(quoteIdentifier(metadata.getTableName()))
+                .append(" WHERE ");
+        condition(condition, query);
+
+        return executed("delete", metadata, query.toString(), 0, count -> count,
+                databaseClient.sql(query.toString()).fetch().rowsUpdated());
+    }
+
+    @Override
+    public <T> Mono<Long> deleteAll(Class<T> type, TableMetadata metadata) {
+        String query = "DELETE FROM " + quoteIdentifier(metadata.getTableName());
+
+        return executed("deleteAll", metadata, query, 0, count -> count,
+                databaseClient.sql(query).fetch().rowsUpdated());
+    }
+
+    /**
+     * {@code INSERT INTO table (columns) VALUES (?, ...)} with a placeholder per column.
+     */
+    protected String insertQuery(TableMetadata metadata, Collection<String> columns) {
+        StringBuilder query = new StringBuilder("INSERT INTO ").append(quoteIdentifier(metadata.getTableName()))
+                .append(" (");
+        int i = 0;
+        for (String column : columns) {
+            query.append(i++ > 0 ? ", " : "").append(quoteIdentifier(column));
+        }
+        query.append(") VALUES (");
+        for (int j = 0; j < columns.size(); j++) {
+            query.append(j > 0 ? ", ?" : "?");
+        }
+        return query.append(")").toString();
+    }
+
+    /**
+     * Appends the assignments of update {@code pairs} to {@code query}, adding their values to {@code binds} and
+     * the types to bind a {@code null} of each as to {@code types}.
+     */
+    protected void setClause(TableMetadata metadata, Object[] pairs, StringBuilder query, List<Object> binds,
+                             List<Class<?>> types) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            String column = (String) pairs[i];
+            query.append(i > 0 ? ", " : "").append(assignment(quoteIdentifier(column), pairs[i + 1]));
+            bindAssignment(metadata, column, pairs[i + 1], binds);
+            Class<?> type = metadata.getSetterMap().containsKey(column) ? bindType(metadata, column) : Object.class;
+            while (types.size() < binds.size()) {
+                types.add(type);
+            }
+        }
+    }
+
+    protected static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec,
+                                                               List<Object> binds, List<Class<?>> types) {
+        for (int i = 0; i < binds.size(); i++) {
+            Object value = binds.get(i);
+            spec = value == null ? spec.bindNull(i, types.get(i)) : spec.bind(i, value);
+        }
+        return spec;
+    }
+
+    private static void bindAll(Statement statement, List<Object> binds, List<Class<?>> types) {
+        for (int i = 0; i < binds.size(); i++) {
+            Object value = binds.get(i);
+            if (value == null) {
+                statement.bindNull(i, types.get(i));
+            } else {
+                statement.bind(i, value);
+            }
+        }
+    }
+
+    private StringBuilder select(String[] columns, TableMetadata metadata) {
+        StringBuilder query = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.length; i++) {
+            query.append(i > 0 ? ", " : "").append(quoteIdentifier(columns[i]));
+        }
+        return query.append(" FROM ").append(quoteIdentifier(metadata.getTableName()));
+    }
+
+    protected void condition(Condition condition, StringBuilder sqlBuilder) {
+        if (condition instanceof ComparisonCondition comparisonCondition) {
+            sqlBuilder.append(quoteIdentifier(comparisonCondition.getColumn()))
+                    .append(" ")
+                    .append(comparisonCondition.getOperator().symbol())
+                    .append(" ")
+                    .append(literal(comparisonCondition.getValue()));
+        } else if (condition instanceof CompositeCondition compositeCondition) {
+            List<Condition> conditions = compositeCondition.getConditions();
+            LogicalOperator operator = compositeCondition.getOperator();
+
+            sqlBuilder.append("(");
+            for (int i = 0; i < conditions.size(); i++) {
+                if (i > 0) {
+                    sqlBuilder.append(" ").append(operator.name()).append(" ");
+                }
+                condition(conditions.get(i), sqlBuilder);
+            }
+            sqlBuilder.append(")");
+        } else {
+            throw new IllegalArgumentException("Unsupported condition type: " + condition.getClass().getName());
+        }
+    }
+
+    /**
+     * Renders a condition value as a SQL literal: typed literals for booleans and local dates and times, string
+     * literals of the dialect for text and other values.
+     */
+    protected String literal(@Nullable Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Collection<?> values) {
+            if (values.isEmpty()) {
+                return "(NULL)";
+            }
+            return values.stream().map(this::literal).collect(Collectors.joining(", ", "(", ")"));
+        }
+        if (value instanceof String string) {
+            return stringLiteral(string);
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "TRUE" : "FALSE";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytesLiteral(bytes);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "TIMESTAMP " + stringLiteral(DATE_TIME.format(dateTime));
+        }
+        if (value instanceof LocalDate date) {
+            return "DATE " + stringLiteral(date.toString());
+        }
+        if (value instanceof LocalTime time) {
+            return "TIME " + stringLiteral(TIME.format(time));
+        }
+        return stringLiteral(value.toString());
+    }
+
+    private record BoundStatement(String sql, List<Object> binds, List<Class<?>> types) {
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.core;
+
+import io.github.openfacade.table.api.TableMetrics;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Decides whether rows of an entity are mapped on the driver's event loop or handed to a scheduler.
+ * <p>
+ * Drivers read the raw column values while the row is still valid on the loop, the offloaded part is what
+ * remains: instantiating the entity, conversions such as hex decoding, and the setter calls.
+ */
+public final class RowMappingOffload {
+    private static final RowMappingOffload DISABLED = new RowMappingOffload(false, Integer.MAX_VALUE, 1, Schedulers.immediate());
+
+    private final boolean enabled;
+
+    @Getter
+    private final int minColumns;
+
+    @Getter
+    private final int prefetch;
+
+    @Getter
+    private final Scheduler scheduler;
+
+    private final LongAdder offloadedRows = new LongAdder();
+
+    private final LongAdder offloadedNanos = new LongAdder();
+
+    private final LongAdder inlineRows = new LongAdder();
+
+    public RowMappingOffload(boolean enabled, int minColumns, int prefetch, Scheduler scheduler) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be positive.");
+        }
+        this.enabled = enabled;
+        this.minColumns = minColumns;
+        this.prefetch = prefetch;
+        this.scheduler = scheduler;
+    }
+
+    public static RowMappingOffload disabled() {
+        return DISABLED;
+    }
+
+    public static RowMappingOffload of(TableFacadeProperties.RowMapping properties) {
+        Scheduler scheduler = switch (properties.getScheduler()) {
+            case parallel -> Schedulers.parallel();
+            case boundedElastic -> Schedulers.boundedElastic();
+        };
+        return new RowMappingOffload(properties.isOffload(), properties.getOffloadMinColumns(),
+                properties.getPrefetch(), scheduler);
+    }
+
+    /**
+     * Publishes the row counts and the loop time saved to {@code metrics}.
+     */
+    public void bindTo(TableMetrics metrics) {
+        metrics.bindCounter("table.facade.mapping.offloaded", "rows", this, RowMappingOffload::getOffloadedRows);
+        metrics.bindCounter("table.facade.mapping.inline", "rows", this, RowMappingOffload::getInlineRows);
+        metrics.bindCounter("table.facade.mapping.loop.saved", "seconds", this,
+                offload -> offload.getLoopTimeSavedNanos() / 1e9);
+    }
+
+    public boolean isOffloaded(TableMetadata metadata) {
+        if (!enabled) {
+            return false;
+        }
+        if (metadata.getColumns().length >= minColumns) {
+            return true;
+        }
+        for (Class<?> setterType : metadata.getSetterTypes()) {
+            if (setterType == byte[].class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Maps raw {@code rows} to entities, after a hop to the scheduler when the entity qualifies. The raw values
+     * must have been copied out of the driver row already, a row is only valid inside the driver's callback.
+     */
+    public <V, T> Flux<T> map(Flux<V> rows, TableMetadata metadata, Function<V, T> mapper) {
+        if (!isOffloaded(metadata)) {
+            if (!enabled) {
+                return rows.map(mapper);
+            }
+            return rows.map(values -> {
+                inlineRows.increment();
+                return mapper.apply(values);
+            });
+        }
+        return rows.publishOn(scheduler, prefetch)
+                .map(values -> {
+                    long start = System.nanoTime();
+                    T entity = mapper.apply(values);
+                    offloadedNanos.add(System.nanoTime() - start);
+                    offloadedRows.increment();
+                    return entity;
+                });
+    }
+
+    public long getOffloadedRows() {
+        return offloadedRows.sum();
+    }
+
+    public long getInlineRows() {
+        return inlineRows.sum();
+    }
+
+    /**
+     * Time spent mapping offloaded rows, all of which the event loop would otherwise have spent itself.
+     */
+    public long getLoopTimeSavedNanos() {
+        return offloadedNanos.sum();
+    }
+}
@@ -22,6 +22,12 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Setter
 @ConfigurationProperties("spring.table.facade")
@@ -34,6 +40,33 @@ public class TableFacadeProperties {
     @NestedConfigurationProperty
     private Postgre postgre;
 
+    @NestedConfigurationProperty
+    private Memory memory = new Memory();
+
+    @NestedConfigurationProperty
+    private RowMapping rowMapping = new RowMapping();
+
+    @NestedConfigurationProperty
+    private ReadReplicas readReplicas = new ReadReplicas();
+
+    @NestedConfigurationProperty
+    private Sharding sharding = new Sharding();
+
+    @NestedConfigurationProperty
+    private Limiter limiter = new Limiter();
+
+    @NestedConfigurationProperty
+    private Scheduler scheduler = new Scheduler();
+
+    @NestedConfigurationProperty
+    private Metrics metrics = new Metrics();
+
+    @NestedConfigurationProperty
+    private QueryStats queryStats = new QueryStats();
+
+    @NestedConfigurationProperty
+    private SlowQueryLog slowQueryLog = new SlowQueryLog();
+
     @Getter
     @Setter
     public static class OpenGauss {
@@ -45,4 +78,229 @@ public class TableFacadeProperties {
     public static class Postgre {
         private String schema;
     }
+
+    @Getter
+    @Setter
+    public static class Memory {
+        /**
+         * Secondary ordered indexes keyed by table name, range conditions on these columns avoid a full scan.
+         */
+        private Map<String, List<String>> indexes = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class RowMapping {
+        /**
+         * Map rows of wide or binary entities on {@link #scheduler} instead of the driver's event loop.
+         */
+        private boolean offload = false;
+
+        /**
+         * Entities with at least this many columns are offloaded, entities with a byte[] column always are.
+         */
+        private int offloadMinColumns = 16;
+
+        private int prefetch = 256;
+
+        private OffloadScheduler scheduler = OffloadScheduler.parallel;
+    }
+
+    @Getter
+    @Setter
+    public static class ReadReplicas {
+        /**
+         * R2DBC connections of the replicas. With any configured, reads are balanced over them and writes go to the
+         * primary connection factory.
+         */
+        private List<Connection> connections = new ArrayList<>();
+
+        /**
+         * Reads of a {@code ReadYourWritesSession} go to the primary for this long after the session's last write.
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(1);
+
+        /**
+         * A replica failing with a resource error gets no reads for this long.
+         */
+        private Duration unhealthyCooldown = Duration.ofSeconds(10);
+
+        @NestedConfigurationProperty
+        private Hedge hedge = new Hedge();
+    }
+
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = false;
+
+        /**
+         * A read is hedged once it takes longer than this percentile of the recent reads of its table.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Upper bound of hedges per read, so hedging never adds more than this fraction of read load.
+         */
+        private double maxRate = 0.05;
+
+        /**
+         * Reads are never hedged sooner than this.
+         */
+        private Duration minDelay = Duration.ofMillis(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Sharding {
+        /**
+         * R2DBC connections of the shards in shard order, which must never change for existing data. With any
+         * configured, rows are spread over them by the {@code @ShardKey} of their entity.
+         */
+        private List<Connection> connections = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        /**
+         * Cap the operations in flight per table and lane, adapting the cap to the measured latency.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Latency above this multiple of the lowest recent latency of a table counts as congestion.
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Factor applied to the limit on congestion.
+         */
+        private double backoffRatio = 0.9;
+
+        @NestedConfigurationProperty
+        private LaneLimit interactive = new LaneLimit(20, 200, 100);
+
+        @NestedConfigurationProperty
+        private LaneLimit batch = new LaneLimit(4, 20, 1000);
+    }
+
+    @Getter
+    @Setter
+    public static class LaneLimit {
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 200;
+
+        /**
+         * Operations waiting for the limit, further ones fail with {@code LimitExceededException}.
+         */
+        private int maxQueue = 100;
+
+        public LaneLimit() {
+        }
+
+        public LaneLimit(int initialLimit, int maxLimit, int maxQueue) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.maxQueue = maxQueue;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Scheduler {
+        /**
+         * Hand out the connections of each pool by lane priority and weighted fair queuing over tables.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Connections of each pool, should match the pool's maximum size.
+         */
+        private int maxConnections = 10;
+
+        /**
+         * Connections of each pool that only interactive operations may use.
+         */
+        private int reservedConnections = 2;
+
+        private int maxQueue = 10000;
+
+        /**
+         * Share of connections of a table relative to the others in its lane, tables not listed weigh 1.
+         */
+        private Map<String, Integer> weights = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+        /**
+         * Record operations to the application's {@code MeterRegistry}, if there is one.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Service level buckets of the operation timers.
+         */
+        private List<Duration> slos = new ArrayList<>(List.of(Duration.ofMillis(1), Duration.ofMillis(5),
+                Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+                Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)));
+    }
+
+    @Getter
+    @Setter
+    public static class QueryStats {
+        /**
+         * Aggregate executed statements by shape, see {@code QueryStatistics}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Shapes tracked individually, statements of further shapes are added up as one.
+         */
+        private int maxShapes = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class SlowQueryLog {
+        private boolean enabled = false;
+
+        /**
+         * Statements taking at least this long are logged.
+         */
+        private Duration threshold = Duration.ofMillis(500);
+
+        /**
+         * Attach the plan of slow statements without bind parameters, fetched with {@code EXPLAIN}.
+         */
+        private boolean explain = false;
+
+        /**
+         * Minimum time between two {@code EXPLAIN} statements.
+         */
+        private Duration explainInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Connection {
+        /**
+         * R2DBC URL, e.g. {@code r2dbc:pool:mysql://replica-1:3306/db}.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+
+    public enum OffloadScheduler {
+        parallel,
+        boundedElastic,
+    }
 }
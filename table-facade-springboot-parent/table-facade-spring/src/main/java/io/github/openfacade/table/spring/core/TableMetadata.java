@@ -16,18 +16,102 @@
 
 package io.github.openfacade.table.spring.core;
 
-import lombok.AllArgsConstructor;
+import io.github.openfacade.table.api.anno.Compressed;
+import io.github.openfacade.table.spring.codec.ColumnCodec;
 import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Getter
-@AllArgsConstructor
 public class TableMetadata {
+    private final Class<?> entityType;
+
     private final String tableName;
 
     private final LinkedHashMap<String, Method> setterMap;
 
     private final LinkedHashMap<String, Method> getterMap;
+
+    @Nullable
+    private final String idColumn;
+
+    @Nullable
+    private final String versionColumn;
+
+    @Nullable
+    private final String shardKeyColumn;
+
+    /**
+     * No-arg constructor of the entity, {@code null} if it has none and can only be written.
+     */
+    @Nullable
+    private final Constructor<?> constructor;
+
+    /**
+     * Columns, setters and setter parameter types in select list order, so rows can be decoded by ordinal.
+     * {@link #lazyColumns} are not part of the select list.
+     */
+    private final String[] columns;
+
+    private final Method[] setters;
+
+    private final Class<?>[] setterTypes;
+
+    private final String[] lazyColumns;
+
+    /**
+     * Codec of every {@code @Compressed} column, keyed by column name.
+     */
+    private final Map<String, Compressed.Codec> compressedColumns;
+
+    /**
+     * Element type, {@code String} or {@code byte[]}, of every {@code @Compressed} column declared as
+     * {@code CompressedValue}, keyed by column name. These columns are decompressed on first access.
+     */
+    private final Map<String, Class<?>> compressedValueTypes;
+
+    @Setter
+    @Nullable
+    private volatile ColumnCodec[] columnCodecs;
+
+    public TableMetadata(Class<?> entityType, String tableName, LinkedHashMap<String, Method> setterMap,
+                         LinkedHashMap<String, Method> getterMap, @Nullable String idColumn,
+                         @Nullable String versionColumn, @Nullable String shardKeyColumn,
+                         @Nullable Constructor<?> constructor,
+                         Set<String> lazyColumns, Map<String, Compressed.Codec> compressedColumns,
+                         Map<String, Class<?>> compressedValueTypes) {
+        this.entityType = entityType;
+        this.tableName = tableName;
+        this.setterMap = setterMap;
+        this.getterMap = getterMap;
+        this.idColumn = idColumn;
+        this.versionColumn = versionColumn;
+        this.shardKeyColumn = shardKeyColumn;
+        this.constructor = constructor;
+        this.lazyColumns = lazyColumns.toArray(new String[0]);
+        this.compressedColumns = compressedColumns;
+        this.compressedValueTypes = compressedValueTypes;
+        List<String> eagerColumns = new ArrayList<>();
+        List<Method> eagerSetters = new ArrayList<>();
+        for (Map.Entry<String, Method> entry : setterMap.entrySet()) {
+            if (!lazyColumns.contains(entry.getKey())) {
+                eagerColumns.add(entry.getKey());
+                eagerSetters.add(entry.getValue());
+            }
+        }
+        this.columns = eagerColumns.toArray(new String[0]);
+        this.setters = eagerSetters.toArray(new Method[0]);
+        this.setterTypes = new Class<?>[setters.length];
+        for (int i = 0; i < setters.length; i++) {
+            setterTypes[i] = setters[i].getParameterTypes()[0];
+        }
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.intercept;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Callbacks around every statement the SQL drivers send, e.g. to trace them. {@link #before} runs when the statement
+ * is subscribed to and may add to the Reactor context the statement runs with, such as a span that the R2DBC driver
+ * or a proxy picks up. The other callbacks receive that context. Callbacks run on the subscribing or the driver's
+ * thread and must not block.
+ */
+public interface ExecutionInterceptor {
+    /**
+     * Returns the context to run the statement with, {@code context} itself if nothing is added.
+     */
+    default Context before(Execution execution, Context context) {
+        return context;
+    }
+
+    /**
+     * The statement completed or was cancelled after {@code rows} rows, or the rows updated for writes,
+     * {@code nanos} after {@link #before}.
+     */
+    default void after(Execution execution, ContextView context, long rows, long nanos) {
+    }
+
+    default void error(Execution execution, ContextView context, Throwable error, long nanos) {
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.intercept;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.List;
+
+/**
+ * The chain of {@link ExecutionInterceptor}s of the drivers, fixed when it is built. {@link #before} runs them in
+ * order, {@link #after} and {@link #error} in reverse order. Drivers check {@link #isEmpty()} before they create an
+ * {@link Execution}, so an empty chain costs nothing per statement. An interceptor failing is logged and does not
+ * fail the statement.
+ */
+@Slf4j
+public final class ExecutionInterceptors {
+    private static final ExecutionInterceptors NONE = new ExecutionInterceptors(new ExecutionInterceptor[0]);
+
+    private final ExecutionInterceptor[] interceptors;
+
+    private ExecutionInterceptors(ExecutionInterceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    public static ExecutionInterceptors none() {
+        return NONE;
+    }
+
+    public static ExecutionInterceptors of(List<? extends ExecutionInterceptor> interceptors) {
+        if (interceptors.isEmpty()) {
+            return NONE;
+        }
+        return new ExecutionInterceptors(interceptors.toArray(new ExecutionInterceptor[0]));
+    }
+
+    public boolean isEmpty() {
+        return interceptors.length == 0;
+    }
+
+    public int size() {
+        return interceptors.length;
+    }
+
+    public Context before(Execution execution, Context context) {
+        for (ExecutionInterceptor interceptor : interceptors) {
+            try {
+                context = interceptor.before(execution, context);
+            } catch (RuntimeException e) {
+                log.warn("Execution interceptor {} failed before {}", interceptor, execution.operation(), e);
+            }
+        }
+        return context;
+    }
+
+    public void after(Execution execution, ContextView context, long rows, long nanos) {
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            try {
+                interceptors[i].after(execution, context, rows, nanos);
+            } catch (RuntimeException e) {
+                log.warn("Execution interceptor {} failed after {}", interceptors[i], execution.operation(), e);
+            }
+        }
+    }
+
+    public void error(Execution execution, ContextView context, Throwable error, long nanos) {
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            try {
+                interceptors[i].error(execution, context, error, nanos);
+            } catch (RuntimeException e) {
+                log.warn("Execution interceptor {} failed on error of {}", interceptors[i], execution.operation(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import io.github.openfacade.table.api.TableMetrics;
+import io.github.openfacade.table.spring.util.ExceptionUtil;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the operations in flight for one table and lane, and adapts the cap to the measured latency with
+ * additive increase, multiplicative decrease: every operation finishing near the lowest latency seen for its
+ * {@link Kind} raises the limit by {@code 1 / limit}, i.e. by one per round of operations. An operation slower than
+ * {@code tolerance} times that baseline, or failing because the database is unreachable or timed out, cuts it by
+ * {@code backoffRatio}, at most once per baseline latency. Operations over the limit wait in a bounded FIFO queue,
+ * beyond it they fail with {@link LimitExceededException}.
+ * <p>
+ * Streams are timed until their first row, as their total time depends on the rows read rather than on the
+ * database's load. Each kind keeps a baseline of its own, so a long scan is not compared to point reads.
+ */
+public final class AdaptiveLimit {
+    public enum Kind {
+        /**
+         * Single row reads, e.g. {@code find}.
+         */
+        READ,
+        /**
+         * Reads and writes emitting rows, timed until the first one.
+         */
+        STREAM,
+        WRITE,
+        /**
+         * Operations whose time grows with the rows of the table, e.g. {@code scan} or {@code deleteAll}.
+         */
+        BULK
+    }
+
+    @Getter
+    private final String table;
+
+    @Getter
+    private final Lane lane;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int maxQueue;
+
+    private final double tolerance;
+
+    private final double backoffRatio;
+
+    private final ArrayDeque<Permit> queue = new ArrayDeque<>();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private double limit;
+
+    private int inFlight;
+
+    private final long[] baselineNanos = new long[Kind.values().length];
+
+    private long lastDecreaseNanos;
+
+    public AdaptiveLimit(String table, Lane lane, int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                         double tolerance, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max.");
+        }
+        if (tolerance <= 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Tolerance must exceed 1 and backoff ratio lie between 0 and 1.");
+        }
+        this.table = table;
+        this.lane = lane;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.lastDecreaseNanos = System.nanoTime() - 1_000_000_000L;
+        Arrays.fill(baselineNanos, Long.MAX_VALUE);
+    }
+
+    public <R> Mono<R> run(Mono<R> operation) {
+        return run(Kind.READ, operation);
+    }
+
+    public <R> Mono<R> run(Kind kind, Mono<R> operation) {
+        return acquire(kind).flatMap(permit -> operation
+                .doOnError(e -> permit.congested = ExceptionUtil.isResourceFailure(e))
+                .doFinally(signal -> release(permit, signal)));
+    }
+
+    public <R> Flux<R> run(Flux<R> operation) {
+        return run(Kind.STREAM, operation);
+    }
+
+    public <R> Flux<R> run(Kind kind, Flux<R> operation) {
+        return acquire(kind).flatMapMany(permit -> operation
+                .doOnNext(value -> permit.firstSignal())
+                .doOnError(e -> permit.congested = ExceptionUtil.isResourceFailure(e))
+                .doFinally(signal -> release(permit, signal)));
+    }
+
+    /**
+     * Publishes the current limit, the operations in flight and queued, and the rejections to {@code metrics},
+     * tagged with the table and lane.
+     */
+    public void bindTo(TableMetrics metrics) {
+        String[] tags = {"table", table, "lane", lane.name()};
+        metrics.bindGauge("table.facade.limit", "operations", this, AdaptiveLimit::getLimit, tags);
+        metrics.bindGauge("table.facade.limit.in.flight", "operations", this, AdaptiveLimit::getInFlight, tags);
+        metrics.bindGauge("table.facade.limit.queued", "operations", this, AdaptiveLimit::getQueued, tags);
+        metrics.bindCounter("table.facade.limit.rejected", "operations", this, AdaptiveLimit::getRejected, tags);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private Mono<Permit> acquire(Kind kind) {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(sink, kind);
+            sink.onCancel(() -> cancel(permit));
+            boolean granted;
+            synchronized (this) {
+                granted = inFlight < (int) limit;
+                if (granted) {
+                    inFlight++;
+                    permit.grant(System.nanoTime());
+                } else if (queue.size() < maxQueue) {
+                    queue.add(permit);
+                    return;
+                }
+            }
+            if (granted) {
+                sink.success(permit);
+            } else {
+                rejected.increment();
+                sink.error(new LimitExceededException("Concurrency limit of table " + table + " in lane " + lane
+                        + " exceeded with " + maxQueue + " operations queued"));
+            }
+        });
+    }
+
+    private void cancel(Permit permit) {
+        synchronized (this) {
+            if (queue.remove(permit)) {
+                return;
+            }
+        }
+        release(permit, SignalType.CANCEL);
+    }
+
+    private void release(Permit permit, SignalType signal) {
+        List<Permit> granted = new ArrayList<>(1);
+        synchronized (this) {
+            if (!permit.granted || permit.released) {
+                return;
+            }
+            permit.released = true;
+            inFlight--;
+            long now = System.nanoTime();
+            if (signal == SignalType.ON_COMPLETE) {
+                long end = permit.firstSignalNanos != 0 ? permit.firstSignalNanos : now;
+                sample(permit.kind, now, end - permit.startNanos);
+            } else if (signal == SignalType.CANCEL && permit.firstSignalNanos != 0) {
+                // a stream cancelled after its first row, e.g. by take(n), still measured the database
+                sample(permit.kind, now, permit.firstSignalNanos - permit.startNanos);
+            } else if (signal == SignalType.ON_ERROR && permit.congested) {
+                decrease(now);
+            }
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                Permit next = queue.poll();
+                inFlight++;
+                next.grant(now);
+                granted.add(next);
+            }
+        }
+        for (Permit next : granted) {
+            next.sink.success(next);
+        }
+    }
+
+    private void sample(Kind kind, long now, long latencyNanos) {
+        int k = kind.ordinal();
+        if (latencyNanos < baselineNanos[k]) {
+            baselineNanos[k] = latencyNanos;
+        } else {
+            // let the baseline drift up slowly, so it follows a database that got slower for good
+            baselineNanos[k] += (latencyNanos - baselineNanos[k]) >> 10;
+        }
+        if (latencyNanos > baselineNanos[k] * tolerance) {
+            decrease(now);
+        } else if (limit < maxLimit && inFlight + 1 >= (int) limit) {
+            // only grow a limit that is actually used up
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    private void decrease(long now) {
+        long baseline = 1_000_000_000L;
+        for (long nanos : baselineNanos) {
+            baseline = Math.min(baseline, nanos);
+        }
+        if (now - lastDecreaseNanos < baseline) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    private static class Permit {
+        private final MonoSink<Permit> sink;
+
+        private final Kind kind;
+
+        private boolean granted;
+
+        private long startNanos;
+
+        private volatile long firstSignalNanos;
+
+        private boolean released;
+
+        private volatile boolean congested;
+
+        Permit(MonoSink<Permit> sink, Kind kind) {
+            this.sink = sink;
+            this.kind = kind;
+        }
+
+        void firstSignal() {
+            if (kind == Kind.STREAM && firstSignalNanos == 0) {
+                firstSignalNanos = System.nanoTime();
+            }
+        }
+
+        void grant(long now) {
+            granted = true;
+            startNanos = now;
+        }
+    }
+}
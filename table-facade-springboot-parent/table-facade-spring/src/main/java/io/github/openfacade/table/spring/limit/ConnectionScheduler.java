@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import io.github.openfacade.table.api.TableMetrics;
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Hands out the connections of one pool to operations by priority. {@link Lane#BATCH} operations never hold more
+ * than {@code maxConnections - reservedConnections}, the rest is kept for {@link Lane#INTERACTIVE} ones, which are
+ * also served first when a connection frees up. Within a lane, waiting operations are served by weighted fair
+ * queuing over their tables: a table of weight 2 gets twice the connections of a table of weight 1 while both
+ * have operations waiting, however many each queued.
+ */
+public final class ConnectionScheduler {
+    private final int maxConnections;
+
+    private final int batchConnections;
+
+    private final int maxQueue;
+
+    private final Map<String, Integer> weights;
+
+    private final Map<Lane, LaneQueue> queues = new EnumMap<>(Lane.class);
+
+    private final Map<Lane, Integer> inUse = new EnumMap<>(Lane.class);
+
+    private long sequence;
+
+    public ConnectionScheduler(int maxConnections, int reservedConnections, int maxQueue,
+                               Map<String, Integer> weights) {
+        if (reservedConnections < 0 || reservedConnections >= maxConnections) {
+            throw new IllegalArgumentException("Reserved connections must be below the maximum connections.");
+        }
+        this.maxConnections = maxConnections;
+        this.batchConnections = maxConnections - reservedConnections;
+        this.maxQueue = maxQueue;
+        this.weights = Map.copyOf(weights);
+        for (Lane lane : Lane.values()) {
+            queues.put(lane, new LaneQueue());
+            inUse.put(lane, 0);
+        }
+    }
+
+    public static ConnectionScheduler of(TableFacadeProperties.Scheduler properties) {
+        return new ConnectionScheduler(properties.getMaxConnections(), properties.getReservedConnections(),
+                properties.getMaxQueue(), properties.getWeights());
+    }
+
+    public <R> Mono<R> run(Lane lane, String table, Mono<R> operation) {
+        return acquire(lane, table).flatMap(ticket -> operation.doFinally(signal -> release(ticket)));
+    }
+
+    public <R> Flux<R> run(Lane lane, String table, Flux<R> operation) {
+        return acquire(lane, table).flatMapMany(ticket -> operation.doFinally(signal -> release(ticket)));
+    }
+
+    /**
+     * Publishes the connections in use and the operations queued of each lane to {@code metrics}, tagged with
+     * {@code pool} to tell the schedulers of several pools apart.
+     */
+    public void bindTo(TableMetrics metrics, String pool) {
+        for (Lane lane : Lane.values()) {
+            String[] tags = {"pool", pool, "lane", lane.name()};
+            metrics.bindGauge("table.facade.scheduler.in.use", "connections", this,
+                    scheduler -> scheduler.getInUse(lane), tags);
+            metrics.bindGauge("table.facade.scheduler.queued", "operations", this,
+                    scheduler -> scheduler.getQueued(lane), tags);
+        }
+    }
+
+    public synchronized int getInUse(Lane lane) {
+        return inUse.get(lane);
+    }
+
+    public synchronized int getQueued(Lane lane) {
+        return queues.get(lane).waiting.size();
+    }
+
+    private Mono<Ticket> acquire(Lane lane, String table) {
+        return Mono.create(sink -> {
+            Ticket ticket = new Ticket(lane, sink);
+            sink.onCancel(() -> cancel(ticket));
+            boolean granted;
+            synchronized (this) {
+                LaneQueue queue = queues.get(lane);
+                granted = queue.waiting.isEmpty() && hasRoom(lane);
+                if (granted) {
+                    take(ticket);
+                } else if (queue.waiting.size() < maxQueue) {
+                    queue.enqueue(ticket, table, weights.getOrDefault(table, 1), sequence++);
+                    return;
+                }
+            }
+            if (granted) {
+                sink.success(ticket);
+            } else {
+                sink.error(new LimitExceededException("Connection queue of lane " + lane + " is full with "
+                        + maxQueue + " operations"));
+            }
+        });
+    }
+
+    private void cancel(Ticket ticket) {
+        synchronized (this) {
+            if (queues.get(ticket.lane).waiting.remove(ticket)) {
+                return;
+            }
+        }
+        release(ticket);
+    }
+
+    private void release(Ticket ticket) {
+        List<Ticket> granted = new ArrayList<>(1);
+        synchronized (this) {
+            if (!ticket.granted || ticket.released) {
+                return;
+            }
+            ticket.released = true;
+            inUse.merge(ticket.lane, -1, Integer::sum);
+            for (Lane lane : Lane.values()) {
+                LaneQueue queue = queues.get(lane);
+                while (!queue.waiting.isEmpty() && hasRoom(lane)) {
+                    Ticket next = queue.dequeue();
+                    take(next);
+                    granted.add(next);
+                }
+            }
+        }
+        for (Ticket next : granted) {
+            next.sink.success(next);
+        }
+    }
+
+    private boolean hasRoom(Lane lane) {
+        int total = inUse.get(Lane.INTERACTIVE) + inUse.get(Lane.BATCH);
+        return total < maxConnections && (lane == Lane.INTERACTIVE || inUse.get(Lane.BATCH) < batchConnections);
+    }
+
+    private void take(Ticket ticket) {
+        ticket.granted = true;
+        inUse.merge(ticket.lane, 1, Integer::sum);
+    }
+
+    /**
+     * Tags every waiting operation with the virtual time at which its table's share would have served it, and
+     * serves the smallest tag first.
+     */
+    private static class LaneQueue {
+        private final PriorityQueue<Ticket> waiting = new PriorityQueue<>(Comparator
+                .comparingDouble((Ticket ticket) -> ticket.finishTag).thenComparingLong(ticket -> ticket.sequence));
+
+        private final Map<String, Double> lastFinishTags = new HashMap<>();
+
+        private double virtualTime;
+
+        void enqueue(Ticket ticket, String table, int weight, long sequence) {
+            double start = Math.max(virtualTime, lastFinishTags.getOrDefault(table, 0.0));
+            ticket.finishTag = start + 1.0 / weight;
+            ticket.sequence = sequence;
+            lastFinishTags.put(table, ticket.finishTag);
+            waiting.add(ticket);
+        }
+
+        Ticket dequeue() {
+            Ticket ticket = waiting.poll();
+            virtualTime = ticket.finishTag;
+            if (waiting.isEmpty()) {
+                // a new busy period starts from scratch, so idle tables gain no credit
+                lastFinishTags.clear();
+                virtualTime = 0;
+            }
+            return ticket;
+        }
+    }
+
+    private static class Ticket {
+        private final Lane lane;
+
+        private final MonoSink<Ticket> sink;
+
+        private double finishTag;
+
+        private long sequence;
+
+        private boolean granted;
+
+        private boolean released;
+
+        Ticket(Lane lane, MonoSink<Ticket> sink) {
+            this.lane = lane;
+            this.sink = sink;
+        }
+    }
+}
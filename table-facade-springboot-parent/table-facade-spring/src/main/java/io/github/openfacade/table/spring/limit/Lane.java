@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * The kind of traffic an operation belongs to, read from the Reactor context. Each lane has limits of its own, so
+ * batch jobs bound with {@code contextWrite(Lane.BATCH::bind)} cannot use up the capacity of interactive requests.
+ * Operations without a lane are {@link #INTERACTIVE}.
+ */
+public enum Lane {
+    INTERACTIVE,
+    BATCH;
+
+    public Context bind(Context context) {
+        return context.put(Lane.class, this);
+    }
+
+    public static Lane of(ContextView context) {
+        return context.getOrDefault(Lane.class, INTERACTIVE);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import io.github.openfacade.table.api.TableException;
+
+/**
+ * Signals an operation shed without being sent to the database, because the concurrency limit of its table and
+ * lane was reached and the queue in front of it was full. Retrying right away only adds to the overload.
+ */
+public class LimitExceededException extends TableException {
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
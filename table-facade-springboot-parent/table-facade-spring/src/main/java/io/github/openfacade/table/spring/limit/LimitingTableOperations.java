@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.TableMetrics;
+import io.github.openfacade.table.api.UpdateResult;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import io.github.openfacade.table.spring.routing.DelegatingReactiveTableOperations;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Runs every operation under the {@link AdaptiveLimit} of its table and {@link Lane}, so that a slow database
+ * sees a bounded number of operations instead of a growing connection acquire queue. Transactions and batches are
+ * limited under the table {@value #ANY_TABLE}; the operations inside a transaction are not limited again, the
+ * transaction holds its connection already. Scans and other operations over many rows are sampled apart from
+ * point reads and writes, see {@link AdaptiveLimit.Kind}.
+ */
+public class LimitingTableOperations extends DelegatingReactiveTableOperations {
+    public static final String ANY_TABLE = "*";
+
+    private final ReactiveTableOperations delegate;
+
+    private final TableFacadeProperties.Limiter properties;
+
+    private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+    private final Map<Key, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    private final TableMetrics metrics;
+
+    public LimitingTableOperations(ReactiveTableOperations delegate, TableFacadeProperties.Limiter properties) {
+        this(delegate, properties, TableMetrics.NOOP);
+    }
+
+    /**
+     * @param metrics receives the gauges of every limit as it is created
+     */
+    public LimitingTableOperations(ReactiveTableOperations delegate, TableFacadeProperties.Limiter properties,
+                                   TableMetrics metrics) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected <R> Mono<R> read(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+        return limited(type, AdaptiveLimit.Kind.READ, operation);
+    }
+
+    @Override
+    protected <R> Flux<R> readMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+        return Flux.deferContextual(context -> limit(type, Lane.of(context))
+                .run(AdaptiveLimit.Kind.STREAM, Flux.defer(() -> operation.apply(delegate))));
+    }
+
+    @Override
+    protected <R> Mono<R> write(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+        return limited(type, AdaptiveLimit.Kind.WRITE, operation);
+    }
+
+    @Override
+    protected <R> Flux<R> writeMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+        return readMany(type, operation);
+    }
+
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor) {
+        return limited(type, AdaptiveLimit.Kind.BULK, operations -> operations.scan(type, condition, visitor));
+    }
+
+    @Override
+    public <T> Mono<Long> deleteAll(Class<T> type) {
+        return limited(type, AdaptiveLimit.Kind.BULK, operations -> operations.deleteAll(type));
+    }
+
+    @Override
+    public <T> Mono<List<UpdateResult<T>>> updateAll(List<T> entities) {
+        Class<?> type = entities.isEmpty() ? null : entities.get(0).getClass();
+        return limited(type, AdaptiveLimit.Kind.BULK, operations -> operations.updateAll(entities));
+    }
+
+    @Override
+    public <T> Mono<List<T>> fetchLazyAll(List<T> entities) {
+        Class<?> type = entities.isEmpty() ? null : entities.get(0).getClass();
+        return limited(type, AdaptiveLimit.Kind.BULK, operations -> operations.fetchLazyAll(entities));
+    }
+
+    /**
+     * The limits created so far, e.g. to publish their current limit, operations in flight and queue depth.
+     */
+    public Collection<AdaptiveLimit> getLimits() {
+        return List.copyOf(limits.values());
+    }
+
+    private <R> Mono<R> limited(Class<?> type, AdaptiveLimit.Kind kind,
+                                Function<ReactiveTableOperations, Mono<R>> operation) {
+        return Mono.deferContextual(context -> limit(type, Lane.of(context))
+                .run(kind, Mono.defer(() -> operation.apply(delegate))));
+    }
+
+    private AdaptiveLimit limit(Class<?> type, Lane lane) {
+        String table = type == null ? ANY_TABLE : tableNames.computeIfAbsent(type, TableMetadataUtil::getTableName);
+        return limits.computeIfAbsent(new Key(table, lane), key -> {
+            TableFacadeProperties.LaneLimit laneLimit = switch (lane) {
+                case INTERACTIVE -> properties.getInteractive();
+                case BATCH -> properties.getBatch();
+            };
+            AdaptiveLimit limit = new AdaptiveLimit(table, lane, laneLimit.getInitialLimit(),
+                    laneLimit.getMinLimit(), laneLimit.getMaxLimit(), laneLimit.getMaxQueue(),
+                    properties.getTolerance(), properties.getBackoffRatio());
+            limit.bindTo(metrics);
+            return limit;
+        });
+    }
+
+    private record Key(String table, Lane lane) {
+    }
+}
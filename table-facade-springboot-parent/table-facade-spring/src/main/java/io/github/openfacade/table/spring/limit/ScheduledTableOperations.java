@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.spring.routing.DelegatingReactiveTableOperations;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Runs the operations of one connection pool through its {@link ConnectionScheduler}, in the {@link Lane} of their
+ * Reactor context and the flow of their table. Transactions and batches count as table
+ * {@value LimitingTableOperations#ANY_TABLE}.
+ */
+public class ScheduledTableOperations extends DelegatingReactiveTableOperations {
+    private final ReactiveTableOperations delegate;
+
+    @Getter
+    private final ConnectionScheduler scheduler;
+
+    private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+    public ScheduledTableOperations(ReactiveTableOperations delegate, ConnectionScheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    protected <R> Mono<R> read(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+        return Mono.deferContextual(context -> scheduler.run(Lane.of(context), table(type),
+                Mono.defer(() -> operation.apply(delegate))));
+    }
+
+    @Override
+    protected <R> Flux<R> readMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+        return Flux.deferContextual(context -> scheduler.run(Lane.of(context), table(type),
+                Flux.defer(() -> operation.apply(delegate))));
+    }
+
+    @Override
+    protected <R> Mono<R> write(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+        return read(type, operation);
+    }
+
+    @Override
+    protected <R> Flux<R> writeMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+        return readMany(type, operation);
+    }
+
+    private String table(Class<?> type) {
+        return type == null ? LimitingTableOperations.ANY_TABLE
+                : tableNames.computeIfAbsent(type, TableMetadataUtil::getTableName);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.api.UpdateResult;
+import io.github.openfacade.table.reactive.api.BatchBuilder;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Forwards every operation to an underlying {@link ReactiveTableOperations} chosen per call. Subclasses decide
+ * where reads and writes go; transactions, claims and batches are writes, so everything they do stays on the
+ * operations chosen for them.
+ */
+public abstract class DelegatingReactiveTableOperations implements ReactiveTableOperations {
+    /**
+     * Reads rows of the table of {@code type}, which is {@code null} for reads without entities.
+     */
+    protected abstract <R> Mono<R> read(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation);
+
+    protected abstract <R> Flux<R> readMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation);
+
+    /**
+     * Writes rows of the table of {@code type}, which is {@code null} for transactions and batches.
+     */
+    protected abstract <R> Mono<R> write(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation);
+
+    protected abstract <R> Flux<R> writeMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation);
+
+    @Override
+    public <T> Mono<T> insert(T object) {
+        return write(object.getClass(), operations -> operations.insert(object));
+    }
+
+    @Override
+    public <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type) {
+        return write(type, operations -> operations.update(condition, pairs, type));
+    }
+
+    @Override
+    public <T> Mono<UpdateResult<T>> update(T entity) {
+        return write(entity.getClass(), operations -> operations.update(entity));
+    }
+
+    @Override
+    public <T> Mono<List<UpdateResult<T>>> updateAll(List<T> entities) {
+        Class<?> type = entities.isEmpty() ? null : entities.get(0).getClass();
+        return write(type, operations -> operations.updateAll(entities));
+    }
+
+    @Override
+    public <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] claimUpdate) {
+        return writeMany(type, operations -> operations.claim(type, condition, limit, claimUpdate));
+    }
+
+    @Override
+    public <R> Flux<R> inTransaction(Function<ReactiveTableOperations, Publisher<R>> work) {
+        return inTransaction(TransactionOptions.DEFAULT, work);
+    }
+
+    @Override
+    public <R> Flux<R> inTransaction(TransactionOptions options, Function<ReactiveTableOperations, Publisher<R>> work) {
+        return writeMany(null, operations -> operations.inTransaction(options, work));
+    }
+
+    @Override
+    public BatchBuilder batch() {
+        return new DelegatingBatchBuilder();
+    }
+
+    @Override
+    public <T> Mono<T> find(Condition condition, Class<T> type) {
+        return read(type, operations -> operations.find(condition, type));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Class<T> type) {
+        return readMany(type, operations -> operations.findAll(type));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type) {
+        return readMany(type, operations -> operations.findAll(condition, type));
+    }
+
+    @Override
+    public <T, P> Flux<P> findAll(Condition condition, Class<T> type, Class<P> projection) {
+        return readMany(type, operations -> operations.findAll(condition, type, projection));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, List<String> columns) {
+        return readMany(type, operations -> operations.findAll(condition, type, columns));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, Sort sort, int limit) {
+        return readMany(type, operations -> operations.findAll(condition, type, sort, limit));
+    }
+
+    @Override
+    public <T, V> Flux<V> findAllLazy(Condition condition, Class<T> type, Class<V> view) {
+        return readMany(type, operations -> operations.findAllLazy(condition, type, view));
+    }
+
+    @Override
+    public <T> Mono<T> fetchLazy(T entity) {
+        return read(entity.getClass(), operations -> operations.fetchLazy(entity));
+    }
+
+    @Override
+    public <T> Mono<List<T>> fetchLazyAll(List<T> entities) {
+        Class<?> type = entities.isEmpty() ? null : entities.get(0).getClass();
+        return read(type, operations -> operations.fetchLazyAll(entities));
+    }
+
+    @Override
+    public <T> Mono<Long> delete(Condition condition, Class<T> type) {
+        return write(type, operations -> operations.delete(condition, type));
+    }
+
+    @Override
+    public <T> Mono<Long> deleteAll(Class<T> type) {
+        return write(type, operations -> operations.deleteAll(type));
+    }
+
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor) {
+        return read(type, operations -> operations.scan(type, condition, visitor));
+    }
+
+    /**
+     * Records the statements and replays them on the operations the batch is written to once executed.
+     */
+    private class DelegatingBatchBuilder implements BatchBuilder {
+        private final List<Consumer<BatchBuilder>> statements = new ArrayList<>();
+
+        @Override
+        public <T> BatchBuilder insert(T object) {
+            statements.add(batch -> batch.insert(object));
+            return this;
+        }
+
+        @Override
+        public <T> BatchBuilder update(Condition condition, Object[] pairs, Class<T> type) {
+            statements.add(batch -> batch.update(condition, pairs, type));
+            return this;
+        }
+
+        @Override
+        public <T> BatchBuilder delete(Condition condition, Class<T> type) {
+            statements.add(batch -> batch.delete(condition, type));
+            return this;
+        }
+
+        @Override
+        public Mono<List<Long>> execute() {
+            List<Consumer<BatchBuilder>> recorded = List.copyOf(statements);
+            return write(null, operations -> {
+                BatchBuilder batch = operations.batch();
+                recorded.forEach(statement -> statement.accept(batch));
+                return batch.execute();
+            });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Spreads keys evenly over the shards by a hash that only depends on the key's value: integral numbers of any
+ * type hash alike, strings hash by their UTF-8 bytes.
+ */
+public class HashShardFunction implements ShardFunction {
+    @Override
+    public int shard(Object key, int shards) {
+        return (int) Math.floorMod(mix(hash(key)), (long) shards);
+    }
+
+    private static long hash(Object key) {
+        if (key instanceof Byte || key instanceof Short || key instanceof Integer || key instanceof Long) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof String string) {
+            return Arrays.hashCode(string.getBytes(StandardCharsets.UTF_8));
+        }
+        if (key instanceof byte[] bytes) {
+            return Arrays.hashCode(bytes);
+        }
+        return key.hashCode();
+    }
+
+    /**
+     * The finalizer of MurmurHash3, so that keys differing in few bits still land on different shards.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import io.github.openfacade.table.api.TableMetrics;
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when a read is hedged, i.e. sent to a second target because the first has not answered yet. The delay is
+ * a percentile of the recent latencies of the table, so only the slowest reads are hedged, and every read earns
+ * {@code maxRate} of a hedge so that hedges never add more than that fraction of load.
+ */
+public final class HedgePolicy {
+    private static final int SAMPLES = 128;
+
+    private static final int MIN_SAMPLES = 32;
+
+    private static final long BUDGET_UNIT = 1_000_000L;
+
+    private static final long MAX_BUDGET = 10 * BUDGET_UNIT;
+
+    private final double percentile;
+
+    private final long budgetPerRead;
+
+    private final long minDelayNanos;
+
+    private final Map<Class<?>, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final AtomicLong budget = new AtomicLong();
+
+    private final LongAdder hedgesIssued = new LongAdder();
+
+    private final LongAdder hedgesWon = new LongAdder();
+
+    public HedgePolicy(double percentile, double maxRate, Duration minDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+        if (maxRate < 0 || maxRate > 1) {
+            throw new IllegalArgumentException("Max rate must be between 0 and 1.");
+        }
+        this.percentile = percentile;
+        this.budgetPerRead = (long) (maxRate * BUDGET_UNIT);
+        this.minDelayNanos = minDelay.toNanos();
+    }
+
+    public static HedgePolicy of(TableFacadeProperties.Hedge properties) {
+        return new HedgePolicy(properties.getPercentile(), properties.getMaxRate(), properties.getMinDelay());
+    }
+
+    /**
+     * Counts a read of the table of {@code type} towards the budget and returns how long it may take before it is
+     * hedged, or {@code null} while too few of its latencies are known.
+     */
+    Duration delay(Class<?> type) {
+        budget.getAndUpdate(current -> Math.min(MAX_BUDGET, current + budgetPerRead));
+        LatencyWindow window = type == null ? null : latencies.get(type);
+        long nanos = window == null ? -1 : window.percentileNanos;
+        return nanos < 0 ? null : Duration.ofNanos(Math.max(nanos, minDelayNanos));
+    }
+
+    /**
+     * Takes a hedge from the budget, {@code false} if the hedge rate is used up.
+     */
+    boolean tryHedge() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < BUDGET_UNIT) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - BUDGET_UNIT));
+        hedgesIssued.increment();
+        return true;
+    }
+
+    void hedgeWon() {
+        hedgesWon.increment();
+    }
+
+    /**
+     * Records the time until {@code attempt} answers. A cancelled attempt, typically the loser of a hedge, is not
+     * recorded: the time it took until cancelled is only the delay of the winner, and would pull the percentile down
+     * towards the delay itself.
+     */
+    <R> Mono<R> timed(Class<?> type, Mono<R> attempt) {
+        if (type == null) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.doOnSuccess(value -> record(type, start));
+        });
+    }
+
+    <R> Flux<R> timed(Class<?> type, Flux<R> attempt) {
+        if (type == null) {
+            return attempt;
+        }
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean answered = new AtomicBoolean();
+            return attempt.doOnEach(signal -> {
+                if (!signal.isOnError() && answered.compareAndSet(false, true)) {
+                    record(type, start);
+                }
+            });
+        });
+    }
+
+    /**
+     * Publishes the hedges issued and won to {@code metrics}.
+     */
+    public void bindTo(TableMetrics metrics) {
+        metrics.bindCounter("table.facade.hedges.issued", "requests", this, HedgePolicy::getHedgesIssued);
+        metrics.bindCounter("table.facade.hedges.won", "requests", this, HedgePolicy::getHedgesWon);
+    }
+
+    public long getHedgesIssued() {
+        return hedgesIssued.sum();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    private void record(Class<?> type, long start) {
+        latencies.computeIfAbsent(type, key -> new LatencyWindow()).record(System.nanoTime() - start, percentile);
+    }
+
+    /**
+     * The last {@link #SAMPLES} latencies of one table, the percentile is recomputed every few samples.
+     */
+    private static class LatencyWindow {
+        private final long[] samples = new long[SAMPLES];
+
+        private int next;
+
+        private int size;
+
+        private int sinceUpdate;
+
+        private volatile long percentileNanos = -1;
+
+        synchronized void record(long nanos, double percentile) {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLES;
+            size = Math.min(size + 1, SAMPLES);
+            if (size >= MIN_SAMPLES && ++sinceUpdate >= 8) {
+                sinceUpdate = 0;
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                percentileNanos = sorted[(int) (percentile * (size - 1))];
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import java.util.List;
+
+/**
+ * Assigns keys to shards by ranges: shard {@code i} holds the keys below {@code upperBounds[i]} and not below the
+ * previous bound, the last shard the keys from the last bound on. Adjacent key ranges stay on one shard.
+ */
+public final class RangeShardFunction implements ShardFunction {
+    private final List<? extends Comparable<?>> upperBounds;
+
+    public RangeShardFunction(List<? extends Comparable<?>> upperBounds) {
+        for (int i = 1; i < upperBounds.size(); i++) {
+            if (compare(upperBounds.get(i - 1), upperBounds.get(i)) >= 0) {
+                throw new IllegalArgumentException("Upper bounds must be ascending.");
+            }
+        }
+        this.upperBounds = List.copyOf(upperBounds);
+    }
+
+    @Override
+    public int shard(Object key, int shards) {
+        if (upperBounds.size() != shards - 1) {
+            throw new IllegalArgumentException(shards + " shards need " + (shards - 1) + " upper bounds, not "
+                    + upperBounds.size());
+        }
+        int low = 0;
+        int high = upperBounds.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(key, upperBounds.get(mid)) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object key, Object bound) {
+        if (isIntegral(key) && isIntegral(bound)) {
+            return Long.compare(((Number) key).longValue(), ((Number) bound).longValue());
+        }
+        return ((Comparable) key).compareTo(bound);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long;
+    }
+}
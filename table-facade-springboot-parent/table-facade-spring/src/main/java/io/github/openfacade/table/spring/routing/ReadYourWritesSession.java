@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Remembers the last write of one client, e.g. a user's web session. Bound to the Reactor context of its
+ * operations with {@code contextWrite(session::bind)}, it makes {@link ReplicaRoutingTableOperations} send reads
+ * to the primary for a short window after a write, so the client sees its own writes despite replication lag.
+ */
+public final class ReadYourWritesSession {
+    private volatile boolean written;
+
+    private volatile long lastWriteNanos;
+
+    public Context bind(Context context) {
+        return context.put(ReadYourWritesSession.class, this);
+    }
+
+    static ReadYourWritesSession of(ContextView context) {
+        return context.getOrDefault(ReadYourWritesSession.class, null);
+    }
+
+    void recordWrite() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+
+    boolean wroteWithin(long windowNanos) {
+        return written && System.nanoTime() - lastWriteNanos < windowNanos;
+    }
+}
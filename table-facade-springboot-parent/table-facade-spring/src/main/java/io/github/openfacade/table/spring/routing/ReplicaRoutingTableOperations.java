@@ -0,0 +1,298 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import io.github.openfacade.table.spring.util.ExceptionUtil;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Sends writes to the primary and balances reads over the replicas, preferring the healthy replica with the fewest
+ * reads in flight. A replica failing with a resource error, e.g. a refused connection, gets no reads until
+ * {@code unhealthyCooldown} has passed, and the failed read is retried on the primary if it emitted nothing yet.
+ * Reads of a {@link ReadYourWritesSession} that wrote within {@code readYourWritesWindow} go to the primary.
+ * <p>
+ * With a {@link HedgePolicy}, a replica read that is slower than usual for its table is sent to a second target as
+ * well, preferably another replica, and the first target to answer wins while the other is cancelled.
+ */
+public final class ReplicaRoutingTableOperations extends DelegatingReactiveTableOperations {
+    private final ReactiveTableOperations primary;
+
+    private final List<Replica> replicas;
+
+    private final long readYourWritesWindowNanos;
+
+    private final long unhealthyCooldownNanos;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder primaryReads = new LongAdder();
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    /**
+     * Hedges slow reads to a second target when set.
+     */
+    @Getter
+    @Setter
+    private volatile HedgePolicy hedgePolicy;
+
+    public ReplicaRoutingTableOperations(ReactiveTableOperations primary, List<ReactiveTableOperations> replicas,
+                                         Duration readYourWritesWindow, Duration unhealthyCooldown) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required.");
+        }
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        this.unhealthyCooldownNanos = unhealthyCooldown.toNanos();
+    }
+
+    public static ReplicaRoutingTableOperations of(ReactiveTableOperations primary,
+                                                   List<ReactiveTableOperations> replicas,
+                                                   TableFacadeProperties.ReadReplicas properties) {
+        ReplicaRoutingTableOperations operations = new ReplicaRoutingTableOperations(primary, replicas,
+                properties.getReadYourWritesWindow(), properties.getUnhealthyCooldown());
+        if (properties.getHedge().isEnabled()) {
+            operations.setHedgePolicy(HedgePolicy.of(properties.getHedge()));
+        }
+        return operations;
+    }
+
+    @Override
+    protected <R> Mono<R> read(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+        return Mono.deferContextual(context -> {
+            Replica replica = select(context, null);
+            HedgePolicy hedge = hedgePolicy;
+            if (replica == null || hedge == null) {
+                return attempt(replica, operation, true);
+            }
+            Duration delay = hedge.delay(type);
+            Mono<R> first = hedge.timed(type, attempt(replica, operation, true));
+            if (delay == null) {
+                return first;
+            }
+            Mono<R> second = Mono.delay(delay).flatMap(tick -> {
+                if (!hedge.tryHedge()) {
+                    return Mono.never();
+                }
+                return hedge.timed(type, attempt(select(context, replica), operation, true))
+                        .doOnSuccess(value -> hedge.hedgeWon());
+            });
+            return Mono.firstWithSignal(first, second);
+        });
+    }
+
+    @Override
+    protected <R> Flux<R> readMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+        return Flux.deferContextual(context -> {
+            Replica replica = select(context, null);
+            HedgePolicy hedge = hedgePolicy;
+            if (replica == null || hedge == null) {
+                return attemptMany(replica, operation);
+            }
+            Duration delay = hedge.delay(type);
+            Flux<R> first = hedge.timed(type, attemptMany(replica, operation));
+            if (delay == null) {
+                return first;
+            }
+            Flux<R> second = Mono.delay(delay).flatMapMany(tick -> {
+                if (!hedge.tryHedge()) {
+                    return Flux.never();
+                }
+                AtomicBoolean answered = new AtomicBoolean();
+                return hedge.timed(type, attemptMany(select(context, replica), operation))
+                        .doOnEach(signal -> {
+                            if (!signal.isOnError() && answered.compareAndSet(false, true)) {
+                                hedge.hedgeWon();
+                            }
+                        });
+            });
+            return Flux.firstWithSignal(first, second);
+        });
+    }
+
+    /**
+     * Never hedged nor retried, the visitor has seen the rows of the first attempt already.
+     */
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor) {
+        return Mono.deferContextual(context ->
+                attempt(select(context, null), operations -> operations.scan(type, condition, visitor), false));
+    }
+
+    /**
+     * Never hedged nor retried, like {@link #scan}: the lazy columns are set on the caller's entity while they are
+     * read, so a second attempt would race with the first on the same object.
+     */
+    @Override
+    public <T> Mono<T> fetchLazy(T entity) {
+        return Mono.deferContextual(context ->
+                attempt(select(context, null), operations -> operations.fetchLazy(entity), false));
+    }
+
+    @Override
+    public <T> Mono<List<T>> fetchLazyAll(List<T> entities) {
+        return Mono.deferContextual(context ->
+                attempt(select(context, null), operations -> operations.fetchLazyAll(entities), false));
+    }
+
+    /**
+     * The session's write is recorded before completion is signalled, so a read chained after it sees it.
+     */
+    @Override
+    protected <R> Mono<R> write(Class<?> type, Function<ReactiveTableOperations, Mono<R>> operation) {
+        return Mono.deferContextual(context -> {
+            ReadYourWritesSession session = ReadYourWritesSession.of(context);
+            if (session == null) {
+                return operation.apply(primary);
+            }
+            return operation.apply(primary).doOnTerminate(session::recordWrite).doOnCancel(session::recordWrite);
+        });
+    }
+
+    @Override
+    protected <R> Flux<R> writeMany(Class<?> type, Function<ReactiveTableOperations, Flux<R>> operation) {
+        return Flux.deferContextual(context -> {
+            ReadYourWritesSession session = ReadYourWritesSession.of(context);
+            if (session == null) {
+                return operation.apply(primary);
+            }
+            return operation.apply(primary).doOnTerminate(session::recordWrite).doOnCancel(session::recordWrite);
+        });
+    }
+
+    /**
+     * Reads from {@code replica}, or the primary if it is {@code null}. A resource failure of the replica marks it
+     * down, and with {@code retry} the read is repeated on the primary.
+     */
+    private <R> Mono<R> attempt(Replica replica, Function<ReactiveTableOperations, Mono<R>> operation,
+                                boolean retry) {
+        if (replica == null) {
+            primaryReads.increment();
+            return operation.apply(primary);
+        }
+        replicaReads.increment();
+        return replica.track(Mono.defer(() -> operation.apply(replica.operations)))
+                .onErrorResume(ExceptionUtil::isResourceFailure, e -> {
+                    replica.markDown(unhealthyCooldownNanos);
+                    if (!retry) {
+                        return Mono.error(e);
+                    }
+                    primaryReads.increment();
+                    return operation.apply(primary);
+                });
+    }
+
+    private <R> Flux<R> attemptMany(Replica replica, Function<ReactiveTableOperations, Flux<R>> operation) {
+        if (replica == null) {
+            primaryReads.increment();
+            return operation.apply(primary);
+        }
+        replicaReads.increment();
+        AtomicBoolean emitted = new AtomicBoolean();
+        return replica.track(Flux.defer(() -> operation.apply(replica.operations)))
+                .doOnNext(value -> emitted.set(true))
+                .onErrorResume(ExceptionUtil::isResourceFailure, e -> {
+                    replica.markDown(unhealthyCooldownNanos);
+                    if (emitted.get()) {
+                        return Flux.error(e);
+                    }
+                    primaryReads.increment();
+                    return operation.apply(primary);
+                });
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    /**
+     * The healthy replica other than {@code excluded} with the fewest reads in flight, scanning from a rotating start
+     * so that ties are spread evenly, or {@code null} if the read has to go to the primary.
+     */
+    private Replica select(ContextView context, Replica excluded) {
+        ReadYourWritesSession session = ReadYourWritesSession.of(context);
+        if (session != null && session.wroteWithin(readYourWritesWindowNanos)) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        long now = System.nanoTime();
+        Replica selected = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica == excluded || !replica.isHealthy(now)) {
+                continue;
+            }
+            if (selected == null || replica.inFlight.get() < selected.inFlight.get()) {
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    private static class Replica {
+        private final ReactiveTableOperations operations;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private volatile long downUntilNanos;
+
+        private volatile boolean down;
+
+        Replica(ReactiveTableOperations operations) {
+            this.operations = operations;
+        }
+
+        boolean isHealthy(long now) {
+            return !down || now - downUntilNanos >= 0;
+        }
+
+        void markDown(long cooldownNanos) {
+            downUntilNanos = System.nanoTime() + cooldownNanos;
+            down = true;
+        }
+
+        <R> Mono<R> track(Mono<R> reads) {
+            return reads.doOnSubscribe(subscription -> inFlight.incrementAndGet())
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        }
+
+        <R> Flux<R> track(Flux<R> reads) {
+            return reads.doOnSubscribe(subscription -> inFlight.incrementAndGet())
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        }
+    }
+}
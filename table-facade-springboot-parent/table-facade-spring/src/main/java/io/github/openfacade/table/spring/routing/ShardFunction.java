@@ -0,0 +1,28 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+/**
+ * Maps the {@code @ShardKey} value of a row to the shard holding it. The mapping must be stable across restarts
+ * and instances, it decides where existing rows are looked up.
+ */
+public interface ShardFunction {
+    /**
+     * The shard of {@code key}, between {@code 0} inclusive and {@code shards} exclusive.
+     */
+    int shard(Object key, int shards);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import io.github.openfacade.table.reactive.api.ReactiveTableManagement;
+import org.jetbrains.annotations.NotNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Manages the tables of every shard of {@link ShardingTableOperations}: a table exists only if it exists on all
+ * shards, and is dropped from all of them.
+ */
+public final class ShardingTableManagement implements ReactiveTableManagement {
+    private final List<ReactiveTableManagement> shards;
+
+    public ShardingTableManagement(List<ReactiveTableManagement> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public Mono<Boolean> existsTable(@NotNull String tableName) {
+        return Flux.fromIterable(shards)
+                .flatMap(shard -> shard.existsTable(tableName))
+                .all(Boolean::booleanValue);
+    }
+
+    @Override
+    public Mono<Void> dropTable(@NotNull String tableName) {
+        return Flux.fromIterable(shards)
+                .flatMap(shard -> shard.dropTable(tableName))
+                .then();
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.LogicalOperator;
+import io.github.openfacade.table.api.RowVisitor;
+import io.github.openfacade.table.api.Sort;
+import io.github.openfacade.table.api.UpdateResult;
+import io.github.openfacade.table.reactive.api.BatchBuilder;
+import io.github.openfacade.table.reactive.api.ReactiveTableOperations;
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spreads the rows of every table over several databases by the {@code @ShardKey} column of its entity. Operations
+ * on one entity, and operations whose condition pins the shard key with {@code =} or {@code IN}, go to the shards
+ * holding those keys only. Other operations are sent to all shards in parallel and their results merged: rows are
+ * concatenated in arrival order, counts summed. Transactions cannot span shards, they run on the shard of one key,
+ * see {@link #inTransaction(TransactionOptions, Function)}.
+ */
+public final class ShardingTableOperations implements ReactiveTableOperations {
+    private final List<ReactiveTableOperations> shards;
+
+    private final ShardFunction shardFunction;
+
+    private final Map<Class<?>, TableMetadata> classMap = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextClaimShard = new AtomicInteger();
+
+    public ShardingTableOperations(List<ReactiveTableOperations> shards, ShardFunction shardFunction) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required.");
+        }
+        this.shards = List.copyOf(shards);
+        this.shardFunction = shardFunction;
+    }
+
+    /**
+     * The operations of the shard holding {@code shardKey}, e.g. to run a transaction on it.
+     */
+    public ReactiveTableOperations shard(Object shardKey) {
+        if (shardKey == null) {
+            throw new IllegalArgumentException("Shard key must not be null");
+        }
+        return shards.get(shardOfKey(shardKey));
+    }
+
+    /**
+     * Binds {@code shardKey} to the Reactor context, so that {@link #inTransaction(TransactionOptions, Function)}
+     * subscribed within it runs on the shard holding that key:
+     * {@code operations.inTransaction(work).contextWrite(ShardingTableOperations.withShardKey(tenantId))}.
+     */
+    public static Function<Context, Context> withShardKey(Object shardKey) {
+        if (shardKey == null) {
+            throw new IllegalArgumentException("Shard key must not be null");
+        }
+        return context -> context.put(ShardKey.class, new ShardKey(shardKey));
+    }
+
+    @Override
+    public <T> Mono<T> insert(T object) {
+        return shards.get(shardOf(object)).insert(object);
+    }
+
+    @Override
+    public <T> Mono<Long> update(Condition condition, Object[] pairs, Class<T> type) {
+        TableMetadata metadata = metadata(type);
+        checkShardKeyUnchanged(pairs, metadata);
+        return sum(targets(condition, metadata), shard -> shard.update(condition, pairs, type));
+    }
+
+    @Override
+    public <T> Mono<UpdateResult<T>> update(T entity) {
+        return shards.get(shardOf(entity)).update(entity);
+    }
+
+    @Override
+    public <T> Mono<List<UpdateResult<T>>> updateAll(List<T> entities) {
+        Map<Integer, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            positions.computeIfAbsent(shardOf(entities.get(i)), key -> new ArrayList<>()).add(i);
+        }
+        if (positions.size() <= 1) {
+            return positions.isEmpty() ? Mono.just(List.of())
+                    : shards.get(positions.keySet().iterator().next()).updateAll(entities);
+        }
+        List<UpdateResult<T>> results = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            results.add(null);
+        }
+        return Flux.fromIterable(positions.entrySet())
+                .flatMap(entry -> {
+                    List<Integer> indexes = entry.getValue();
+                    List<T> shardEntities = indexes.stream().map(entities::get).toList();
+                    return shards.get(entry.getKey()).updateAll(shardEntities).doOnNext(shardResults -> {
+                        synchronized (results) {
+                            for (int i = 0; i < indexes.size(); i++) {
+                                results.set(indexes.get(i), shardResults.get(i));
+                            }
+                        }
+                    });
+                })
+                .then(Mono.fromSupplier(() -> List.copyOf(results)));
+    }
+
+    /**
+     * Claims from one shard after the other until {@code limit} rows are taken, starting at a rotating shard so that
+     * consumers drain the shards evenly.
+     */
+    @Override
+    public <T> Flux<T> claim(Class<T> type, Condition condition, int limit, Object[] claimUpdate) {
+        TableMetadata metadata = metadata(type);
+        checkShardKeyUnchanged(claimUpdate, metadata);
+        BitSet targets = targets(condition, metadata);
+        List<Integer> order = new ArrayList<>(targets.cardinality());
+        int start = Math.floorMod(nextClaimShard.getAndIncrement(), shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = (start + i) % shards.size();
+            if (targets.get(shard)) {
+                order.add(shard);
+            }
+        }
+        AtomicInteger remaining = new AtomicInteger(limit);
+        return Flux.fromIterable(order)
+                .concatMap(shard -> remaining.get() <= 0 ? Flux.<T>empty()
+                        : shards.get(shard).claim(type, condition, remaining.get(), claimUpdate)
+                        .doOnNext(entity -> remaining.decrementAndGet()));
+    }
+
+    @Override
+    public <R> Flux<R> inTransaction(Function<ReactiveTableOperations, Publisher<R>> work) {
+        return inTransaction(TransactionOptions.DEFAULT, work);
+    }
+
+    /**
+     * Runs {@code work} in a transaction on the shard of the key bound with {@link #withShardKey(Object)}, and
+     * hands it the operations of that shard only. Without a bound key this works on a single shard and fails on
+     * several, as a transaction cannot span shards.
+     */
+    @Override
+    public <R> Flux<R> inTransaction(TransactionOptions options, Function<ReactiveTableOperations, Publisher<R>> work) {
+        return Flux.deferContextual(context -> {
+            ShardKey shardKey = context.getOrDefault(ShardKey.class, null);
+            if (shardKey != null) {
+                return shard(shardKey.value()).inTransaction(options, work);
+            }
+            if (shards.size() == 1) {
+                return shards.get(0).inTransaction(options, work);
+            }
+            return Flux.error(new IllegalStateException("Transactions cannot span shards, bind the shard key of "
+                    + "the transaction with contextWrite(ShardingTableOperations.withShardKey(key))"));
+        });
+    }
+
+    @Override
+    public BatchBuilder batch() {
+        return new ShardingBatchBuilder();
+    }
+
+    @Override
+    public <T> Mono<T> find(Condition condition, Class<T> type) {
+        return merge(targets(condition, metadata(type)), shard -> shard.find(condition, type)).next();
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Class<T> type) {
+        return merge(all(), shard -> shard.findAll(type));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type) {
+        return merge(targets(condition, metadata(type)), shard -> shard.findAll(condition, type));
+    }
+
+    @Override
+    public <T, P> Flux<P> findAll(Condition condition, Class<T> type, Class<P> projection) {
+        return merge(targets(condition, metadata(type)), shard -> shard.findAll(condition, type, projection));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, List<String> columns) {
+        return merge(targets(condition, metadata(type)), shard -> shard.findAll(condition, type, columns));
+    }
+
+    /**
+     * Each shard runs the query with the order and limit, so it sends at most {@code limit} rows, and the sorted
+     * streams of the shards are merged until {@code limit} rows are taken.
+     */
+    @Override
+    public <T> Flux<T> findAll(Condition condition, Class<T> type, Sort sort, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        TableMetadata metadata = metadata(type);
+        BitSet targets = targets(condition, metadata);
+        if (targets.cardinality() == 1) {
+            return shards.get(targets.nextSetBit(0)).findAll(condition, type, sort, limit);
+        }
+        List<Flux<T>> sorted = new ArrayList<>(targets.cardinality());
+        for (int shard = targets.nextSetBit(0); shard >= 0; shard = targets.nextSetBit(shard + 1)) {
+            sorted.add(shards.get(shard).findAll(condition, type, sort, limit));
+        }
+        @SuppressWarnings("unchecked")
+        Flux<T>[] sources = sorted.toArray(new Flux[0]);
+        return Flux.mergeComparing(comparator(sort, metadata), sources).take(limit);
+    }
+
+    @Override
+    public <T, V> Flux<V> findAllLazy(Condition condition, Class<T> type, Class<V> view) {
+        return merge(targets(condition, metadata(type)), shard -> shard.findAllLazy(condition, type, view));
+    }
+
+    @Override
+    public <T> Mono<T> fetchLazy(T entity) {
+        return shards.get(shardOf(entity)).fetchLazy(entity);
+    }
+
+    @Override
+    public <T> Mono<List<T>> fetchLazyAll(List<T> entities) {
+        Map<Integer, List<T>> byShard = new LinkedHashMap<>();
+        for (T entity : entities) {
+            byShard.computeIfAbsent(shardOf(entity), key -> new ArrayList<>()).add(entity);
+        }
+        return Flux.fromIterable(byShard.entrySet())
+                .flatMap(entry -> shards.get(entry.getKey()).fetchLazyAll(entry.getValue()))
+                .then(Mono.just(entities));
+    }
+
+    @Override
+    public <T> Mono<Long> delete(Condition condition, Class<T> type) {
+        return sum(targets(condition, metadata(type)), shard -> shard.delete(condition, type));
+    }
+
+    @Override
+    public <T> Mono<Long> deleteAll(Class<T> type) {
+        metadata(type);
+        return sum(all(), shard -> shard.deleteAll(type));
+    }
+
+    /**
+     * Scans the shards one after the other, so the visitor is never called concurrently.
+     */
+    @Override
+    public <T> Mono<Long> scan(Class<T> type, Condition condition, RowVisitor visitor) {
+        BitSet targets = targets(condition, metadata(type));
+        return Flux.fromStream(targets.stream().boxed())
+                .concatMap(shard -> shards.get(shard).scan(type, condition, visitor))
+                .reduce(0L, Long::sum);
+    }
+
+    private <R> Flux<R> merge(BitSet targets, Function<ReactiveTableOperations, ? extends Publisher<R>> operation) {
+        if (targets.cardinality() == 1) {
+            return Flux.from(operation.apply(shards.get(targets.nextSetBit(0))));
+        }
+        return Flux.fromStream(targets.stream().boxed())
+                .flatMap(shard -> operation.apply(shards.get(shard)), targets.cardinality());
+    }
+
+    private Mono<Long> sum(BitSet targets, Function<ReactiveTableOperations, Mono<Long>> operation) {
+        return merge(targets, operation).reduce(0L, Long::sum);
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(shards.size());
+        all.set(0, shards.size());
+        return all;
+    }
+
+    /**
+     * The shards that may hold rows matching {@code condition}: those of the keys it pins with {@code =} or
+     * {@code IN}, narrowed by {@code AND} and widened by {@code OR}, or all shards.
+     */
+    private BitSet targets(Condition condition, TableMetadata metadata) {
+        if (condition instanceof ComparisonCondition comparison
+                && comparison.getColumn().equals(metadata.getShardKeyColumn())) {
+            if (comparison.getOperator() == ComparisonOperator.EQ && comparison.getValue() != null) {
+                BitSet targets = new BitSet(shards.size());
+                targets.set(shardOfKey(comparison.getValue()));
+                return targets;
+            }
+            if (comparison.getOperator() == ComparisonOperator.IN
+                    && comparison.getValue() instanceof Collection<?> keys) {
+                BitSet targets = new BitSet(shards.size());
+                for (Object key : keys) {
+                    if (key != null) {
+                        targets.set(shardOfKey(key));
+                    }
+                }
+                return targets;
+            }
+        }
+        if (condition instanceof CompositeCondition composite) {
+            BitSet targets = null;
+            for (Condition child : composite.getConditions()) {
+                BitSet childTargets = targets(child, metadata);
+                if (targets == null) {
+                    targets = childTargets;
+                } else if (composite.getOperator() == LogicalOperator.AND) {
+                    targets.and(childTargets);
+                } else {
+                    targets.or(childTargets);
+                }
+            }
+            return targets == null ? all() : targets;
+        }
+        return all();
+    }
+
+    /**
+     * Orders entities like the databases order rows by {@code sort}, nulls first.
+     */
+    private static <T> Comparator<T> comparator(Sort sort, TableMetadata metadata) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort.getOrders()) {
+            Method getter = metadata.getGetterMap().get(order.getColumn());
+            Comparator<T> column = Comparator.comparing(entity -> invoke(getter, entity),
+                    Comparator.nullsFirst(ShardingTableOperations::compareValues));
+            if (order.isDescending()) {
+                column = column.reversed();
+            }
+            comparator = comparator == null ? column : comparator.thenComparing(column);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof byte[] leftBytes && right instanceof byte[] rightBytes) {
+            return Arrays.compareUnsigned(leftBytes, rightBytes);
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+
+    private static Object invoke(Method getter, Object entity) {
+        try {
+            return getter.invoke(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Error invoking getter", e);
+        }
+    }
+
+    private int shardOf(Object entity) {
+        TableMetadata metadata = metadata(entity.getClass());
+        Method getter = metadata.getGetterMap().get(metadata.getShardKeyColumn());
+        Object key;
+        try {
+            key = getter.invoke(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading shard key of " + entity.getClass().getName(), e);
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("Shard key of " + entity.getClass().getName() + " must not be null");
+        }
+        return shardOfKey(key);
+    }
+
+    private int shardOfKey(Object key) {
+        int shard = shardFunction.shard(key, shards.size());
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalStateException("Shard function returned " + shard + " for " + shards.size() + " shards");
+        }
+        return shard;
+    }
+
+    private TableMetadata metadata(Class<?> type) {
+        TableMetadata metadata = classMap.computeIfAbsent(type, TableMetadataUtil::parseClass);
+        if (metadata.getShardKeyColumn() == null) {
+            throw new IllegalArgumentException("Class " + type.getName() + " needs a @ShardKey column to be sharded");
+        }
+        return metadata;
+    }
+
+    private static void checkShardKeyUnchanged(Object[] pairs, TableMetadata metadata) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (Objects.equals(metadata.getShardKeyColumn(), pairs[i])) {
+                throw new IllegalArgumentException("Shard key column " + pairs[i] + " cannot be updated");
+            }
+        }
+    }
+
+    /**
+     * Splits the statements by shard into one batch per shard, which run in parallel. A statement whose condition
+     * spans shards is added to each of their batches and its row counts summed. Batches of different shards are
+     * not atomic with each other.
+     */
+    private class ShardingBatchBuilder implements BatchBuilder {
+        private final Map<Integer, BatchBuilder> batches = new LinkedHashMap<>();
+
+        private final Map<Integer, Integer> sizes = new LinkedHashMap<>();
+
+        /**
+         * Per statement, the shards it was added to and its position in each shard's batch.
+         */
+        private final List<int[][]> positions = new ArrayList<>();
+
+        @Override
+        public <T> BatchBuilder insert(T object) {
+            int shard = shardOf(object);
+            add(bitSetOf(shard), batch -> batch.insert(object));
+            return this;
+        }
+
+        @Override
+        public <T> BatchBuilder update(Condition condition, Object[] pairs, Class<T> type) {
+            TableMetadata metadata = metadata(type);
+            checkShardKeyUnchanged(pairs, metadata);
+            add(targets(condition, metadata), batch -> batch.update(condition, pairs, type));
+            return this;
+        }
+
+        @Override
+        public <T> BatchBuilder delete(Condition condition, Class<T> type) {
+            add(targets(condition, metadata(type)), batch -> batch.delete(condition, type));
+            return this;
+        }
+
+        @Override
+        public Mono<List<Long>> execute() {
+            List<int[][]> statements = List.copyOf(positions);
+            return Flux.fromIterable(batches.entrySet())
+                    .flatMap(entry -> entry.getValue().execute().map(counts -> Map.entry(entry.getKey(), counts)))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(counts -> {
+                        List<Long> results = new ArrayList<>(statements.size());
+                        for (int[][] statement : statements) {
+                            long sum = 0;
+                            for (int[] position : statement) {
+                                sum += counts.get(position[0]).get(position[1]);
+                            }
+                            results.add(sum);
+                        }
+                        return results;
+                    });
+        }
+
+        private void add(BitSet targets, Consumer<BatchBuilder> statement) {
+            int[][] statementPositions = new int[targets.cardinality()][];
+            int i = 0;
+            for (int shard = targets.nextSetBit(0); shard >= 0; shard = targets.nextSetBit(shard + 1)) {
+                statement.accept(batches.computeIfAbsent(shard, key -> shards.get(key).batch()));
+                int position = sizes.merge(shard, 1, Integer::sum) - 1;
+                statementPositions[i++] = new int[]{shard, position};
+            }
+            positions.add(statementPositions);
+        }
+
+        private BitSet bitSetOf(int shard) {
+            BitSet targets = new BitSet(shards.size());
+            targets.set(shard);
+            return targets;
+        }
+    }
+
+    private record ShardKey(Object value) {
+    }
+}
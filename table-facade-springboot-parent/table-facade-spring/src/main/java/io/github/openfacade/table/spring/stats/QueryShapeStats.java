@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.stats;
+
+/**
+ * A snapshot of the statements of one shape. {@code histogram[i]} counts the statements that took less than
+ * {@link #bucketUpperBoundNanos(int)} and at least the bound of the bucket before.
+ */
+public record QueryShapeStats(String shape, long calls, long totalNanos, long minNanos, long maxNanos, long rows,
+                              long[] histogram) {
+    public static final int BUCKETS = 24;
+
+    public static long bucketUpperBoundNanos(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+    }
+
+    static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    public long meanNanos() {
+        return calls == 0 ? 0 : totalNanos / calls;
+    }
+
+    /**
+     * The upper bound of the bucket holding the {@code percentile} statement, capped at the slowest one.
+     */
+    public long percentileNanos(double percentile) {
+        long rank = (long) Math.ceil(percentile * calls);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(bucketUpperBoundNanos(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+}
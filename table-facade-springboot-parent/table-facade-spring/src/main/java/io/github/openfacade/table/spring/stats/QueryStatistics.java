@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.stats;
+
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import io.github.openfacade.table.spring.util.QueryShapeUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates executed statements by shape, like {@code pg_stat_statements} on the client side.
+ * <p>
+ * Counters are striped adders, so concurrent statements of one shape do not contend on a lock or a single cache
+ * line. At most {@code maxShapes} shapes are tracked, statements of further shapes are added up under
+ * {@link #OTHER_SHAPE}.
+ */
+public final class QueryStatistics {
+    public static final String OTHER_SHAPE = "<other>";
+
+    private final boolean enabled;
+
+    private final int maxShapes;
+
+    private final ConcurrentHashMap<String, Accumulator> shapes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger tracked = new AtomicInteger();
+
+    private volatile Accumulator other = new Accumulator(OTHER_SHAPE);
+
+    public QueryStatistics(int maxShapes) {
+        this(true, maxShapes);
+        if (maxShapes <= 0) {
+            throw new IllegalArgumentException("Max shapes must be positive.");
+        }
+    }
+
+    private QueryStatistics(boolean enabled, int maxShapes) {
+        this.enabled = enabled;
+        this.maxShapes = maxShapes;
+    }
+
+    public static QueryStatistics disabled() {
+        return new QueryStatistics(false, 0);
+    }
+
+    public static QueryStatistics of(TableFacadeProperties.QueryStats properties) {
+        return properties.isEnabled() ? new QueryStatistics(properties.getMaxShapes()) : disabled();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String sql, long nanos, long rows) {
+        if (!enabled) {
+            return;
+        }
+        String shape = QueryShapeUtil.normalize(sql);
+        Accumulator accumulator = shapes.get(shape);
+        if (accumulator == null) {
+            accumulator = shapes.computeIfAbsent(shape, this::admit);
+            if (accumulator == null) {
+                accumulator = other;
+            }
+        }
+        accumulator.record(nanos, rows);
+    }
+
+    /**
+     * Takes one of the {@code maxShapes} slots for a new shape, {@code null} if all are taken. Runs inside
+     * {@code computeIfAbsent}, so a slot is taken exactly once per tracked shape even under concurrent inserts.
+     */
+    private Accumulator admit(String shape) {
+        int previous = tracked.getAndUpdate(count -> count < maxShapes ? count + 1 : count);
+        return previous < maxShapes ? new Accumulator(shape) : null;
+    }
+
+    /**
+     * All shapes seen since the last {@link #reset()}, the most total time first.
+     */
+    public List<QueryShapeStats> snapshot() {
+        List<QueryShapeStats> snapshot = new ArrayList<>(shapes.size() + 1);
+        for (Accumulator accumulator : shapes.values()) {
+            snapshot.add(accumulator.snapshot());
+        }
+        QueryShapeStats others = other.snapshot();
+        if (others.calls() > 0) {
+            snapshot.add(others);
+        }
+        snapshot.sort(Comparator.comparingLong(QueryShapeStats::totalNanos).reversed());
+        return snapshot;
+    }
+
+    public List<QueryShapeStats> top(int limit) {
+        List<QueryShapeStats> snapshot = snapshot();
+        return snapshot.size() <= limit ? snapshot : new ArrayList<>(snapshot.subList(0, limit));
+    }
+
+    public void reset() {
+        shapes.clear();
+        tracked.set(0);
+        other = new Accumulator(OTHER_SHAPE);
+    }
+
+    private static class Accumulator {
+        private final String shape;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator minNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder[] histogram = new LongAdder[QueryShapeStats.BUCKETS];
+
+        Accumulator(String shape) {
+            this.shape = shape;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, long rows) {
+            calls.increment();
+            totalNanos.add(nanos);
+            minNanos.accumulate(nanos);
+            maxNanos.accumulate(nanos);
+            this.rows.add(rows);
+            histogram[QueryShapeStats.bucket(nanos)].increment();
+        }
+
+        QueryShapeStats snapshot() {
+            long[] counts = new long[histogram.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = histogram[i].sum();
+            }
+            long count = calls.sum();
+            return new QueryShapeStats(shape, count, totalNanos.sum(), count == 0 ? 0 : minNanos.get(),
+                    maxNanos.get(), rows.sum(), counts);
+        }
+    }
+}
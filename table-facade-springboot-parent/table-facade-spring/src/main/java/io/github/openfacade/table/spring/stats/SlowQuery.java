@@ -0,0 +1,24 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.stats;
+
+/**
+ * A statement that took longer than the slow query threshold. {@code firstRowNanos} is the time until the first
+ * row or result arrived, the rest of {@code totalNanos} was spent streaming and consuming the rows.
+ */
+public record SlowQuery(String shape, int binds, long rows, long firstRowNanos, long totalNanos) {
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.stats;
+
+import io.github.openfacade.table.spring.core.TableFacadeProperties;
+import io.github.openfacade.table.spring.util.QueryShapeUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Logs statements slower than a threshold, optionally with the plan the database chooses for them.
+ * <p>
+ * Plans are fetched by the driver's {@code EXPLAIN} on a connection of its own, at most once per explain interval
+ * over all statements, so a slow database is not flooded with them. Only statements without bind parameters are
+ * explained, their literals are part of the SQL; these are the reads and deletes with a condition, where a missing
+ * index turns into a full table scan. Batches of several statements are logged without a plan.
+ */
+@Slf4j
+public class SlowQueryLog {
+    private static final SlowQueryLog DISABLED = new SlowQueryLog(false, Long.MAX_VALUE, false, 0);
+
+    private final boolean enabled;
+
+    private final long thresholdNanos;
+
+    private final boolean explain;
+
+    private final long explainIntervalNanos;
+
+    private final AtomicLong nextExplainNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder slowQueries = new LongAdder();
+
+    private final LongAdder explains = new LongAdder();
+
+    public SlowQueryLog(Duration threshold, boolean explain, Duration explainInterval) {
+        this(true, threshold.toNanos(), explain, explainInterval.toNanos());
+    }
+
+    private SlowQueryLog(boolean enabled, long thresholdNanos, boolean explain, long explainIntervalNanos) {
+        this.enabled = enabled;
+        this.thresholdNanos = thresholdNanos;
+        this.explain = explain;
+        this.explainIntervalNanos = explainIntervalNanos;
+    }
+
+    public static SlowQueryLog disabled() {
+        return DISABLED;
+    }
+
+    public static SlowQueryLog of(TableFacadeProperties.SlowQueryLog properties) {
+        if (!properties.isEnabled()) {
+            return DISABLED;
+        }
+        return new SlowQueryLog(properties.getThreshold(), properties.isExplain(), properties.getExplainInterval());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Logs a slow execution of {@code sql}, with the plan emitted by {@code explainer} if the statement qualifies
+     * and the rate allows.
+     */
+    public void record(String sql, int binds, long rows, long firstRowNanos, long totalNanos,
+                       Function<String, Mono<String>> explainer) {
+        slowQueries.increment();
+        SlowQuery query = new SlowQuery(QueryShapeUtil.normalize(sql), binds, rows, firstRowNanos, totalNanos);
+        // a batch of several statements cannot be explained as one
+        if (binds > 0 || sql.indexOf(';') >= 0 || !tryExplain()) {
+            report(query, null);
+            return;
+        }
+        explains.increment();
+        explainer.apply(sql)
+                .onErrorResume(e -> Mono.just("EXPLAIN failed: " + e.getMessage()))
+                .defaultIfEmpty("")
+                .subscribe(plan -> report(query, plan.isEmpty() ? null : plan));
+    }
+
+    private boolean tryExplain() {
+        if (!explain) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long next = nextExplainNanos.get();
+        return now - next >= 0 && nextExplainNanos.compareAndSet(next, now + explainIntervalNanos);
+    }
+
+    protected void report(SlowQuery query, @Nullable String plan) {
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(query.totalNanos());
+        long firstRowMillis = TimeUnit.NANOSECONDS.toMillis(query.firstRowNanos());
+        if (plan == null) {
+            log.warn("slow query took {} ms, first row after {} ms, {} rows, {} binds: {}",
+                    totalMillis, firstRowMillis, query.rows(), query.binds(), query.shape());
+        } else {
+            log.warn("slow query took {} ms, first row after {} ms, {} rows, {} binds: {}\n{}",
+                    totalMillis, firstRowMillis, query.rows(), query.binds(), query.shape(), plan);
+        }
+    }
+
+    public long getSlowQueries() {
+        return slowQueries.sum();
+    }
+
+    public long getExplains() {
+        return explains.sum();
+    }
+}
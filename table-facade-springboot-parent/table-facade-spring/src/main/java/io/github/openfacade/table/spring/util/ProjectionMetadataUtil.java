@@ -0,0 +1,323 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+import io.github.openfacade.table.spring.core.ProjectionMetadata;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class ProjectionMetadataUtil {
+    /**
+     * Parses a projection of {@code type}: an interface of getters, a record, or a class with a no-arg constructor
+     * and setters. Members map to the entity column of the same-named entity field, or to the column named by
+     * their own {@code @Column}.
+     */
+    public static ProjectionMetadata parseProjection(Class<?> type, TableMetadata metadata, Class<?> projection) {
+        Map<String, String> fieldColumns = fieldColumns(type);
+        if (projection.isInterface()) {
+            return interfaceProjection(type, metadata, projection, fieldColumns, false);
+        }
+        if (projection.isRecord()) {
+            return recordProjection(type, metadata, projection, fieldColumns);
+        }
+        return classProjection(type, metadata, projection, fieldColumns);
+    }
+
+    /**
+     * Parses an interface {@code view} like {@link #parseProjection(Class, TableMetadata, Class)}, except that its
+     * instances keep the raw column values and decode each one when its getter is first called.
+     */
+    public static ProjectionMetadata parseLazyView(Class<?> type, TableMetadata metadata, Class<?> view) {
+        if (!view.isInterface()) {
+            throw new IllegalArgumentException("Lazy view " + view.getName() + " must be an interface");
+        }
+        return interfaceProjection(type, metadata, view, fieldColumns(type), true);
+    }
+
+    /**
+     * Parses a projection to {@code type} itself that only selects and sets {@code columns}.
+     */
+    public static ProjectionMetadata parseColumns(Class<?> type, TableMetadata metadata, List<String> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Projection of " + type.getName() + " must select at least one column");
+        }
+        Constructor<?> constructor = metadata.getConstructor();
+        if (constructor == null) {
+            throw new IllegalArgumentException("Class " + type.getName() + " has no no-arg constructor");
+        }
+
+        String[] selected = columns.toArray(new String[0]);
+        Method[] setters = new Method[selected.length];
+        Class<?>[] targetTypes = new Class<?>[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            setters[i] = metadata.getSetterMap().get(selected[i]);
+            if (setters[i] == null) {
+                throw new IllegalArgumentException("Column '" + selected[i] + "' is not mapped by " + type.getName());
+            }
+            targetTypes[i] = setters[i].getParameterTypes()[0];
+        }
+        return new ProjectionMetadata(selected, targetTypes, compressed(metadata, selected), false,
+                (values, codecs) -> setAll(constructor, setters, values));
+    }
+
+    private static ProjectionMetadata interfaceProjection(Class<?> type, TableMetadata metadata, Class<?> projection,
+                                                          Map<String, String> fieldColumns, boolean lazy) {
+        List<String> columns = new ArrayList<>();
+        List<Class<?>> targetTypes = new ArrayList<>();
+        Map<Method, Integer> ordinals = new HashMap<>();
+        for (Method method : projection.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) {
+                continue;
+            }
+            String property = property(method);
+            if (property == null) {
+                throw new IllegalArgumentException("Projection method " + projection.getName() + "." + method.getName()
+                        + " is not a getter");
+            }
+            ordinals.put(method, columns.size());
+            columns.add(column(type, metadata, projection, property, null, fieldColumns));
+            targetTypes.add(method.getReturnType());
+        }
+
+        ClassLoader classLoader = projection.getClassLoader();
+        Class<?>[] interfaces = {projection};
+        String[] selected = columns.toArray(new String[0]);
+        Class<?>[] selectedTypes = targetTypes.toArray(new Class<?>[0]);
+        boolean[] compressed = compressed(metadata, selected);
+        return new ProjectionMetadata(selected, selectedTypes, compressed, lazy, (values, codecs) -> {
+            // raw values of a lazy view are decoded in place on first access, the driver row itself is never kept
+            boolean[] decoded = codecs == null ? null : new boolean[values.length];
+            InvocationHandler handler = (proxy, method, args) -> {
+                Integer ordinal = ordinals.get(method);
+                if (ordinal != null) {
+                    Object value;
+                    if (decoded == null) {
+                        value = values[ordinal];
+                    } else {
+                        synchronized (decoded) {
+                            if (!decoded[ordinal]) {
+                                values[ordinal] = codecs[ordinal].decode(values[ordinal]);
+                                decoded[ordinal] = true;
+                            }
+                            value = values[ordinal];
+                        }
+                    }
+                    return value == null ? defaultValue(method.getReturnType()) : value;
+                }
+                if (method.isDefault()) {
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+                }
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return decoded == null ? projection.getSimpleName() + Arrays.toString(values)
+                                : projection.getSimpleName() + "(lazy)";
+                    default:
+                        throw new UnsupportedOperationException(method.toString());
+                }
+            };
+            return Proxy.newProxyInstance(classLoader, interfaces, handler);
+        });
+    }
+
+    private static ProjectionMetadata recordProjection(Class<?> type, TableMetadata metadata, Class<?> projection,
+                                                       Map<String, String> fieldColumns) {
+        RecordComponent[] components = projection.getRecordComponents();
+        String[] columns = new String[components.length];
+        Class<?>[] targetTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Field field = declaredField(projection, components[i].getName());
+            columns[i] = column(type, metadata, projection, components[i].getName(), field, fieldColumns);
+            targetTypes[i] = components[i].getType();
+        }
+
+        Constructor<?> constructor;
+        try {
+            constructor = projection.getDeclaredConstructor(targetTypes);
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Record " + projection.getName() + " has no canonical constructor", e);
+        }
+        return new ProjectionMetadata(columns, targetTypes, compressed(metadata, columns), false, (values, codecs) -> {
+            Object[] arguments = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                arguments[i] = values[i] == null ? defaultValue(targetTypes[i]) : values[i];
+            }
+            try {
+                return constructor.newInstance(arguments);
+            } catch (Exception e) {
+                throw new RuntimeException("Error creating instance of: " + projection.getName(), e);
+            }
+        });
+    }
+
+    private static ProjectionMetadata classProjection(Class<?> type, TableMetadata metadata, Class<?> projection,
+                                                      Map<String, String> fieldColumns) {
+        Constructor<?> constructor = TableMetadataUtil.getConstructor(projection);
+        if (constructor == null) {
+            throw new IllegalArgumentException("Projection " + projection.getName() + " has no no-arg constructor");
+        }
+        constructor.setAccessible(true);
+
+        List<String> columns = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        for (Field field : projection.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            columns.add(column(type, metadata, projection, field.getName(), field, fieldColumns));
+            setters.add(TableMetadataUtil.getSetMethod(projection, field));
+        }
+
+        Method[] setterArray = setters.toArray(new Method[0]);
+        Class<?>[] targetTypes = new Class<?>[setterArray.length];
+        for (int i = 0; i < setterArray.length; i++) {
+            targetTypes[i] = setterArray[i].getParameterTypes()[0];
+        }
+        String[] selected = columns.toArray(new String[0]);
+        return new ProjectionMetadata(selected, targetTypes, compressed(metadata, selected), false,
+                (values, codecs) -> setAll(constructor, setterArray, values));
+    }
+
+    private static Map<String, String> fieldColumns(Class<?> type) {
+        Map<String, String> fieldColumns = new HashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            String columnName = TableMetadataUtil.getColumnName(field);
+            if (columnName != null) {
+                fieldColumns.put(field.getName(), columnName);
+            }
+        }
+        return fieldColumns;
+    }
+
+    private static String column(Class<?> type, TableMetadata metadata, Class<?> projection, String property,
+                                 @Nullable Field field, Map<String, String> fieldColumns) {
+        String column = field == null ? null : TableMetadataUtil.getColumnName(field);
+        if (column == null) {
+            column = fieldColumns.get(property);
+        }
+        if (column == null || !metadata.getSetterMap().containsKey(column)) {
+            throw new IllegalArgumentException("Projection " + projection.getName() + " member '" + property
+                    + "' does not map to a column of " + type.getName());
+        }
+        return column;
+    }
+
+    private static boolean[] compressed(TableMetadata metadata, String[] columns) {
+        boolean[] compressed = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            compressed[i] = metadata.getCompressedColumns().containsKey(columns[i]);
+        }
+        return compressed;
+    }
+
+    private static Object setAll(Constructor<?> constructor, Method[] setters, Object[] values) {
+        Object instance;
+        try {
+            instance = constructor.newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Error creating instance of: " + constructor.getDeclaringClass().getName(), e);
+        }
+        for (int i = 0; i < setters.length; i++) {
+            if (values[i] == null && setters[i].getParameterTypes()[0].isPrimitive()) {
+                continue;
+            }
+            try {
+                setters[i].invoke(instance, values[i]);
+            } catch (Exception e) {
+                throw new RuntimeException("Error invoking " + setters[i].getName() + " on: "
+                        + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+        return instance;
+    }
+
+    @Nullable
+    private static String property(Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+            return null;
+        }
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2
+                && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            return decapitalize(name.substring(2));
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Field declaredField(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return (byte) 0;
+    }
+
+    private static String decapitalize(String str) {
+        return str.substring(0, 1).toLowerCase(Locale.US) + str.substring(1);
+    }
+}
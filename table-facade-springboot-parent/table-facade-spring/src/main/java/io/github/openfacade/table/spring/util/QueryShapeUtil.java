@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+public class QueryShapeUtil {
+    /**
+     * The shape of {@code sql}: string, hex and numeric literals become {@code ?}, and lists of placeholders such
+     * as {@code IN (?, ?, ?)} collapse to {@code (?...)}, so statements differing only in values share a shape.
+     * Quoted identifiers are kept. Strings may escape quotes with a backslash or by doubling them, as rendered by
+     * the drivers.
+     */
+    public static String normalize(String sql) {
+        StringBuilder shape = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipString(sql, i);
+                placeholder(shape);
+            } else if ((c == 'X' || c == 'x') && i + 1 < length && sql.charAt(i + 1) == '\''
+                    && !isIdentifierPart(sql, i - 1)) {
+                i = skipString(sql, i + 1);
+                placeholder(shape);
+            } else if (c == '`' || c == '"') {
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? length : end + 1;
+                shape.append(sql, i, end);
+                i = end;
+            } else if (c == '?') {
+                placeholder(shape);
+                i++;
+            } else if (Character.isDigit(c) && !isIdentifierPart(sql, i - 1)) {
+                i++;
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                placeholder(shape);
+            } else {
+                shape.append(c);
+                i++;
+            }
+        }
+        return shape.toString();
+    }
+
+    private static int skipString(String sql, int quote) {
+        int i = quote + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    private static void placeholder(StringBuilder shape) {
+        if (endsWith(shape, "?, ") || endsWith(shape, "?..., ")) {
+            shape.setLength(shape.length() - 2);
+            if (!endsWith(shape, "...")) {
+                shape.append("...");
+            }
+        } else {
+            shape.append('?');
+        }
+    }
+
+    private static boolean isIdentifierPart(String sql, int index) {
+        if (index < 0) {
+            return false;
+        }
+        char c = sql.charAt(index);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean endsWith(StringBuilder builder, String suffix) {
+        int offset = builder.length() - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (builder.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+import io.github.openfacade.table.reactive.api.TransactionOptions;
+import io.r2dbc.spi.Connection;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+public class R2dbcTransactionUtil {
+    /**
+     * Runs {@code work} in a transaction of its own, or as part of the one already open on {@code connection},
+     * e.g. within {@code inTransaction}, which must not be committed halfway.
+     */
+    public static <T> Mono<T> transactional(Connection connection, Function<Connection, Mono<T>> work) {
+        if (!connection.isAutoCommit()) {
+            return work.apply(connection);
+        }
+        return Mono.usingWhen(
+                Mono.from(connection.beginTransaction()).thenReturn(connection),
+                work,
+                Connection::commitTransaction,
+                (conn, error) -> conn.rollbackTransaction(),
+                Connection::rollbackTransaction);
+    }
+
+    public static TransactionDefinition definition(TransactionOptions options) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(options.isReadOnly());
+        if (options.getIsolation() != null) {
+            definition.setIsolationLevel(switch (options.getIsolation()) {
+                case READ_UNCOMMITTED -> TransactionDefinition.ISOLATION_READ_UNCOMMITTED;
+                case READ_COMMITTED -> TransactionDefinition.ISOLATION_READ_COMMITTED;
+                case REPEATABLE_READ -> TransactionDefinition.ISOLATION_REPEATABLE_READ;
+                case SERIALIZABLE -> TransactionDefinition.ISOLATION_SERIALIZABLE;
+            });
+        }
+        return definition;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import io.github.openfacade.table.spring.core.ProjectionMetadata;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.r2dbc.spi.Readable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+public class RowMappingUtil {
+    /**
+     * Copies the columns of {@code row} by ordinal, the select list must follow {@code TableMetadata.getColumns()}.
+     */
+    public static Object[] readRow(Readable row, ColumnCodec[] codecs) {
+        Object[] values = new Object[codecs.length];
+        for (int i = 0; i < codecs.length; i++) {
+            values[i] = row.get(i, codecs[i].getReadType());
+        }
+        return values;
+    }
+
+    public static <T> T toEntity(Object[] values, Class<T> type, TableMetadata metadata) {
+        return toEntity(values, type, metadata, metadata.getColumnCodecs());
+    }
+
+    /**
+     * Decodes {@code values} with {@code codecs} instead of the codecs the SQL drivers resolve from the row metadata.
+     */
+    public static <T> T toEntity(Object[] values, Class<T> type, TableMetadata metadata, ColumnCodec[] codecs) {
+        Constructor<?> constructor = metadata.getConstructor();
+        T instance;
+        try {
+            if (constructor == null) {
+                throw new NoSuchMethodException(type.getName() + ".<init>()");
+            }
+            instance = type.cast(constructor.newInstance());
+        } catch (Exception e) {
+            throw new RuntimeException("Error creating instance of: " + type.getName(), e);
+        }
+
+        Method[] setters = metadata.getSetters();
+        for (int i = 0; i < setters.length; i++) {
+            try {
+                setters[i].invoke(instance, codecs[i].decode(values[i]));
+            } catch (Exception e) {
+                throw new RuntimeException(
+                        "Error setting field '" + metadata.getColumns()[i] + "' for entity: " + type.getName(), e
+                );
+            }
+        }
+
+        return instance;
+    }
+
+    public static <P> P toProjection(Object[] values, Class<P> type, ProjectionMetadata projection) {
+        return type.cast(projection.newInstance(values, projection.getColumnCodecs()));
+    }
+}
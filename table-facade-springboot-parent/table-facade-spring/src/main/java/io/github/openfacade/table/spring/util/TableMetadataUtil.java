@@ -16,18 +16,32 @@
 
 package io.github.openfacade.table.spring.util;
 
+import io.github.openfacade.table.api.CompressedValue;
 import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Compressed;
+import io.github.openfacade.table.api.anno.Id;
+import io.github.openfacade.table.api.anno.Lazy;
+import io.github.openfacade.table.api.anno.ShardKey;
 import io.github.openfacade.table.api.anno.Table;
+import io.github.openfacade.table.api.anno.Version;
 import io.github.openfacade.table.spring.core.TableMetadata;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class TableMetadataUtil {
+    private static final Set<Class<?>> VERSION_TYPES = Set.of(int.class, Integer.class, long.class, Long.class);
+
     public static TableMetadata parseClass(@NotNull Class<?> type) {
         String tableName = getTableName(type);
         if (tableName == null) {
@@ -36,16 +50,79 @@ public class TableMetadataUtil {
 
         LinkedHashMap<String, Method> setterMap = new LinkedHashMap<>();
         LinkedHashMap<String, Method> getterMap = new LinkedHashMap<>();
+        String idColumn = null;
+        String versionColumn = null;
+        String shardKeyColumn = null;
+        Set<String> lazyColumns = new HashSet<>();
+        Map<String, Compressed.Codec> compressedColumns = new HashMap<>();
+        Map<String, Class<?>> compressedValueTypes = new HashMap<>();
 
         for (Field field : type.getDeclaredFields()) {
             String columnName = getColumnName(field);
             if (columnName != null) {
                 getterMap.put(columnName, getGetMethod(type, field));
                 setterMap.put(columnName, getSetMethod(type, field));
+                if (isId(field)) {
+                    if (idColumn != null) {
+                        throw new IllegalArgumentException("Class " + type.getName() + " has more than one @Id column");
+                    }
+                    idColumn = columnName;
+                }
+                if (isVersion(field)) {
+                    if (versionColumn != null) {
+                        throw new IllegalArgumentException("Class " + type.getName()
+                                + " has more than one @Version column");
+                    }
+                    if (!VERSION_TYPES.contains(field.getType())) {
+                        throw new IllegalArgumentException("@Version field " + type.getName() + "." + field.getName()
+                                + " must be int or long");
+                    }
+                    versionColumn = columnName;
+                }
+                if (field.isAnnotationPresent(ShardKey.class)) {
+                    if (shardKeyColumn != null) {
+                        throw new IllegalArgumentException("Class " + type.getName()
+                                + " has more than one @ShardKey column");
+                    }
+                    shardKeyColumn = columnName;
+                }
+                if (isLazy(field)) {
+                    lazyColumns.add(columnName);
+                }
+                Compressed compressed = field.getAnnotation(Compressed.class);
+                if (compressed != null) {
+                    if (field.getType() == CompressedValue.class) {
+                        compressedValueTypes.put(columnName, compressedValueType(type, field));
+                    } else if (field.getType() != byte[].class && field.getType() != String.class) {
+                        throw new IllegalArgumentException("@Compressed field " + type.getName() + "." + field.getName()
+                                + " must be byte[], String or a CompressedValue of either");
+                    }
+                    compressedColumns.put(columnName, compressed.codec());
+                }
             }
         }
 
-        return new TableMetadata(tableName, setterMap, getterMap);
+        return new TableMetadata(type, tableName, setterMap, getterMap, idColumn, versionColumn, shardKeyColumn,
+                getConstructor(type), lazyColumns, compressedColumns, compressedValueTypes);
+    }
+
+    private static Class<?> compressedValueType(Class<?> type, Field field) {
+        if (field.getGenericType() instanceof ParameterizedType parameterized
+                && (parameterized.getActualTypeArguments()[0] == String.class
+                || parameterized.getActualTypeArguments()[0] == byte[].class)) {
+            return (Class<?>) parameterized.getActualTypeArguments()[0];
+        }
+        throw new IllegalArgumentException("@Compressed field " + type.getName() + "." + field.getName()
+                + " must be a CompressedValue<byte[]> or CompressedValue<String>");
+    }
+
+    @Nullable
+    public static Constructor<?> getConstructor(Class<?> type) {
+        try {
+            return type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
     }
 
     public static String getTableName(Class<?> type) {
@@ -70,6 +147,20 @@ public class TableMetadataUtil {
         return null;
     }
 
+    public static boolean isId(Field field) {
+        return field.isAnnotationPresent(Id.class)
+                || field.isAnnotationPresent(org.springframework.data.annotation.Id.class);
+    }
+
+    public static boolean isVersion(Field field) {
+        return field.isAnnotationPresent(Version.class)
+                || field.isAnnotationPresent(org.springframework.data.annotation.Version.class);
+    }
+
+    public static boolean isLazy(Field field) {
+        return field.isAnnotationPresent(Lazy.class);
+    }
+
     public static <T> Method getSetMethod(Class<T> tClass, Field classField) {
         try {
             return tClass.getMethod("set" + capitalizeFirstChar(classField.getName()), classField.getType());
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Table;
+import io.github.openfacade.table.reactive.api.BlobHandle;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class ColumnCodecRegistryTest {
+    @Getter
+    @Setter
+    @Table(name = "codec")
+    public static class CodecEntity {
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "data")
+        private byte[] data;
+    }
+
+    private static ColumnMetadata column(String name, Class<?> javaType) {
+        return new ColumnMetadata() {
+            @Override
+            public Type getType() {
+                return R2dbcType.VARCHAR;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Class<?> getJavaType() {
+                return javaType;
+            }
+        };
+    }
+
+    private static RowMetadata rowMetadata(ColumnMetadata... columns) {
+        Map<String, ColumnMetadata> byName = new HashMap<>();
+        for (ColumnMetadata column : columns) {
+            byName.put(column.getName(), column);
+        }
+        return new RowMetadata() {
+            @Override
+            public ColumnMetadata getColumnMetadata(int index) {
+                return columns[index];
+            }
+
+            @Override
+            public ColumnMetadata getColumnMetadata(String name) {
+                return byName.get(name);
+            }
+
+            @Override
+            public List<? extends ColumnMetadata> getColumnMetadatas() {
+                return List.of(columns);
+            }
+        };
+    }
+
+    @Test
+    public void testHexStringDecodedToBytes() {
+        byte[] data = "Sample Data".getBytes(StandardCharsets.UTF_8);
+        ColumnCodec codec = new ColumnCodecRegistry().resolve(byte[].class, column("data", String.class));
+
+        Assertions.assertEquals(String.class, codec.getReadType());
+        Assertions.assertArrayEquals(data, (byte[]) codec.decode(HexFormat.of().formatHex(data)));
+        Assertions.assertNull(codec.decode(null));
+    }
+
+    @Test
+    public void testNativeTypeReadDirectly() {
+        ColumnCodec codec = new ColumnCodecRegistry().resolve(Long.class, column("id", Long.class));
+
+        Assertions.assertEquals(Long.class, codec.getReadType());
+        Assertions.assertEquals(1L, codec.decode(1L));
+    }
+
+    @Test
+    public void testCustomProviderTakesPrecedence() {
+        ColumnCodec uuid = new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return String.class;
+            }
+
+            @Override
+            public Object decode(Object value) {
+                return value == null ? null : UUID.fromString((String) value);
+            }
+        };
+        ColumnCodecRegistry registry = new ColumnCodecRegistry()
+                .register((targetType, column) -> targetType == UUID.class ? uuid : null);
+
+        Assertions.assertSame(uuid, registry.resolve(UUID.class, column("uuid", String.class)));
+    }
+
+    @Test
+    public void testCodecsCachedOnMetadata() {
+        ColumnCodecRegistry registry = new ColumnCodecRegistry();
+        TableMetadata metadata = TableMetadataUtil.parseClass(CodecEntity.class);
+        RowMetadata rowMetadata = rowMetadata(column("id", Long.class), column("data", String.class));
+
+        ColumnCodec[] codecs = registry.codecs(metadata, rowMetadata);
+
+        Assertions.assertEquals(2, codecs.length);
+        Assertions.assertEquals(Long.class, codecs[0].getReadType());
+        Assertions.assertEquals(String.class, codecs[1].getReadType());
+        Assertions.assertSame(codecs, registry.codecs(metadata, rowMetadata));
+    }
+
+    @Test
+    public void testBlobHandleStreamsDriverChunks() {
+        ColumnCodec codec = new ColumnCodecRegistry().resolve(BlobHandle.class, column("data", ByteBuffer.class));
+        Blob blob = Blob.from(Flux.just(ByteBuffer.wrap(new byte[]{1, 2}), ByteBuffer.wrap(new byte[]{3})));
+
+        Assertions.assertEquals(Blob.class, codec.getReadType());
+        BlobHandle handle = (BlobHandle) codec.decode(blob);
+        Assertions.assertEquals(3, Flux.from(handle.stream()).map(ByteBuffer::remaining).reduce(Integer::sum).block());
+        Assertions.assertNull(codec.decode(null));
+    }
+
+    @Test
+    public void testStreamingValuesBoundAsBlob() {
+        Flux<ByteBuffer> chunks = Flux.just(ByteBuffer.wrap(new byte[]{1}));
+
+        Assertions.assertTrue(BlobColumnCodecProvider.bindValue(chunks) instanceof Blob);
+        Assertions.assertTrue(BlobColumnCodecProvider.bindValue(BlobHandle.of(chunks)) instanceof Blob);
+        Assertions.assertEquals("plain", BlobColumnCodecProvider.bindValue("plain"));
+    }
+
+    @Test
+    public void testStreamingNullsBoundAsBlob() {
+        Assertions.assertEquals(Blob.class, BlobColumnCodecProvider.bindType(Publisher.class));
+        Assertions.assertEquals(Blob.class, BlobColumnCodecProvider.bindType(BlobHandle.class));
+        Assertions.assertEquals(String.class, BlobColumnCodecProvider.bindType(String.class));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.codec;
+
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.api.anno.Compressed;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+class ColumnCompressionTest {
+    private static String json(int entries) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < entries; i++) {
+            sb.append("{\"id\":").append(i).append(",\"status\":\"ACTIVE\",\"tags\":[\"a\",\"b\"]},");
+        }
+        return sb.append("{}]").toString();
+    }
+
+    @Test
+    public void testTextRoundTrip() {
+        String payload = json(2000);
+        byte[] stored = ColumnCompression.compress(payload, Compressed.Codec.DEFLATE);
+
+        Assertions.assertEquals(Compressed.Codec.DEFLATE.header(), stored[0]);
+        Assertions.assertTrue(stored.length < payload.length() / 10);
+        Assertions.assertEquals(payload, ColumnCompression.decompress(stored, String.class));
+    }
+
+    @Test
+    public void testIncompressibleBytesRoundTrip() {
+        byte[] data = new byte[100_000];
+        new Random(42).nextBytes(data);
+        byte[] stored = ColumnCompression.compress(data, Compressed.Codec.DEFLATE);
+
+        Assertions.assertArrayEquals(data, (byte[]) ColumnCompression.decompress(stored, byte[].class));
+        Assertions.assertArrayEquals(new byte[0],
+                (byte[]) ColumnCompression.decompress(ColumnCompression.compress(new byte[0], Compressed.Codec.DEFLATE), byte[].class));
+        Assertions.assertNull(ColumnCompression.compress(null, Compressed.Codec.DEFLATE));
+    }
+
+    @Test
+    public void testUnknownHeaderFail() {
+        byte[] plain = "not compressed".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ColumnCompression.decompress(plain, String.class));
+    }
+
+    @Test
+    public void testCodecDecompressesBinaryColumn() {
+        String payload = json(10);
+        ColumnCodec codec = ColumnCompression.codec(ColumnCodec.of(byte[].class), String.class);
+
+        Assertions.assertEquals(byte[].class, codec.getReadType());
+        Assertions.assertEquals(payload, codec.decode(ColumnCompression.compress(payload, Compressed.Codec.DEFLATE)));
+        Assertions.assertNull(codec.decode(null));
+    }
+
+    @Test
+    public void testLazyCodecDecompressesOnFirstGet() {
+        String payload = json(10);
+        ColumnCodec codec = ColumnCompression.lazyCodec(ColumnCodec.of(byte[].class), String.class);
+
+        byte[] truncated = {Compressed.Codec.DEFLATE.header(), 0, 0, 0, 9};
+        CompressedValue<?> corrupt = (CompressedValue<?>) codec.decode(truncated);
+        Assertions.assertNotNull(corrupt);
+        Assertions.assertThrows(IllegalArgumentException.class, corrupt::get);
+
+        byte[] stored = ColumnCompression.compress(payload, Compressed.Codec.DEFLATE);
+        CompressedValue<?> value = (CompressedValue<?>) codec.decode(stored);
+        Assertions.assertEquals(payload, value.get());
+        Assertions.assertSame(value.get(), value.get());
+        Assertions.assertNull(codec.decode(null));
+    }
+
+    @Test
+    public void testCompressUnwrapsCompressedValue() {
+        String payload = json(10);
+        Assertions.assertArrayEquals(ColumnCompression.compress(payload, Compressed.Codec.DEFLATE),
+                ColumnCompression.compress(CompressedValue.of(payload), Compressed.Codec.DEFLATE));
+    }
+}
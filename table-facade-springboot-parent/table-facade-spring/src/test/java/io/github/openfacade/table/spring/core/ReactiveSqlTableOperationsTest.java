@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.core;
+
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.ComparisonOperator;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.LogicalOperator;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HexFormat;
+import java.util.List;
+
+class ReactiveSqlTableOperationsTest {
+    private static class StandardSqlTableOperations extends ReactiveSqlTableOperations {
+        StandardSqlTableOperations() {
+            super(DatabaseClient.builder().bindMarkers(BindMarkersFactory.anonymous("?")).connectionFactory(
+                    new ConnectionFactory() {
+                        @Override
+                        public Publisher<? extends Connection> create() {
+                            return Mono.error(new UnsupportedOperationException());
+                        }
+
+                        @Override
+                        public ConnectionFactoryMetadata getMetadata() {
+                            return () -> "standard";
+                        }
+                    }).build());
+        }
+
+        @Override
+        protected String quoteIdentifier(String identifier) {
+            return "\"" + identifier + "\"";
+        }
+
+        @Override
+        protected String stringLiteral(String value) {
+            return "'" + value.replace("'", "''") + "'";
+        }
+
+        @Override
+        protected String bytesLiteral(byte[] bytes) {
+            return "X'" + HexFormat.of().formatHex(bytes) + "'";
+        }
+
+        @Override
+        protected String explainQuery(String sql) {
+            return "EXPLAIN " + sql;
+        }
+
+        @Override
+        protected String sortDirection(boolean descending) {
+            return descending ? " DESC" : " ASC";
+        }
+    }
+
+    private final StandardSqlTableOperations operations = new StandardSqlTableOperations();
+
+    @Test
+    public void testLiteralsAreTyped() {
+        Assertions.assertEquals("NULL", operations.literal(null));
+        Assertions.assertEquals("'O''Brien'", operations.literal("O'Brien"));
+        Assertions.assertEquals("TRUE", operations.literal(true));
+        Assertions.assertEquals("FALSE", operations.literal(false));
+        Assertions.assertEquals("42", operations.literal(42L));
+        Assertions.assertEquals("X'0aff'", operations.literal(new byte[]{10, -1}));
+        Assertions.assertEquals("TIMESTAMP '2024-01-02 03:04:05.000006'",
+                operations.literal(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6000)));
+        Assertions.assertEquals("DATE '2024-01-02'", operations.literal(LocalDate.of(2024, 1, 2)));
+        Assertions.assertEquals("TIME '03:04:00.000000'", operations.literal(LocalTime.of(3, 4)));
+        Assertions.assertEquals("(1, 'a''b')", operations.literal(List.of(1, "a'b")));
+        Assertions.assertEquals("(NULL)", operations.literal(List.of()));
+    }
+
+    @Test
+    public void testConditionQuotesColumnsAndValues() {
+        StringBuilder sql = new StringBuilder();
+        operations.condition(CompositeCondition.builder()
+                .operator(LogicalOperator.AND)
+                .condition(new ComparisonCondition("name", ComparisonOperator.EQ, "it's"))
+                .condition(new ComparisonCondition("active", ComparisonOperator.EQ, true))
+                .build(), sql);
+
+        Assertions.assertEquals("(\"name\" = 'it''s' AND \"active\" = TRUE)", sql.toString());
+    }
+}
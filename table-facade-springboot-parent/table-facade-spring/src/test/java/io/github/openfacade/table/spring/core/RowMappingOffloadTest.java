@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.core;
+
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Table;
+import io.github.openfacade.table.spring.util.TableMetadataUtil;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+class RowMappingOffloadTest {
+    @Getter
+    @Setter
+    @Table(name = "narrow")
+    public static class NarrowEntity {
+        @Column(name = "id")
+        private Long id;
+    }
+
+    @Getter
+    @Setter
+    @Table(name = "binary")
+    public static class BinaryEntity {
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "data")
+        private byte[] data;
+    }
+
+    @Test
+    public void testBinaryEntityMappedOnScheduler() {
+        Scheduler scheduler = Schedulers.newSingle("row-mapping-test");
+        try {
+            RowMappingOffload offload = new RowMappingOffload(true, 16, 4, scheduler);
+            TableMetadata metadata = TableMetadataUtil.parseClass(BinaryEntity.class);
+
+            List<String> threads = offload.map(Flux.range(0, 10), metadata, i -> Thread.currentThread().getName())
+                    .collectList()
+                    .block();
+
+            Assertions.assertNotNull(threads);
+            Assertions.assertTrue(threads.stream().allMatch(name -> name.startsWith("row-mapping-test")));
+            Assertions.assertEquals(10, offload.getOffloadedRows());
+            Assertions.assertEquals(0, offload.getInlineRows());
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    public void testNarrowEntityStaysInline() {
+        RowMappingOffload offload = new RowMappingOffload(true, 16, 4, Schedulers.parallel());
+        TableMetadata metadata = TableMetadataUtil.parseClass(NarrowEntity.class);
+        String caller = Thread.currentThread().getName();
+
+        List<String> threads = offload.map(Flux.range(0, 10), metadata, i -> Thread.currentThread().getName())
+                .collectList()
+                .block();
+
+        Assertions.assertNotNull(threads);
+        Assertions.assertTrue(threads.stream().allMatch(caller::equals));
+        Assertions.assertEquals(10, offload.getInlineRows());
+        Assertions.assertEquals(0, offload.getLoopTimeSavedNanos());
+    }
+
+    @Test
+    public void testDisabledNeverOffloads() {
+        TableMetadata metadata = TableMetadataUtil.parseClass(BinaryEntity.class);
+        Assertions.assertFalse(RowMappingOffload.disabled().isOffloaded(metadata));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.intercept;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ExecutionInterceptorsTest {
+    private static final Execution EXECUTION = new Execution("find", Object.class, "t", "SELECT 1", 0);
+
+    private record Recording(String name, List<String> calls) implements ExecutionInterceptor {
+        @Override
+        public Context before(Execution execution, Context context) {
+            calls.add("before " + name + " " + context.getOrDefault("span", "none"));
+            return context.put("span", name);
+        }
+
+        @Override
+        public void after(Execution execution, ContextView context, long rows, long nanos) {
+            calls.add("after " + name + " " + context.get("span") + " " + rows);
+        }
+
+        @Override
+        public void error(Execution execution, ContextView context, Throwable error, long nanos) {
+            calls.add("error " + name + " " + error.getMessage());
+        }
+    }
+
+    @Test
+    public void testEmptyChainIsShared() {
+        Assertions.assertTrue(ExecutionInterceptors.none().isEmpty());
+        Assertions.assertSame(ExecutionInterceptors.none(), ExecutionInterceptors.of(List.of()));
+    }
+
+    @Test
+    public void testAfterRunsInReverseOrderWithContextOfBefore() {
+        List<String> calls = new ArrayList<>();
+        ExecutionInterceptors interceptors = ExecutionInterceptors.of(
+                List.of(new Recording("a", calls), new Recording("b", calls)));
+
+        Context context = interceptors.before(EXECUTION, Context.empty());
+        interceptors.after(EXECUTION, context, 3, 1_000);
+        interceptors.error(EXECUTION, context, new RuntimeException("boom"), 1_000);
+
+        Assertions.assertEquals(List.of("before a none", "before b a", "after b b 3", "after a b 3", "error b boom",
+                "error a boom"), calls);
+    }
+
+    @Test
+    public void testFailingInterceptorDoesNotStopChain() {
+        List<String> calls = new ArrayList<>();
+        ExecutionInterceptor failing = new ExecutionInterceptor() {
+            @Override
+            public Context before(Execution execution, Context context) {
+                throw new IllegalStateException("failed");
+            }
+
+            @Override
+            public void after(Execution execution, ContextView context, long rows, long nanos) {
+                throw new IllegalStateException("failed");
+            }
+        };
+        ExecutionInterceptors interceptors = ExecutionInterceptors.of(List.of(failing, new Recording("a", calls)));
+
+        Context context = interceptors.before(EXECUTION, Context.of("span", "parent"));
+        interceptors.after(EXECUTION, context, 1, 1_000);
+
+        Assertions.assertEquals(List.of("before a parent", "after a a 1"), calls);
+    }
+}
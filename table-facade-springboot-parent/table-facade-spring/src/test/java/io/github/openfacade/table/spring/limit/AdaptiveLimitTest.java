@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+class AdaptiveLimitTest {
+    private static AdaptiveLimit limit(int initialLimit, int maxLimit, int maxQueue) {
+        return new AdaptiveLimit("test", Lane.INTERACTIVE, initialLimit, 1, maxLimit, maxQueue, 2.0, 0.9);
+    }
+
+    @Test
+    public void testExcessIsQueuedThenShed() {
+        AdaptiveLimit limit = limit(1, 1, 1);
+        Sinks.One<String> first = Sinks.one();
+        AtomicReference<String> second = new AtomicReference<>();
+        AtomicReference<Throwable> third = new AtomicReference<>();
+
+        limit.run(first.asMono()).subscribe();
+        limit.run(Mono.just("second")).subscribe(second::set);
+        limit.run(Mono.just("third")).subscribe(value -> { }, third::set);
+        Assertions.assertEquals(1, limit.getInFlight());
+        Assertions.assertEquals(1, limit.getQueued());
+        Assertions.assertTrue(third.get() instanceof LimitExceededException);
+        Assertions.assertEquals(1, limit.getRejected());
+
+        first.tryEmitValue("first");
+        Assertions.assertEquals("second", second.get());
+        Assertions.assertEquals(0, limit.getInFlight());
+        Assertions.assertEquals(0, limit.getQueued());
+    }
+
+    @Test
+    public void testCancelledOperationsFreeTheirPlace() {
+        AdaptiveLimit limit = limit(1, 1, 1);
+        Disposable running = limit.run(Mono.never()).subscribe();
+        Disposable queued = limit.run(Mono.never()).subscribe();
+        queued.dispose();
+        Assertions.assertEquals(0, limit.getQueued());
+        running.dispose();
+        Assertions.assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testLimitAdaptsToOutcome() {
+        AdaptiveLimit limit = limit(1, 10, 0);
+        limit.run(Mono.just(1)).block();
+        Assertions.assertEquals(2, limit.getLimit());
+
+        AdaptiveLimit failing = limit(10, 10, 0);
+        Mono<Object> unreachable = Mono.error(new DataAccessResourceFailureException("Connection refused"));
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> failing.run(unreachable).block());
+        Assertions.assertEquals(9, failing.getLimit());
+    }
+
+    @Test
+    public void testLongScansAreNotComparedToPointReads() {
+        // timers jitter by milliseconds on a busy machine, so reads take 5ms and only 10 times that is slow
+        AdaptiveLimit limit = new AdaptiveLimit("test", Lane.INTERACTIVE, 4, 1, 10, 0, 10.0, 0.9);
+        Duration readTime = Duration.ofMillis(5);
+        Duration scanTime = Duration.ofMillis(200);
+        for (int i = 0; i < 5; i++) {
+            limit.run(Mono.delay(readTime)).block();
+        }
+        for (int i = 0; i < 2; i++) {
+            limit.run(AdaptiveLimit.Kind.BULK, Mono.delay(scanTime).thenReturn(100L)).block();
+            limit.run(Flux.concat(Mono.delay(readTime), Mono.delay(scanTime))).blockLast();
+        }
+        awaitReleased(limit);
+        Assertions.assertEquals(4, limit.getLimit());
+
+        // a point read that slow is congestion
+        limit.run(Mono.delay(scanTime)).block();
+        awaitReleased(limit);
+        Assertions.assertEquals(3, limit.getLimit());
+    }
+
+    /**
+     * Operations on a timer release their permit after the value reached {@code block()}.
+     */
+    private static void awaitReleased(AdaptiveLimit limit) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (limit.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class ConnectionSchedulerTest {
+    @Test
+    public void testReservedConnectionsStayFreeForInteractive() {
+        ConnectionScheduler scheduler = new ConnectionScheduler(2, 1, 100, Map.of());
+        scheduler.run(Lane.BATCH, "job", Mono.never()).subscribe();
+        scheduler.run(Lane.BATCH, "job", Mono.never()).subscribe();
+        Assertions.assertEquals(1, scheduler.getInUse(Lane.BATCH));
+        Assertions.assertEquals(1, scheduler.getQueued(Lane.BATCH));
+
+        scheduler.run(Lane.INTERACTIVE, "user", Mono.never()).subscribe();
+        Assertions.assertEquals(1, scheduler.getInUse(Lane.INTERACTIVE));
+    }
+
+    @Test
+    public void testInteractiveIsServedFirst() {
+        ConnectionScheduler scheduler = new ConnectionScheduler(1, 0, 100, Map.of());
+        Sinks.Empty<Void> running = Sinks.empty();
+        List<String> served = new ArrayList<>();
+        scheduler.run(Lane.BATCH, "job", running.asMono()).subscribe();
+        scheduler.run(Lane.BATCH, "job", Mono.fromRunnable(() -> served.add("batch"))).subscribe();
+        scheduler.run(Lane.INTERACTIVE, "user", Mono.fromRunnable(() -> served.add("interactive"))).subscribe();
+
+        running.tryEmitEmpty();
+        Assertions.assertEquals(List.of("interactive", "batch"), served);
+    }
+
+    @Test
+    public void testTablesShareByWeight() {
+        ConnectionScheduler scheduler = new ConnectionScheduler(1, 0, 100, Map.of("a", 2));
+        Sinks.Empty<Void> running = Sinks.empty();
+        List<String> served = new ArrayList<>();
+        scheduler.run(Lane.BATCH, "a", running.asMono()).subscribe();
+        for (String table : List.of("a", "a", "a", "a", "b", "b", "b", "b")) {
+            scheduler.run(Lane.BATCH, table, Mono.fromRunnable(() -> served.add(table))).subscribe();
+        }
+
+        running.tryEmitEmpty();
+        // "a" queued all of its operations first, yet "b" gets every third connection
+        Assertions.assertEquals(List.of("a", "a", "b", "a", "a", "b", "b", "b"), served);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+class HedgePolicyTest {
+    @Test
+    public void testCancelledAttemptsAreNotRecorded() throws InterruptedException {
+        HedgePolicy policy = new HedgePolicy(0.5, 1.0, Duration.ofNanos(1));
+        Assertions.assertNull(policy.delay(String.class));
+        for (int i = 0; i < 40; i++) {
+            policy.timed(String.class, Mono.just(i)).block();
+        }
+        Duration fast = policy.delay(String.class);
+        Assertions.assertNotNull(fast);
+
+        // losers of a hedge are cancelled once the winner answers, their time so far is not a latency
+        for (int i = 0; i < 40; i++) {
+            Disposable loser = policy.timed(String.class, Mono.never()).subscribe();
+            Thread.sleep(5);
+            loser.dispose();
+        }
+        Assertions.assertTrue(policy.delay(String.class).compareTo(Duration.ofMillis(5)) < 0,
+                "cancelled attempts pulled the percentile up");
+    }
+}
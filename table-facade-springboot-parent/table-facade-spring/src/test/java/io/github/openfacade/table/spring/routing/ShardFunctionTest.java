@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ShardFunctionTest {
+    @Test
+    public void testHashIgnoresIntegralType() {
+        HashShardFunction function = new HashShardFunction();
+        for (int key = 0; key < 100; key++) {
+            Assertions.assertEquals(function.shard((long) key, 7), function.shard(key, 7));
+        }
+    }
+
+    @Test
+    public void testHashSpreadsSequentialKeys() {
+        HashShardFunction function = new HashShardFunction();
+        int[] counts = new int[4];
+        for (long key = 0; key < 4000; key++) {
+            counts[function.shard(key, 4)]++;
+        }
+        for (int count : counts) {
+            Assertions.assertTrue(count > 800, "uneven shard sizes");
+        }
+    }
+
+    @Test
+    public void testRangeBounds() {
+        RangeShardFunction function = new RangeShardFunction(List.of(100L, 200L));
+        Assertions.assertEquals(0, function.shard(-5, 3));
+        Assertions.assertEquals(0, function.shard(99L, 3));
+        Assertions.assertEquals(1, function.shard(100, 3));
+        Assertions.assertEquals(2, function.shard(200L, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> function.shard(1L, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RangeShardFunction(List.of(2L, 1L)));
+    }
+}
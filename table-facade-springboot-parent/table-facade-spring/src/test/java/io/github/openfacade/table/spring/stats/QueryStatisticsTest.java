@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+class QueryStatisticsTest {
+    @Test
+    public void testShapesAreSortedByTotalTime() {
+        QueryStatistics statistics = new QueryStatistics(10);
+        statistics.record("SELECT * FROM `t` WHERE `id` = 1", 1_000, 1);
+        statistics.record("SELECT * FROM `t` WHERE `id` = 2", 3_000, 0);
+        statistics.record("DELETE FROM `t`", 10_000, 5);
+
+        List<QueryShapeStats> snapshot = statistics.snapshot();
+        Assertions.assertEquals(2, snapshot.size());
+        Assertions.assertEquals("DELETE FROM `t`", snapshot.get(0).shape());
+        QueryShapeStats select = snapshot.get(1);
+        Assertions.assertEquals("SELECT * FROM `t` WHERE `id` = ?", select.shape());
+        Assertions.assertEquals(2, select.calls());
+        Assertions.assertEquals(4_000, select.totalNanos());
+        Assertions.assertEquals(1_000, select.minNanos());
+        Assertions.assertEquals(3_000, select.maxNanos());
+        Assertions.assertEquals(1, select.rows());
+        Assertions.assertEquals(2_000, select.meanNanos());
+        Assertions.assertEquals(1, statistics.top(1).size());
+    }
+
+    @Test
+    public void testShapesBeyondTheCapAreAddedUp() {
+        QueryStatistics statistics = new QueryStatistics(2);
+        statistics.record("DELETE FROM `a`", 1_000, 0);
+        statistics.record("DELETE FROM `b`", 1_000, 0);
+        statistics.record("DELETE FROM `c`", 1_000, 0);
+        statistics.record("DELETE FROM `d`", 1_000, 0);
+
+        List<QueryShapeStats> snapshot = statistics.snapshot();
+        Assertions.assertEquals(3, snapshot.size());
+        Assertions.assertEquals(QueryStatistics.OTHER_SHAPE, snapshot.get(0).shape());
+        Assertions.assertEquals(2, snapshot.get(0).calls());
+
+        statistics.reset();
+        Assertions.assertTrue(statistics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentShapesStayWithinTheCap() throws InterruptedException {
+        QueryStatistics statistics = new QueryStatistics(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    statistics.record("DELETE FROM `t" + i + "`", 1_000, 0);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<QueryShapeStats> snapshot = statistics.snapshot();
+        Assertions.assertEquals(5, snapshot.size());
+        Assertions.assertEquals(1_600, snapshot.stream().mapToLong(QueryShapeStats::calls).sum());
+    }
+
+    @Test
+    public void testHistogramPercentile() {
+        QueryStatistics statistics = new QueryStatistics(10);
+        for (int i = 0; i < 99; i++) {
+            statistics.record("DELETE FROM `t`", 500, 0);
+        }
+        statistics.record("DELETE FROM `t`", 5_000_000, 0);
+
+        QueryShapeStats stats = statistics.snapshot().get(0);
+        Assertions.assertEquals(1_000, stats.percentileNanos(0.5));
+        Assertions.assertEquals(5_000_000, stats.percentileNanos(1.0));
+        Assertions.assertEquals(100, stats.histogram()[0] + stats.histogram()[QueryShapeStats.bucket(5_000_000)]);
+    }
+
+    @Test
+    public void testDisabledStatisticsRecordNothing() {
+        QueryStatistics statistics = QueryStatistics.disabled();
+        statistics.record("DELETE FROM `t`", 1_000, 0);
+        Assertions.assertTrue(statistics.snapshot().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.stats;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+class SlowQueryLogTest {
+    private static class RecordingLog extends SlowQueryLog {
+        private final List<SlowQuery> queries = new ArrayList<>();
+
+        private final List<String> plans = new ArrayList<>();
+
+        RecordingLog(boolean explain, Duration explainInterval) {
+            super(Duration.ofMillis(100), explain, explainInterval);
+        }
+
+        @Override
+        protected void report(SlowQuery query, String plan) {
+            queries.add(query);
+            plans.add(plan);
+        }
+    }
+
+    @Test
+    public void testOnlySingleStatementsWithoutBindsAreExplained() {
+        RecordingLog log = new RecordingLog(true, Duration.ZERO);
+        AtomicInteger explained = new AtomicInteger();
+        Function<String, Mono<String>> explainer = sql -> {
+            explained.incrementAndGet();
+            return Mono.just("plan of " + sql);
+        };
+
+        Assertions.assertFalse(log.isSlow(Duration.ofMillis(99).toNanos()));
+        log.record("SELECT * FROM `t` WHERE `a` = 1", 0, 3, 1_000, 200_000_000, explainer);
+        log.record("UPDATE `t` SET `a` = ?", 1, 1, 1_000, 200_000_000, explainer);
+        String batch = "DELETE FROM `t` WHERE `a` = 1;\nDELETE FROM `u` WHERE `a` = 1";
+        log.record(batch, 0, 2, 1_000, 200_000_000, explainer);
+
+        Assertions.assertEquals(1, explained.get());
+        Assertions.assertEquals("SELECT * FROM `t` WHERE `a` = ?", log.queries.get(0).shape());
+        Assertions.assertEquals("plan of SELECT * FROM `t` WHERE `a` = 1", log.plans.get(0));
+        Assertions.assertEquals(1, log.queries.get(1).binds());
+        Assertions.assertNull(log.plans.get(1));
+        Assertions.assertNull(log.plans.get(2));
+        Assertions.assertEquals(3, log.getSlowQueries());
+    }
+
+    @Test
+    public void testExplainsAreRateLimited() {
+        RecordingLog log = new RecordingLog(true, Duration.ofHours(1));
+        Function<String, Mono<String>> explainer = sql -> Mono.error(new IllegalStateException("denied"));
+
+        log.record("DELETE FROM `t` WHERE `a` = 1", 0, 0, 1_000, 200_000_000, explainer);
+        log.record("DELETE FROM `t` WHERE `a` = 2", 0, 0, 1_000, 200_000_000, explainer);
+
+        Assertions.assertEquals(1, log.getExplains());
+        Assertions.assertEquals("EXPLAIN failed: denied", log.plans.get(0));
+        Assertions.assertNull(log.plans.get(1));
+    }
+}
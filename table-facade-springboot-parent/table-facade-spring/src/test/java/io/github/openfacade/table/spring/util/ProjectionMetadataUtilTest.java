@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Table;
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import io.github.openfacade.table.spring.core.ProjectionMetadata;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class ProjectionMetadataUtilTest {
+    @Getter
+    @Setter
+    @Table(name = "projection_entity")
+    public static class ProjectionEntity {
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        @Column(name = "active")
+        private boolean active;
+
+        @Column(name = "payload")
+        private byte[] payload;
+    }
+
+    public interface NameView {
+        Long getId();
+
+        String getName();
+
+        boolean isActive();
+
+        default String getLabel() {
+            return getId() + ":" + getName();
+        }
+    }
+
+    public record NameRecord(Long id, @Column(name = "name") String title) {
+    }
+
+    @Getter
+    @Setter
+    public static class NameDto {
+        private Long id;
+
+        private String name;
+    }
+
+    public interface UnknownView {
+        String getMissing();
+    }
+
+    private final TableMetadata metadata = TableMetadataUtil.parseClass(ProjectionEntity.class);
+
+    @Test
+    void testInterfaceProjection() {
+        ProjectionMetadata projection = ProjectionMetadataUtil.parseProjection(ProjectionEntity.class, metadata, NameView.class);
+
+        // getters come in reflection order, so look the columns up by name
+        Assertions.assertEquals(Set.of("id", "name", "active"), Set.of(projection.getColumns()));
+        Object[] values = new Object[projection.getColumns().length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = switch (projection.getColumns()[i]) {
+                case "id" -> 7L;
+                case "name" -> "seven";
+                default -> null;
+            };
+        }
+        NameView view = (NameView) projection.newInstance(values);
+        Assertions.assertEquals(7L, view.getId());
+        Assertions.assertEquals("seven", view.getName());
+        Assertions.assertFalse(view.isActive());
+        Assertions.assertEquals("7:seven", view.getLabel());
+    }
+
+    @Test
+    void testLazyViewDecodesOnFirstAccess() {
+        ProjectionMetadata projection = ProjectionMetadataUtil.parseLazyView(ProjectionEntity.class, metadata, NameView.class);
+
+        Assertions.assertTrue(projection.isLazy());
+        int[] decodes = new int[1];
+        ColumnCodec codec = new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return String.class;
+            }
+
+            @Override
+            public Object decode(Object value) {
+                decodes[0]++;
+                return "name".equals(value) ? "decoded" : null;
+            }
+        };
+        String[] columns = projection.getColumns();
+        ColumnCodec[] codecs = new ColumnCodec[columns.length];
+        Object[] raw = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            codecs[i] = codec;
+            raw[i] = columns[i];
+        }
+        NameView view = (NameView) projection.newInstance(raw, codecs);
+        Assertions.assertEquals(0, decodes[0]);
+        Assertions.assertEquals("decoded", view.getName());
+        Assertions.assertEquals("decoded", view.getName());
+        Assertions.assertEquals(1, decodes[0]);
+        Assertions.assertFalse(view.isActive());
+        Assertions.assertEquals(2, decodes[0]);
+    }
+
+    @Test
+    void testLazyViewRequiresInterface() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ProjectionMetadataUtil.parseLazyView(ProjectionEntity.class, metadata, NameRecord.class));
+    }
+
+    @Test
+    void testRecordProjection() {
+        ProjectionMetadata projection = ProjectionMetadataUtil.parseProjection(ProjectionEntity.class, metadata, NameRecord.class);
+
+        Assertions.assertArrayEquals(new String[]{"id", "name"}, projection.getColumns());
+        NameRecord record = (NameRecord) projection.newInstance(new Object[]{1L, "one"});
+        Assertions.assertEquals(new NameRecord(1L, "one"), record);
+    }
+
+    @Test
+    void testClassProjection() {
+        ProjectionMetadata projection = ProjectionMetadataUtil.parseProjection(ProjectionEntity.class, metadata, NameDto.class);
+
+        Assertions.assertArrayEquals(new String[]{"id", "name"}, projection.getColumns());
+        NameDto dto = (NameDto) projection.newInstance(new Object[]{2L, "two"});
+        Assertions.assertEquals(2L, dto.getId());
+        Assertions.assertEquals("two", dto.getName());
+    }
+
+    @Test
+    void testColumnProjection() {
+        ProjectionMetadata projection = ProjectionMetadataUtil.parseColumns(ProjectionEntity.class, metadata, List.of("name", "active"));
+
+        Assertions.assertArrayEquals(new Class<?>[]{String.class, boolean.class}, projection.getTargetTypes());
+        ProjectionEntity entity = (ProjectionEntity) projection.newInstance(new Object[]{"three", null});
+        Assertions.assertEquals("three", entity.getName());
+        Assertions.assertNull(entity.getId());
+        Assertions.assertNull(entity.getPayload());
+    }
+
+    @Test
+    void testUnknownMemberFail() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ProjectionMetadataUtil.parseProjection(ProjectionEntity.class, metadata, UnknownView.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ProjectionMetadataUtil.parseColumns(ProjectionEntity.class, metadata, List.of("missing")));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QueryShapeUtilTest {
+    @Test
+    public void testLiteralsBecomePlaceholders() {
+        Assertions.assertEquals("SELECT `id` FROM `t1` WHERE (`name` = ? AND `age` > ?) LIMIT ?",
+                QueryShapeUtil.normalize("SELECT `id` FROM `t1` WHERE (`name` = 'O\\'Brien' AND `age` > 42) LIMIT 10"));
+        Assertions.assertEquals("UPDATE \"t\" SET \"data\" = ? WHERE \"v2\" = ?",
+                QueryShapeUtil.normalize("UPDATE \"t\" SET \"data\" = X'0aff' WHERE \"v2\" = 'it''s'"));
+    }
+
+    @Test
+    public void testPlaceholderListsCollapse() {
+        String three = QueryShapeUtil.normalize("DELETE FROM `t` WHERE `id` IN (1, 2, 3)");
+        String five = QueryShapeUtil.normalize("DELETE FROM `t` WHERE `id` IN (4, 5, 6, 7, 8)");
+        Assertions.assertEquals("DELETE FROM `t` WHERE `id` IN (?...)", three);
+        Assertions.assertEquals(three, five);
+        Assertions.assertEquals("INSERT INTO `t` (`a`, `b`) VALUES (?...)",
+                QueryShapeUtil.normalize("INSERT INTO `t` (`a`, `b`) VALUES (?, ?)"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.spring.util;
+
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Table;
+import io.github.openfacade.table.spring.codec.ColumnCodec;
+import io.github.openfacade.table.spring.core.TableMetadata;
+import io.r2dbc.spi.Readable;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+class RowMappingUtilTest {
+    @Getter
+    @Setter
+    @Table(name = "mapping")
+    public static class MappingEntity {
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        @Column(name = "data")
+        private byte[] data;
+    }
+
+    private static Readable row(Object... values) {
+        return new Readable() {
+            @Override
+            public <T> T get(int index, Class<T> type) {
+                return type.cast(values[index]);
+            }
+
+            @Override
+            public <T> T get(String name, Class<T> type) {
+                throw new UnsupportedOperationException("rows must be read by ordinal");
+            }
+        };
+    }
+
+    @Test
+    public void testReadByOrdinalAndMap() {
+        TableMetadata metadata = TableMetadataUtil.parseClass(MappingEntity.class);
+        Assertions.assertArrayEquals(new String[]{"id", "name", "data"}, metadata.getColumns());
+
+        byte[] data = "Sample Data".getBytes(StandardCharsets.UTF_8);
+        ColumnCodec hex = new ColumnCodec() {
+            @Override
+            public Class<?> getReadType() {
+                return String.class;
+            }
+
+            @Override
+            public Object decode(Object value) {
+                return HexFormat.of().parseHex((String) value);
+            }
+        };
+        ColumnCodec[] codecs = {ColumnCodec.of(Long.class), ColumnCodec.of(String.class), hex};
+        metadata.setColumnCodecs(codecs);
+
+        Object[] values = RowMappingUtil.readRow(row(1L, "Sample", HexFormat.of().formatHex(data)), codecs);
+        MappingEntity entity = RowMappingUtil.toEntity(values, MappingEntity.class, metadata);
+
+        Assertions.assertEquals(1L, entity.getId());
+        Assertions.assertEquals("Sample", entity.getName());
+        Assertions.assertArrayEquals(data, entity.getData());
+    }
+}
@@ -16,11 +16,20 @@
 
 package io.github.openfacade.table.spring.util;
 
+import io.github.openfacade.table.api.CompressedValue;
+import io.github.openfacade.table.api.anno.Column;
+import io.github.openfacade.table.api.anno.Compressed;
+import io.github.openfacade.table.api.anno.Lazy;
+import io.github.openfacade.table.api.anno.Version;
 import io.github.openfacade.table.spring.core.TableMetadata;
+import lombok.Getter;
+import lombok.Setter;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.util.Map;
+
 class TableMetadataUtilTest {
     @Table("table")
     static class EntityTest {
@@ -31,4 +40,71 @@ class TableMetadataUtilTest {
         TableMetadata tableMetadata = TableMetadataUtil.parseClass(EntityTest.class);
         Assertions.assertEquals("table", tableMetadata.getTableName());
     }
+
+    @Getter
+    @Setter
+    @io.github.openfacade.table.api.anno.Table(name = "lazy_table")
+    public static class LazyEntityTest {
+        @Column(name = "id")
+        private Long id;
+
+        @Lazy
+        @Column(name = "payload")
+        private byte[] payload;
+    }
+
+    @Test
+    public void testLazyColumnExcludedFromSelect() {
+        TableMetadata tableMetadata = TableMetadataUtil.parseClass(LazyEntityTest.class);
+        Assertions.assertArrayEquals(new String[]{"id"}, tableMetadata.getColumns());
+        Assertions.assertArrayEquals(new String[]{"payload"}, tableMetadata.getLazyColumns());
+        Assertions.assertTrue(tableMetadata.getSetterMap().containsKey("payload"));
+    }
+
+    @Getter
+    @Setter
+    @io.github.openfacade.table.api.anno.Table(name = "versioned_table")
+    public static class VersionedEntityTest {
+        @Column(name = "version")
+        @Version
+        private String version;
+    }
+
+    @Test
+    public void testVersionColumnMustBeNumeric() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TableMetadataUtil.parseClass(VersionedEntityTest.class));
+    }
+
+    @Getter
+    @Setter
+    @io.github.openfacade.table.api.anno.Table(name = "compressed_table")
+    public static class CompressedEntityTest {
+        @Column(name = "text")
+        @Compressed
+        private CompressedValue<String> text;
+
+        @Column(name = "data")
+        @Compressed
+        private CompressedValue<byte[]> data;
+    }
+
+    @Getter
+    @Setter
+    @io.github.openfacade.table.api.anno.Table(name = "compressed_table")
+    public static class CompressedNumberEntityTest {
+        @Column(name = "number")
+        @Compressed
+        private CompressedValue<Long> number;
+    }
+
+    @Test
+    public void testCompressedValueTypes() {
+        TableMetadata tableMetadata = TableMetadataUtil.parseClass(CompressedEntityTest.class);
+        Assertions.assertEquals(Map.of("text", String.class, "data", byte[].class),
+                tableMetadata.getCompressedValueTypes());
+        Assertions.assertEquals(2, tableMetadata.getCompressedColumns().size());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TableMetadataUtil.parseClass(CompressedNumberEntityTest.class));
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 OpenFacade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.openfacade.table.sql.common;
+
+import io.github.openfacade.table.api.RowView;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RowView} over the current row of a {@link ResultSet}, reading columns by their position in the select list.
+ */
+public class ResultSetRowView implements RowView {
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    private ResultSet resultSet;
+
+    public ResultSetRowView(List<String> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            ordinals.put(columns.get(i), i + 1);
+        }
+    }
+
+    public void reset(ResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public boolean isNull(String column) {
+        try {
+            return resultSet.getObject(index(column)) == null;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public long getLong(String column) {
+        try {
+            return resultSet.getLong(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public int getInt(String column) {
+        try {
+            return resultSet.getInt(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public double getDouble(String column) {
+        try {
+            return resultSet.getDouble(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String column) {
+        try {
+            return resultSet.getBoolean(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public String getString(String column) {
+        try {
+            return resultSet.getString(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String column) {
+        try {
+            return resultSet.getBytes(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    @Override
+    public Object get(String column) {
+        try {
+            return resultSet.getObject(index(column));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading column '" + column + "'", e);
+        }
+    }
+
+    private int index(String column) {
+        Integer index = ordinals.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown column '" + column + "'");
+        }
+        return index;
+    }
+}
@@ -16,6 +16,14 @@
 
 package io.github.openfacade.table.sql.common;
 
+import io.github.openfacade.table.api.ComparisonCondition;
+import io.github.openfacade.table.api.CompositeCondition;
+import io.github.openfacade.table.api.Condition;
+import io.github.openfacade.table.api.LogicalOperator;
+
+import java.util.Collection;
+import java.util.List;
+
 public class SqlBuilder {
     private final StringBuilder sql;
 
@@ -40,6 +48,60 @@ public class SqlBuilder {
         return this;
     }
 
+    public SqlBuilder identifiers(List<String> identifiers) {
+        for (int i = 0; i < identifiers.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            identifier(identifiers.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Appends {@code condition} with {@code ?} placeholders, adding the bound values to {@code parameters} in order.
+     */
+    public SqlBuilder condition(Condition condition, List<Object> parameters) {
+        if (condition instanceof ComparisonCondition) {
+            ComparisonCondition comparisonCondition = (ComparisonCondition) condition;
+            identifier(comparisonCondition.getColumn());
+            sql.append(" ").append(comparisonCondition.getOperator().symbol());
+            if (comparisonCondition.getValue() instanceof Collection) {
+                Collection<?> values = (Collection<?>) comparisonCondition.getValue();
+                if (values.isEmpty()) {
+                    sql.append(" (NULL)");
+                } else {
+                    sql.append(" (");
+                    int i = 0;
+                    for (Object value : values) {
+                        sql.append(i++ > 0 ? ", ?" : "?");
+                        parameters.add(value);
+                    }
+                    sql.append(")");
+                }
+            } else {
+                sql.append(" ?");
+                parameters.add(comparisonCondition.getValue());
+            }
+        } else if (condition instanceof CompositeCondition) {
+            CompositeCondition compositeCondition = (CompositeCondition) condition;
+            List<Condition> conditions = compositeCondition.getConditions();
+            LogicalOperator operator = compositeCondition.getOperator();
+
+            sql.append("(");
+            for (int i = 0; i < conditions.size(); i++) {
+                if (i > 0) {
+                    sql.append(" ").append(operator.name()).append(" ");
+                }
+                condition(conditions.get(i), parameters);
+            }
+            sql.append(")");
+        } else {
+            throw new IllegalArgumentException("Unsupported condition type: " + condition.getClass().getName());
+        }
+        return this;
+    }
+
     public String build() {
         return sql.toString();
     }
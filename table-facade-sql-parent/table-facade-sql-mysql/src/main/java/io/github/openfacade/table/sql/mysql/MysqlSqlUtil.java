@@ -16,8 +16,11 @@
 
 package io.github.openfacade.table.sql.mysql;
 
+import io.github.openfacade.table.api.Condition;
 import io.github.openfacade.table.sql.common.SqlBuilder;
 
+import java.util.List;
+
 public class MysqlSqlUtil {
     public static String dropTable(String tableName) {
         SqlBuilder sqlBuilder = new SqlBuilder()
@@ -50,4 +53,17 @@ public class MysqlSqlUtil {
                 .identifier(tableName);
         return sqlBuilder.build();
     }
+
+    public static String select(String tableName, List<String> columns, Condition condition, List<Object> parameters) {
+        SqlBuilder sqlBuilder = new SqlBuilder()
+                .keyword("SELECT ")
+                .quote('`')
+                .identifiers(columns)
+                .keyword(" FROM ")
+                .identifier(tableName);
+        if (condition != null) {
+            sqlBuilder.keyword(" WHERE ").condition(condition, parameters);
+        }
+        return sqlBuilder.build();
+    }
 }